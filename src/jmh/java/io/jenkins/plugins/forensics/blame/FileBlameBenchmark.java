@@ -0,0 +1,144 @@
+package io.jenkins.plugins.forensics.blame;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.jenkins.plugins.forensics.blame.FileBlame.FileBlameBuilder;
+
+/**
+ * Measures the creation of {@link FileBlame} instances, the lookup of blame information for the lines of a file, and a
+ * Java serialization round-trip of the blames of several files.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileBlameBenchmark {
+    private static final int FILES = 100;
+
+    @Param("2000")
+    public int lines;
+    @Param("20")
+    public int authors;
+    @Param("200")
+    public int lookups;
+
+    private Blames blames;
+    private FileBlame fileBlame;
+    private int[] requestedLines;
+
+    /**
+     * Creates the synthetic blames and the lines to look up.
+     */
+    @Setup(Level.Trial)
+    public void createBlames() {
+        var random = new Random(lines);
+        var builder = new FileBlameBuilder();
+        blames = new Blames();
+        for (int file = 0; file < FILES; file++) {
+            blames.add(createBlame(builder, "/src/main/java/File%d.java".formatted(file), random));
+        }
+        fileBlame = blames.getBlame("/src/main/java/File0.java");
+
+        requestedLines = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            requestedLines[i] = 1 + random.nextInt(lines);
+        }
+    }
+
+    private FileBlame createBlame(final FileBlameBuilder builder, final String fileName, final Random random) {
+        var blame = builder.build(fileName);
+        for (int line = 1; line <= lines; line++) {
+            int author = random.nextInt(authors);
+            blame.setName(line, "Author " + author);
+            blame.setEmail(line, "author-%d@example.com".formatted(author));
+            blame.setCommit(line, Integer.toHexString(random.nextInt(lines)));
+            blame.setTime(line, random.nextInt(1_000_000));
+        }
+        return blame;
+    }
+
+    /**
+     * Creates the blames of a single file.
+     *
+     * @return the blames
+     */
+    @Benchmark
+    public FileBlame createFileBlame() {
+        return createBlame(new FileBlameBuilder(), "/src/main/java/File.java", new Random(lines));
+    }
+
+    /**
+     * Looks up the blame information of the requested lines using the getters.
+     *
+     * @param blackhole
+     *         consumes the blame information
+     */
+    @Benchmark
+    public void lookupLines(final Blackhole blackhole) {
+        for (int line : requestedLines) {
+            blackhole.consume(fileBlame.getName(line));
+            blackhole.consume(fileBlame.getEmail(line));
+            blackhole.consume(fileBlame.getCommit(line));
+            blackhole.consume(fileBlame.getTime(line));
+        }
+    }
+
+    /**
+     * Looks up the blame information of the requested lines using a single pass.
+     *
+     * @param blackhole
+     *         consumes the blame information
+     */
+    @Benchmark
+    public void forEachBlame(final Blackhole blackhole) {
+        fileBlame.forEachBlame(requestedLines, (line, name, email, commit, time) -> {
+            blackhole.consume(name);
+            blackhole.consume(commit);
+        });
+    }
+
+    /**
+     * Serializes and deserializes the blames of all files using Java serialization, as done when the blames are sent
+     * from an agent to the controller.
+     *
+     * @return the deserialized blames
+     * @throws IOException
+     *         if the blames could not be serialized
+     * @throws ClassNotFoundException
+     *         if the blames could not be deserialized
+     */
+    @Benchmark
+    public Object serializationRoundTrip() throws IOException, ClassNotFoundException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(blames);
+        }
+        try (var input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return input.readObject();
+        }
+    }
+}
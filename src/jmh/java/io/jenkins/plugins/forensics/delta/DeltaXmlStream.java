@@ -0,0 +1,37 @@
+package io.jenkins.plugins.forensics.delta;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Map;
+
+import hudson.util.XStream2;
+
+import io.jenkins.plugins.util.AbstractXmlStream;
+
+/**
+ * Reads and writes a {@link Delta} from and to an XML file. Used by the benchmarks to compare the XML format with the
+ * binary format of {@link DeltaCodec}.
+ *
+ * @author Ullrich Hafner
+ */
+class DeltaXmlStream extends AbstractXmlStream<Delta> {
+    /**
+     * Creates a new {@link DeltaXmlStream}.
+     */
+    DeltaXmlStream() {
+        super(Delta.class);
+    }
+
+    @Override
+    protected Delta createDefaultValue() {
+        return new Delta(StringUtils.EMPTY, StringUtils.EMPTY, Map.of());
+    }
+
+    @Override
+    protected void configureXStream(final XStream2 xStream) {
+        xStream.alias("delta", Delta.class);
+        xStream.alias("file", FileChanges.class);
+        xStream.alias("change", Change.class);
+        xStream.alias("content", FileContentReference.class);
+    }
+}
@@ -0,0 +1,172 @@
+package io.jenkins.plugins.forensics.delta;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the queries for modified lines of {@link FileChanges} and a round-trip of a {@link Delta} using the
+ * {@link DeltaXmlStream} and the binary {@link DeltaCodec}.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileChangesBenchmark {
+    @Param("1000")
+    public int files;
+    @Param("50")
+    public int changesPerFile;
+    @Param("5000")
+    public int linesPerFile;
+
+    private Delta delta;
+    private FileChanges fileChanges;
+    private Path xmlFile;
+    private Path binaryFile;
+
+    /**
+     * Creates the synthetic delta and writes it to temporary files.
+     *
+     * @throws IOException
+     *         if the temporary files could not be created
+     */
+    @Setup(Level.Trial)
+    public void createDelta() throws IOException {
+        var random = new Random(files);
+        Map<String, FileChanges> changes = new HashMap<>();
+        for (int file = 0; file < files; file++) {
+            var fileName = "/src/main/java/File%d.java".formatted(file);
+            changes.put(Integer.toHexString(file), createFileChanges(fileName, random));
+        }
+        delta = new Delta("current", "reference", changes);
+        fileChanges = delta.getFileChangesById("0");
+
+        xmlFile = Files.createTempFile("delta", ".xml");
+        new DeltaXmlStream().write(xmlFile, delta);
+        binaryFile = Files.createTempFile("delta", ".bin");
+        saveBinary();
+    }
+
+    private FileChanges createFileChanges(final String fileName, final Random random) {
+        var changes = new FileChanges(fileName, fileName, "content", FileEditType.MODIFY, Map.of());
+        for (int change = 0; change < changesPerFile; change++) {
+            int from = 1 + random.nextInt(linesPerFile);
+            int to = Math.min(linesPerFile, from + random.nextInt(20));
+            var type = random.nextBoolean() ? ChangeEditType.INSERT : ChangeEditType.REPLACE;
+            changes.addChange(new Change(type, from, from, from, to));
+        }
+        return changes;
+    }
+
+    /**
+     * Removes the temporary files.
+     *
+     * @throws IOException
+     *         if the temporary files could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(xmlFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    /**
+     * Iterates over all modified lines of a file.
+     *
+     * @return the number of modified lines
+     */
+    @Benchmark
+    public int iterateModifiedLines() {
+        Set<Integer> lines = fileChanges.getModifiedLines();
+        int count = 0;
+        for (int ignored : lines) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks all lines of a file whether they have been modified.
+     *
+     * @param blackhole
+     *         consumes the results
+     */
+    @Benchmark
+    public void queryModifiedLines(final Blackhole blackhole) {
+        for (int line = 1; line <= linesPerFile; line++) {
+            blackhole.consume(fileChanges.isLineModified(line));
+        }
+    }
+
+    /**
+     * Writes the delta in the XML format.
+     */
+    @Benchmark
+    public void saveXml() {
+        new DeltaXmlStream().write(xmlFile, delta);
+    }
+
+    /**
+     * Reads the delta in the XML format.
+     *
+     * @return the delta
+     */
+    @Benchmark
+    public Delta loadXml() {
+        return new DeltaXmlStream().read(xmlFile);
+    }
+
+    /**
+     * Writes the delta in the binary format.
+     *
+     * @throws IOException
+     *         if the file could not be written
+     */
+    @Benchmark
+    public void saveBinary() throws IOException {
+        try (var output = new BufferedOutputStream(Files.newOutputStream(binaryFile))) {
+            new DeltaCodec().write(delta, output);
+        }
+    }
+
+    /**
+     * Reads the delta in the binary format.
+     *
+     * @return the delta
+     * @throws IOException
+     *         if the file could not be read
+     */
+    @Benchmark
+    public Delta loadBinary() throws IOException {
+        try (var input = new BufferedInputStream(Files.newInputStream(binaryFile))) {
+            return new DeltaCodec().read(input);
+        }
+    }
+}
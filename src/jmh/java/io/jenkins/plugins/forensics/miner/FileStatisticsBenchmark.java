@@ -0,0 +1,89 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.jenkins.plugins.forensics.miner.FileStatistics.FileStatisticsBuilder;
+
+/**
+ * Measures the time to mine the history of a single hot file, i.e. a file that is part of every commit.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileStatisticsBenchmark {
+    private static final String FILE = "/path/to/pom.xml";
+
+    @Param("10000")
+    public int commitCount;
+
+    private List<CommitDiffItem> commits;
+
+    /**
+     * Creates the synthetic history of the file.
+     */
+    @Setup(Level.Trial)
+    public void createHistory() {
+        var path = new TreeStringBuilder().intern(FILE);
+        commits = new ArrayList<>(commitCount);
+        for (int i = 0; i < commitCount; i++) {
+            commits.add(new CommitDiffItem(Integer.toHexString(i), "author-" + i % 50, i)
+                    .addLines(i % 20)
+                    .deleteLines(i % 3)
+                    .setNewPath(path));
+        }
+    }
+
+    /**
+     * Inspects all commits one by one using the public API that aggregates the statistics incrementally.
+     *
+     * @return the statistics of the file
+     */
+    @Benchmark
+    public FileStatistics inspectCommitsIncrementally() {
+        var statistics = new FileStatisticsBuilder().build(FILE);
+        commits.forEach(statistics::inspectCommit);
+        return statistics;
+    }
+
+    /**
+     * Adds all commits one by one and recomputes the statistics of all commits once after each commit, as done before
+     * the statistics have been aggregated incrementally.
+     *
+     * @param blackhole
+     *         consumes the recomputed statistics
+     *
+     * @return the commits of the file
+     */
+    @Benchmark
+    public List<CommitDiffItem> recomputeStatisticsAfterEachCommit(final Blackhole blackhole) {
+        List<CommitDiffItem> inspected = new ArrayList<>(commitCount);
+        for (CommitDiffItem commit : commits) {
+            inspected.add(commit);
+            blackhole.consume(new CommitStatistics(inspected));
+        }
+        return inspected;
+    }
+}
@@ -0,0 +1,121 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the aggregation of the commits of a synthetic repository into {@link RepositoryStatistics} and
+ * {@link CommitStatistics}, as well as a Java serialization round-trip of the aggregated statistics.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RepositoryStatisticsBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param("5000")
+    public int files;
+    @Param("100000")
+    public int commits;
+    @Param("100")
+    public int authors;
+    @Param("0.02")
+    public double renameRate;
+    @Param("0.01")
+    public double deleteRate;
+
+    private List<CommitDiffItem> history;
+    private RepositoryStatistics statistics;
+
+    /**
+     * Creates the synthetic history and the statistics of the repository.
+     */
+    @Setup(Level.Trial)
+    public void createHistory() {
+        var repository = new SyntheticRepository(files, commits, authors, renameRate, deleteRate);
+        history = repository.createCommits();
+        statistics = new RepositoryStatistics("latest");
+        statistics.addAll(history);
+    }
+
+    /**
+     * Adds all commits at once.
+     *
+     * @return the statistics
+     */
+    @Benchmark
+    public RepositoryStatistics addAll() {
+        var result = new RepositoryStatistics("latest");
+        result.addAll(history);
+        return result;
+    }
+
+    /**
+     * Adds all commits in batches using a sink.
+     *
+     * @return the statistics
+     */
+    @Benchmark
+    public RepositoryStatistics addAllInBatches() {
+        var result = new RepositoryStatistics("latest");
+        var sink = result.openSink();
+        for (int start = 0; start < history.size(); start += BATCH_SIZE) {
+            sink.accept(history.subList(start, Math.min(start + BATCH_SIZE, history.size())));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the statistics of all commits.
+     *
+     * @return the statistics
+     */
+    @Benchmark
+    public CommitStatistics createCommitStatistics() {
+        return new CommitStatistics(history);
+    }
+
+    /**
+     * Serializes and deserializes the statistics using Java serialization, as done when the statistics are sent from
+     * an agent to the controller.
+     *
+     * @return the deserialized statistics
+     * @throws IOException
+     *         if the statistics could not be serialized
+     * @throws ClassNotFoundException
+     *         if the statistics could not be deserialized
+     */
+    @Benchmark
+    public Object serializationRoundTrip() throws IOException, ClassNotFoundException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(statistics);
+        }
+        try (var input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return input.readObject();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.AuxCounters.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the load and save times of the XML and binary formats for {@link RepositoryStatistics}. The sizes of the
+ * files are reported as secondary results ({@link FileSizes}) so that they are part of the JSON report.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+@State(Scope.Benchmark)
+public class RepositoryStatisticsStreamBenchmark {
+    @Param("100000")
+    public int files;
+    @Param("1000000")
+    public int commits;
+    @Param("100")
+    public int authors;
+    @Param("0.02")
+    public double renameRate;
+    @Param("0.01")
+    public double deleteRate;
+
+    private RepositoryStatistics statistics;
+    private Path xmlFile;
+    private Path binaryFile;
+
+    /**
+     * Creates the statistics of a {@link SyntheticRepository} and writes them in both formats.
+     *
+     * @throws IOException
+     *         if the temporary files could not be created
+     */
+    @Setup(Level.Trial)
+    public void createStatistics() throws IOException {
+        statistics = new SyntheticRepository(files, commits, authors, renameRate, deleteRate).createStatistics();
+
+        xmlFile = Files.createTempFile("repository-statistics", ".xml");
+        binaryFile = Files.createTempFile("repository-statistics", ".bin");
+        new RepositoryStatisticsXmlStream().write(xmlFile, statistics);
+        new RepositoryStatisticsBinaryStream().write(binaryFile, statistics);
+    }
+
+    /**
+     * Removes the temporary files.
+     *
+     * @throws IOException
+     *         if the temporary files could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(xmlFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    /**
+     * Writes the statistics in the XML format.
+     *
+     * @param sizes
+     *         the secondary results that report the size of the file
+     *
+     * @throws IOException
+     *         if the size of the file could not be determined
+     */
+    @Benchmark
+    public void saveXml(final FileSizes sizes) throws IOException {
+        new RepositoryStatisticsXmlStream().write(xmlFile, statistics);
+
+        sizes.xmlBytes = Files.size(xmlFile);
+    }
+
+    /**
+     * Writes the statistics in the binary format.
+     *
+     * @param sizes
+     *         the secondary results that report the size of the file
+     *
+     * @throws IOException
+     *         if the size of the file could not be determined
+     */
+    @Benchmark
+    public void saveBinary(final FileSizes sizes) throws IOException {
+        new RepositoryStatisticsBinaryStream().write(binaryFile, statistics);
+
+        sizes.binaryBytes = Files.size(binaryFile);
+    }
+
+    /**
+     * Reads the statistics in the XML format.
+     *
+     * @param sizes
+     *         the secondary results that report the size of the file
+     *
+     * @return the statistics
+     * @throws IOException
+     *         if the size of the file could not be determined
+     */
+    @Benchmark
+    public RepositoryStatistics loadXml(final FileSizes sizes) throws IOException {
+        sizes.xmlBytes = Files.size(xmlFile);
+
+        return new RepositoryStatisticsXmlStream().read(xmlFile);
+    }
+
+    /**
+     * Reads the statistics in the binary format.
+     *
+     * @param sizes
+     *         the secondary results that report the size of the file
+     *
+     * @return the statistics
+     * @throws IOException
+     *         if the size of the file could not be determined
+     */
+    @Benchmark
+    public RepositoryStatistics loadBinary(final FileSizes sizes) throws IOException {
+        sizes.binaryBytes = Files.size(binaryFile);
+
+        return new RepositoryStatisticsBinaryStream().read(binaryFile);
+    }
+
+    /**
+     * Reports the sizes of the written files as secondary results of the benchmarks.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(Type.EVENTS)
+    public static class FileSizes {
+        /** The size of the file in the XML format (in bytes). */
+        public long xmlBytes;
+        /** The size of the file in the binary format (in bytes). */
+        public long binaryBytes;
+
+        /**
+         * Resets the sizes before each iteration, since events are summed up within an iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            xmlBytes = 0;
+            binaryBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.util.TreeString;
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the synthetic history of a repository for benchmarks. The history is deterministic for a given
+ * configuration: the number of files, commits, and authors as well as the rates of renamed and deleted files can be
+ * configured. Files are spread over a typical Maven source tree, so the file names share long prefixes.
+ *
+ * @author Ullrich Hafner
+ */
+public class SyntheticRepository {
+    private static final long SEED = 0x466F72656E736963L;
+
+    private final int files;
+    private final int commits;
+    private final int authors;
+    private final double renameRate;
+    private final double deleteRate;
+
+    /**
+     * Creates a new instance of {@link SyntheticRepository}.
+     *
+     * @param files
+     *         the number of files that are initially part of the repository
+     * @param commits
+     *         the number of commits (each commit touches a single file)
+     * @param authors
+     *         the number of distinct authors
+     * @param renameRate
+     *         the fraction of commits that rename a file (between 0 and 1)
+     * @param deleteRate
+     *         the fraction of commits that delete a file (between 0 and 1)
+     */
+    public SyntheticRepository(final int files, final int commits, final int authors,
+            final double renameRate, final double deleteRate) {
+        this.files = files;
+        this.commits = commits;
+        this.authors = authors;
+        this.renameRate = renameRate;
+        this.deleteRate = deleteRate;
+    }
+
+    /**
+     * Creates the commits of the repository in chronological order. The first commits add all files, the remaining
+     * commits modify, rename, or delete randomly selected files.
+     *
+     * @return the commits
+     */
+    public List<CommitDiffItem> createCommits() {
+        var random = new Random(SEED);
+        var builder = new TreeStringBuilder();
+
+        List<TreeString> paths = new ArrayList<>(files);
+        for (int file = 0; file < files; file++) {
+            paths.add(builder.intern(createPath(file, 0)));
+        }
+
+        List<CommitDiffItem> history = new ArrayList<>(commits);
+        for (int commit = 0; commit < commits; commit++) {
+            var item = new CommitDiffItem(Integer.toHexString(commit), "author-" + random.nextInt(authors),
+                    commit * 60);
+            if (commit < files) {
+                history.add(item.addLines(1 + random.nextInt(500)).setNewPath(paths.get(commit)));
+                continue;
+            }
+            int file = random.nextInt(paths.size());
+            var path = paths.get(file);
+            double operation = random.nextDouble();
+            if (operation < deleteRate) {
+                item.deleteLines(random.nextInt(50)).setOldPath(path);
+                paths.set(file, builder.intern(createPath(file, commit)));
+            }
+            else if (operation < deleteRate + renameRate) {
+                var newPath = builder.intern(createPath(file, commit));
+                item.addLines(random.nextInt(10)).setOldPath(path).setNewPath(newPath);
+                paths.set(file, newPath);
+            }
+            else {
+                item.addLines(random.nextInt(50)).deleteLines(random.nextInt(30)).setNewPath(path);
+            }
+            history.add(item);
+        }
+        return history;
+    }
+
+    /**
+     * Creates the statistics of the repository by adding all commits.
+     *
+     * @return the statistics of the repository
+     */
+    public RepositoryStatistics createStatistics() {
+        var statistics = new RepositoryStatistics("latest");
+        statistics.addAll(createCommits());
+        return statistics;
+    }
+
+    private String createPath(final int file, final int version) {
+        return "/src/main/java/module-%d/package-%d/File%d_%d.java".formatted(file % 20, file % 500, file, version);
+    }
+}
@@ -64,6 +64,61 @@ public abstract class BlamerFactory implements ExtensionPoint {
                 .orElseGet(() -> createNullBlamer(logger));
     }
 
+    /**
+     * Returns a blamer for the specified {@link Run build} that reuses the blames of a previous build. The blames of
+     * files that have not been changed since the previous build are not computed again.
+     *
+     * @param run
+     *         the current build
+     * @param scmDirectories
+     *         paths to search for the SCM repository
+     * @param listener
+     *         a task listener
+     * @param logger
+     *         a logger to report error messages
+     * @param previousBlames
+     *         the blames of the previous build (only the blames of the files that will be blamed are required)
+     *
+     * @return a {@link CachingBlamer} for the SCM of the specified build or a {@link NullBlamer} if the SCM is not
+     *         supported
+     */
+    public static Blamer findBlamer(final Run<?, ?> run, final Collection<FilePath> scmDirectories,
+            final TaskListener listener, final FilteredLog logger, final Blames previousBlames) {
+        return createCachingBlamer(findBlamer(run, scmDirectories, listener, logger), previousBlames);
+    }
+
+    /**
+     * Returns a blamer for the specified {@link SCM repository} that reuses the blames of a previous build. The blames
+     * of files that have not been changed since the previous build are not computed again.
+     *
+     * @param scm
+     *         the key of the SCM repository (substring that must be part of the SCM key)
+     * @param run
+     *         the current build
+     * @param workTree
+     *         the working tree of the repository
+     * @param listener
+     *         a task listener
+     * @param logger
+     *         a logger to report error messages
+     * @param previousBlames
+     *         the blames of the previous build (only the blames of the files that will be blamed are required)
+     *
+     * @return a {@link CachingBlamer} for the SCM of the specified build or a {@link NullBlamer} if the SCM is not
+     *         supported
+     */
+    public static Blamer findBlamer(final String scm, final Run<?, ?> run, final FilePath workTree,
+            final TaskListener listener, final FilteredLog logger, final Blames previousBlames) {
+        return createCachingBlamer(findBlamer(scm, run, workTree, listener, logger), previousBlames);
+    }
+
+    private static Blamer createCachingBlamer(final Blamer blamer, final Blames previousBlames) {
+        if (blamer instanceof NullBlamer) {
+            return blamer;
+        }
+        return new CachingBlamer(blamer, previousBlames);
+    }
+
     /**
      * Returns a blamer for the specified {@link SCM repository}.
      *
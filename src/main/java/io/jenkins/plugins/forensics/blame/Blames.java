@@ -21,6 +21,33 @@ public class Blames implements Serializable {
     @SuppressWarnings("PMD.LooseCoupling")
     private final HashMap<String, FileBlame> blamesPerFile = new HashMap<>();
 
+    /**
+     * Called after deserialization to share a single dictionary of author names, email addresses, and commit IDs for
+     * all files. Blames of previous releases use a dictionary for each file.
+     *
+     * @return this
+     */
+    @Serial
+    private Object readResolve() {
+        blamesPerFile.values().forEach(this::shareDictionary);
+        return this;
+    }
+
+    /**
+     * Moves the author names, email addresses, and commit IDs of the specified blame to the dictionary of this
+     * instance, i.e. the dictionary of the first blame. So all files share a single dictionary, even if their blames
+     * have been created by different builders.
+     *
+     * @param blame
+     *         the blame that should use the shared dictionary
+     */
+    private void shareDictionary(final FileBlame blame) {
+        var iterator = blamesPerFile.values().iterator();
+        if (iterator.hasNext()) {
+            blame.shareDictionary(iterator.next().getDictionary());
+        }
+    }
+
     /**
      * Adds the specified blame to this collection of blames.
      *
@@ -49,6 +76,7 @@ public class Blames implements Serializable {
             getBlame(otherFile).merge(otherRequest);
         }
         else {
+            shareDictionary(otherRequest);
             blamesPerFile.put(otherFile, otherRequest);
         }
     }
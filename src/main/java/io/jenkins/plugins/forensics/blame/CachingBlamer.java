@@ -0,0 +1,257 @@
+package io.jenkins.plugins.forensics.blame;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.PathUtil;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+import io.jenkins.plugins.forensics.blame.FileBlame.FileBlameBuilder;
+
+/**
+ * A {@link Blamer} that reuses the blames of a previous build. The blames of a file are reused if the content of the
+ * file has not been changed since the previous build: the content is identified by its Git blob ID, i.e. the SHA-1
+ * hash of the content. Only the files that have been changed and the lines that are not part of the previous blames
+ * are blamed using the wrapped blamer.
+ *
+ * <p>
+ * The blames are stored using the normalized absolute paths of the requested files, even if the wrapped blamer reports
+ * the files using paths relative to the working tree. So the blames of a build can be used as previous blames in the
+ * next build. Since a blamer is executed on the agent, the previous blames are serialized together with this blamer.
+ * Callers should therefore pass only the blames of files that are part of the current request. Use the methods of
+ * {@link BlamerFactory} that accept the previous blames to obtain a caching blamer for the SCM of a build.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class CachingBlamer extends Blamer {
+    @Serial
+    private static final long serialVersionUID = 1L; // since 4.0.0
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Blamer delegate;
+    private final Blames previousBlames;
+
+    /**
+     * Creates a new instance of {@link CachingBlamer}.
+     *
+     * @param delegate
+     *         the blamer that blames the files that are not part of the cache
+     * @param previousBlames
+     *         the blames of the previous build
+     */
+    public CachingBlamer(final Blamer delegate, final Blames previousBlames) {
+        this.delegate = delegate;
+        this.previousBlames = previousBlames;
+    }
+
+    @Override
+    public Blames blame(final FileLocations fileLocations, final FilteredLog logger) {
+        var builder = new FileBlameBuilder();
+        var pathUtil = new PathUtil();
+        var blames = new Blames();
+        var missing = new FileLocations();
+        Map<String, String> hashes = new HashMap<>();
+        Set<String> missingFiles = new HashSet<>();
+
+        int reusedFiles = 0;
+        int partiallyReusedFiles = 0;
+        int reusedLines = 0;
+        for (String fileName : fileLocations.getFiles()) {
+            var lines = fileLocations.getLineNumbers(fileName);
+            var normalizedName = pathUtil.getAbsolutePath(fileName);
+            var hash = computeHash(fileName);
+            if (hash != null) {
+                hashes.put(normalizedName, hash);
+            }
+            var previous = findPreviousBlame(normalizedName, hash);
+            if (previous == null) {
+                missing.addLines(fileName, lines);
+                missingFiles.add(normalizedName);
+            }
+            else {
+                int missingLines = copyLines(fileName, previous, builder.build(fileName), lines, missing, blames);
+                reusedLines += lines.length - missingLines;
+                if (missingLines == 0) {
+                    reusedFiles++;
+                }
+                else {
+                    partiallyReusedFiles++;
+                    missingFiles.add(normalizedName);
+                }
+            }
+        }
+
+        logger.logInfo("-> Blame cache: %d files reused, %d files partially reused, %d lines reused",
+                reusedFiles, partiallyReusedFiles, reusedLines);
+
+        if (!missing.isEmpty()) {
+            logger.logInfo("-> Blame cache: blaming %d files that are not cached", missing.size());
+
+            var blamed = delegate.blame(missing, logger);
+            var resolver = new FileNameResolver(missingFiles, pathUtil);
+            for (String fileName : blamed.getFiles()) {
+                var blame = blamed.getBlame(fileName);
+                var requestedName = resolver.resolve(fileName);
+                if (requestedName != null) {
+                    if (!requestedName.equals(blame.getFileName())) {
+                        blame = rename(blame, requestedName, builder);
+                    }
+                    var hash = hashes.get(requestedName);
+                    if (hash != null) {
+                        blame.setContentHash(hash);
+                    }
+                }
+                blames.add(blame);
+            }
+        }
+        return blames;
+    }
+
+    private FileBlame rename(final FileBlame blame, final String fileName, final FileBlameBuilder builder) {
+        var renamed = builder.build(fileName);
+        blame.forEachBlame((line, name, email, commit, time) -> {
+            renamed.setCommit(line, commit);
+            renamed.setName(line, name);
+            renamed.setEmail(line, email);
+            renamed.setTime(line, time);
+        });
+        return renamed;
+    }
+
+    /**
+     * Copies the blames of the specified lines from the previous blames. Lines that are not part of the previous
+     * blames are added to the missing locations.
+     *
+     * @return the number of lines that could not be copied
+     */
+    private int copyLines(final String fileName, final FileBlame previous, final FileBlame cached, final int[] lines,
+            final FileLocations missing, final Blames blames) {
+        cached.setContentHash(previous.getContentHash());
+        int missingLines = 0;
+        for (int line : lines) {
+            if (previous.hasLine(line)) {
+                cached.setCommit(line, previous.getCommit(line));
+                cached.setName(line, previous.getName(line));
+                cached.setEmail(line, previous.getEmail(line));
+                cached.setTime(line, previous.getTime(line));
+            }
+            else {
+                missing.addLine(fileName, line);
+                missingLines++;
+            }
+        }
+        blames.add(cached);
+        return missingLines;
+    }
+
+    @CheckForNull
+    private FileBlame findPreviousBlame(final String normalizedName, @CheckForNull final String hash) {
+        if (hash != null && previousBlames.contains(normalizedName)) {
+            var previous = previousBlames.getBlame(normalizedName);
+            if (hash.equals(previous.getContentHash())) {
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the Git blob ID of the specified file.
+     *
+     * @param fileName
+     *         the absolute file name
+     *
+     * @return the Git blob ID, or {@code null} if the file could not be read
+     */
+    @CheckForNull
+    static String computeHash(final String fileName) {
+        try {
+            var file = Path.of(fileName);
+            var digest = MessageDigest.getInstance("SHA-1");
+            digest.update("blob %d\0".formatted(Files.size(file)).getBytes(StandardCharsets.US_ASCII));
+            try (InputStream input = Files.newInputStream(file)) {
+                var buffer = new byte[BUFFER_SIZE];
+                for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (IOException | InvalidPathException | NoSuchAlgorithmException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps the file names that are reported by the wrapped blamer to the normalized names of the requested files. The
+     * wrapped blamer might report the files using paths that are relative to the working tree of the repository: then
+     * the requested file is looked up by its path suffix. Suffixes that match several requested files (e.g.,
+     * {@code pom.xml} in a multi-module project) are ambiguous: these files are resolved using the working tree that has
+     * been derived from an unambiguous match, otherwise they are not resolved at all.
+     */
+    private static final class FileNameResolver {
+        private final Set<String> requestedFiles;
+        private final PathUtil pathUtil;
+        private final Map<String, String> filesBySuffix = new HashMap<>();
+        private final Set<String> ambiguousSuffixes = new HashSet<>();
+        private String workTree = StringUtils.EMPTY;
+
+        FileNameResolver(final Set<String> requestedFiles, final PathUtil pathUtil) {
+            this.requestedFiles = requestedFiles;
+            this.pathUtil = pathUtil;
+
+            for (String requestedFile : requestedFiles) {
+                for (int separator = requestedFile.indexOf('/'); separator >= 0;
+                        separator = requestedFile.indexOf('/', separator + 1)) {
+                    addSuffix(requestedFile.substring(separator + 1), requestedFile);
+                }
+            }
+        }
+
+        private void addSuffix(final String suffix, final String requestedFile) {
+            if (suffix.isEmpty() || ambiguousSuffixes.contains(suffix)) {
+                return;
+            }
+            var existing = filesBySuffix.putIfAbsent(suffix, requestedFile);
+            if (existing != null && !existing.equals(requestedFile)) {
+                filesBySuffix.remove(suffix);
+                ambiguousSuffixes.add(suffix);
+            }
+        }
+
+        @CheckForNull
+        String resolve(final String fileName) {
+            var normalizedName = pathUtil.getAbsolutePath(fileName);
+            if (requestedFiles.contains(normalizedName)) {
+                return normalizedName;
+            }
+            var relativeName = StringUtils.removeStart(fileName.replace('\\', '/'), "./");
+            var requestedFile = filesBySuffix.get(relativeName);
+            if (requestedFile != null) {
+                workTree = requestedFile.substring(0, requestedFile.length() - relativeName.length());
+                return requestedFile;
+            }
+            if (!workTree.isEmpty() && requestedFiles.contains(workTree + relativeName)) {
+                return workTree + relativeName;
+            }
+            return null;
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package io.jenkins.plugins.forensics.blame;
 
+import org.apache.commons.lang3.StringUtils;
+
 import edu.hm.hafner.util.PathUtil;
 import edu.hm.hafner.util.TreeString;
 import edu.hm.hafner.util.TreeStringBuilder;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 
+import io.jenkins.plugins.forensics.util.StringDictionary;
+
 /**
  * Stores the repository blames for several lines of a single file. File names are stored using the absolute path of the
- * file.
+ * file. The blames are stored in columns of primitive values: the sorted line numbers are stored in an array that is
+ * searched using a binary search, the author names, email addresses, and commit IDs are stored as indices into a
+ * {@link StringDictionary} that is shared by all instances of the same {@link FileBlameBuilder}.
  *
  * @author Ullrich Hafner
  */
@@ -25,68 +36,205 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
     @Serial
     private static final long serialVersionUID = 7L; // release 0.7
 
-    static final String EMPTY = "-";
-    static final int EMPTY_INTEGER = 0;
+    /** The value of a string property of a line that has not been blamed. */
+    public static final String EMPTY = "-";
+    /** The value of an integer property of a line that has not been blamed. */
+    public static final int EMPTY_INTEGER = 0;
+
+    private static final int NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY = 8;
 
     private final TreeString fileName;
-    @SuppressWarnings("PMD.LooseCoupling") @CheckForNull // Deserialization of old format
-    private HashMap<Integer, LineBlame> blamesByLine = new HashMap<>();
+    @SuppressWarnings("PMD.LooseCoupling") @CheckForNull @Deprecated // Deserialization of format before 4.0.0
+    private HashMap<Integer, LineBlame> blamesByLine;
+
+    private StringDictionary dictionary; // since 4.0.0
+    private int size; // since 4.0.0
+    private int[] lineNumbers = new int[INITIAL_CAPACITY]; // since 4.0.0, sorted
+    private int[] nameIndices = new int[INITIAL_CAPACITY]; // since 4.0.0
+    private int[] emailIndices = new int[INITIAL_CAPACITY]; // since 4.0.0
+    private int[] commitIndices = new int[INITIAL_CAPACITY]; // since 4.0.0
+    private int[] addedAt = new int[INITIAL_CAPACITY]; // since 4.0.0
+    private String contentHash = StringUtils.EMPTY; // since 4.0.0
 
     /**
      * Creates a new instance of {@link FileBlame}.
      *
      * @param fileName
      *         the name of the file that should be blamed
+     * @param dictionary
+     *         the dictionary for author names, email addresses, and commit IDs
      */
-    private FileBlame(final TreeString fileName) {
+    private FileBlame(final TreeString fileName, final StringDictionary dictionary) {
         this.fileName = fileName;
+        this.dictionary = dictionary;
     }
 
     /**
-     * Called after deserialization to retain backward compatibility.
+     * Called after deserialization to retain backward compatibility. Blames of previous releases are converted to the
+     * column based format.
      *
      * @return this
      */
     @Serial
-    @SuppressWarnings("DataFlowIssue")
+    @SuppressWarnings({"DataFlowIssue", "deprecation", "PMD.NullAssignment"})
+    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE", justification = "Deserialization of instances that do not have all fields yet")
     private Object readResolve() {
-        if (timeByLine == null) {
-            timeByLine = new HashMap<>();
-        }
-        if (blamesByLine == null) {
-            blamesByLine = new HashMap<>();
-            for (Integer line : lines) {
-                var lineBlame = new LineBlame();
-                lineBlame.setName(nameByLine.get(line));
-                lineBlame.setEmail(emailByLine.get(line));
-                lineBlame.setCommit(commitByLine.get(line));
-                lineBlame.setAddedAt(timeByLine.getOrDefault(line, EMPTY_INTEGER));
-                blamesByLine.put(line, lineBlame);
+        if (dictionary == null) {
+            dictionary = new StringDictionary();
+        }
+        if (contentHash == null) {
+            contentHash = StringUtils.EMPTY;
+        }
+        if (lineNumbers == null) { // before 4.0.0
+            allocate(INITIAL_CAPACITY);
+            size = 0;
+            if (blamesByLine == null) { // before 0.7.0
+                if (timeByLine == null) {
+                    timeByLine = new HashMap<>();
+                }
+                for (Integer line : lines) {
+                    set(line, nameByLine.get(line), emailByLine.get(line), commitByLine.get(line),
+                            timeByLine.getOrDefault(line, EMPTY_INTEGER));
+                }
             }
+            else {
+                blamesByLine.forEach((line, blame) -> set(line,
+                        blame.getName(), blame.getEmail(), blame.getCommit(), blame.getAddedAt()));
+                blamesByLine = null; // set to null to remove the field from serialization
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Called before serialization to trim the columns to the number of lines.
+     *
+     * @return this
+     */
+    @Serial
+    private Object writeReplace() {
+        if (lineNumbers.length != size) {
+            resize(size);
         }
         return this;
     }
 
+    private void set(final int line, @CheckForNull final String name, @CheckForNull final String email,
+            @CheckForNull final String commit, final int time) {
+        int index = getOrCreateIndex(line);
+        nameIndices[index] = dictionary.add(StringUtils.defaultString(name, EMPTY));
+        emailIndices[index] = dictionary.add(StringUtils.defaultString(email, EMPTY));
+        commitIndices[index] = dictionary.add(StringUtils.defaultString(commit, EMPTY));
+        addedAt[index] = time;
+    }
+
     public String getFileName() {
         return fileName.toString();
     }
 
-    public Set<Integer> getLines() {
-        return getBlamesByLine().keySet();
+    /**
+     * Returns the hash of the content of the file at the time the blames have been computed. The hash is not part of
+     * the identity of this instance, it is used to detect whether the blames of a previous build can be reused.
+     *
+     * @return the hash of the content, or an empty string if the hash is unknown
+     * @see CachingBlamer
+     */
+    public String getContentHash() {
+        return contentHash;
     }
 
-    private Map<Integer, LineBlame> getBlamesByLine() {
-        return Objects.requireNonNull(blamesByLine);
+    /**
+     * Sets the hash of the content of the file at the time the blames have been computed.
+     *
+     * @param contentHash
+     *         the hash of the content
+     */
+    public void setContentHash(final String contentHash) {
+        this.contentHash = contentHash;
     }
 
+    /**
+     * Returns the lines that have been blamed. The returned set is a sorted and unmodifiable view of the lines.
+     *
+     * @return the blamed lines
+     */
+    public Set<Integer> getLines() {
+        return new SortedLinesView();
+    }
+
+    /**
+     * Returns an iterator over the blamed lines in ascending order. The returned iterator is a {@link
+     * PrimitiveIterator.OfInt}, so callers can use {@link PrimitiveIterator.OfInt#nextInt()} to avoid boxing.
+     *
+     * @return an iterator over the blamed lines
+     */
     @Override
     @NonNull
-    public Iterator<Integer> iterator() {
-        return getLines().iterator();
+    public PrimitiveIterator.OfInt iterator() {
+        return new LineIterator();
     }
 
-    private LineBlame getBlamesFor(final int lineNumber) {
-        return getBlamesByLine().computeIfAbsent(lineNumber, k -> new LineBlame());
+    /**
+     * Returns the position of the specified line in the columns using a binary search.
+     *
+     * @param line
+     *         the line to find
+     *
+     * @return the position of the line, or {@link #NOT_FOUND} if the line has not been blamed
+     */
+    private int indexOf(final int line) {
+        int index = Arrays.binarySearch(lineNumbers, 0, size, line);
+        return index >= 0 ? index : NOT_FOUND;
+    }
+
+    private int getOrCreateIndex(final int line) {
+        if (size > 0 && lineNumbers[size - 1] < line) { // lines are typically added in ascending order
+            return insert(size, line);
+        }
+        int index = Arrays.binarySearch(lineNumbers, 0, size, line);
+        if (index >= 0) {
+            return index;
+        }
+        return insert(-(index + 1), line);
+    }
+
+    private int insert(final int position, final int line) {
+        if (size == lineNumbers.length) {
+            resize(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        int moved = size - position;
+        if (moved > 0) {
+            System.arraycopy(lineNumbers, position, lineNumbers, position + 1, moved);
+            System.arraycopy(nameIndices, position, nameIndices, position + 1, moved);
+            System.arraycopy(emailIndices, position, emailIndices, position + 1, moved);
+            System.arraycopy(commitIndices, position, commitIndices, position + 1, moved);
+            System.arraycopy(addedAt, position, addedAt, position + 1, moved);
+        }
+        int empty = dictionary.add(EMPTY);
+        lineNumbers[position] = line;
+        nameIndices[position] = empty;
+        emailIndices[position] = empty;
+        commitIndices[position] = empty;
+        addedAt[position] = EMPTY_INTEGER;
+        size++;
+        return position;
+    }
+
+    private void allocate(final int capacity) {
+        lineNumbers = new int[capacity];
+        nameIndices = new int[capacity];
+        emailIndices = new int[capacity];
+        commitIndices = new int[capacity];
+        addedAt = new int[capacity];
+    }
+
+    private void resize(final int capacity) {
+        lineNumbers = Arrays.copyOf(lineNumbers, capacity);
+        nameIndices = Arrays.copyOf(nameIndices, capacity);
+        emailIndices = Arrays.copyOf(emailIndices, capacity);
+        commitIndices = Arrays.copyOf(commitIndices, capacity);
+        addedAt = Arrays.copyOf(addedAt, capacity);
     }
 
     /**
@@ -98,11 +246,12 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      *         the commit ID
      */
     public void setCommit(final int lineNumber, final String id) {
-        getBlamesFor(lineNumber).setCommit(id);
+        commitIndices[getOrCreateIndex(lineNumber)] = dictionary.add(id);
     }
 
     /**
-     * Returns the commit ID for the specified line.
+     * Returns the commit ID for the specified line. If the line has not been blamed, then {@link #EMPTY} is
+     * returned.
      *
      * @param line
      *         the affected line
@@ -110,7 +259,7 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      * @return the commit ID
      */
     public String getCommit(final int line) {
-        return getBlamesFor(line).getCommit();
+        return getString(commitIndices, line);
     }
 
     /**
@@ -122,11 +271,12 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      *         the author name
      */
     public void setName(final int lineNumber, final String name) {
-        getBlamesFor(lineNumber).setName(name);
+        nameIndices[getOrCreateIndex(lineNumber)] = dictionary.add(name);
     }
 
     /**
-     * Returns the author name for the specified line.
+     * Returns the author name for the specified line. If the line has not been blamed, then {@link #EMPTY} is
+     * returned.
      *
      * @param line
      *         the affected line
@@ -134,7 +284,7 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      * @return the author name
      */
     public String getName(final int line) {
-        return getBlamesFor(line).getName();
+        return getString(nameIndices, line);
     }
 
     /**
@@ -146,11 +296,12 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      *         the email address of the author
      */
     public void setEmail(final int lineNumber, final String emailAddress) {
-        getBlamesFor(lineNumber).setEmail(emailAddress);
+        emailIndices[getOrCreateIndex(lineNumber)] = dictionary.add(emailAddress);
     }
 
     /**
-     * Returns the author email for the specified line.
+     * Returns the author email for the specified line. If the line has not been blamed, then {@link #EMPTY} is
+     * returned.
      *
      * @param line
      *         the affected line
@@ -158,7 +309,7 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      * @return the author email
      */
     public String getEmail(final int line) {
-        return getBlamesFor(line).getEmail();
+        return getString(emailIndices, line);
     }
 
     /**
@@ -172,12 +323,12 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      *         namely January 1, 1970, 00:00:00 GMT).
      */
     public void setTime(final int lineNumber, final int time) {
-        getBlamesFor(lineNumber).setAddedAt(time);
+        addedAt[getOrCreateIndex(lineNumber)] = time;
     }
 
     /**
      * Returns the modification time for the specified line. Essentially, this is the time of the last commit that
-     * changed this line.
+     * changed this line. If the line has not been blamed, then {@link #EMPTY_INTEGER} is returned.
      *
      * @param line
      *         the affected line
@@ -186,7 +337,61 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      *         namely January 1, 1970, 00:00:00 GMT.).
      */
     public int getTime(final int line) {
-        return getBlamesFor(line).getAddedAt();
+        int index = indexOf(line);
+        return index == NOT_FOUND ? EMPTY_INTEGER : addedAt[index];
+    }
+
+    private String getString(final int[] column, final int line) {
+        int index = indexOf(line);
+        return index == NOT_FOUND ? EMPTY : dictionary.get(column[index]);
+    }
+
+    /**
+     * Returns whether the specified line has been blamed.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line has been blamed, {@code false} otherwise
+     */
+    public boolean hasLine(final int line) {
+        return indexOf(line) != NOT_FOUND;
+    }
+
+    /**
+     * Queries the blames of the specified lines in a single call. For each of the lines the consumer will be invoked
+     * with the blame of the line. Lines that have not been blamed are reported with the defaults {@link #EMPTY} and
+     * {@link #EMPTY_INTEGER}. This method neither modifies this instance nor allocates objects per line.
+     *
+     * @param lines
+     *         the lines to query
+     * @param consumer
+     *         the consumer that will be invoked for each of the lines
+     */
+    public void forEachBlame(final int[] lines, final LineBlameConsumer consumer) {
+        for (int line : lines) {
+            int index = indexOf(line);
+            if (index == NOT_FOUND) {
+                consumer.accept(line, EMPTY, EMPTY, EMPTY, EMPTY_INTEGER);
+            }
+            else {
+                consumer.accept(line, dictionary.get(nameIndices[index]), dictionary.get(emailIndices[index]),
+                        dictionary.get(commitIndices[index]), addedAt[index]);
+            }
+        }
+    }
+
+    /**
+     * Reports the blames of all lines of this instance to the specified consumer, in ascending order of the lines.
+     *
+     * @param consumer
+     *         the consumer that will be invoked for each of the lines
+     */
+    public void forEachBlame(final LineBlameConsumer consumer) {
+        for (int index = 0; index < size; index++) {
+            consumer.accept(lineNumbers[index], dictionary.get(nameIndices[index]),
+                    dictionary.get(emailIndices[index]), dictionary.get(commitIndices[index]), addedAt[index]);
+        }
     }
 
     /**
@@ -200,9 +405,14 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
      */
     public void merge(final FileBlame other) {
         if (other.getFileName().equals(getFileName())) {
-            for (Integer otherLine : other) {
-                if (!getBlamesByLine().containsKey(otherLine)) {
-                    getBlamesByLine().put(otherLine, other.getBlamesFor(otherLine));
+            for (int otherIndex = 0; otherIndex < other.size; otherIndex++) {
+                int otherLine = other.lineNumbers[otherIndex];
+                if (indexOf(otherLine) == NOT_FOUND) {
+                    int index = getOrCreateIndex(otherLine);
+                    nameIndices[index] = copy(other, other.nameIndices[otherIndex]);
+                    emailIndices[index] = copy(other, other.emailIndices[otherIndex]);
+                    commitIndices[index] = copy(other, other.commitIndices[otherIndex]);
+                    addedAt[index] = other.addedAt[otherIndex];
                 }
             }
         }
@@ -213,9 +423,40 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
         }
     }
 
+    /**
+     * Moves the author names, email addresses, and commit IDs of this instance to the specified dictionary. Blames
+     * that have been deserialized from the format before 4.0.0 use a dictionary of their own: this method is used to
+     * share a single dictionary for all files of the same {@link Blames} instance.
+     *
+     * @param shared
+     *         the dictionary to use from now on
+     */
+    void shareDictionary(final StringDictionary shared) {
+        if (shared == dictionary) {
+            return;
+        }
+        for (int index = 0; index < size; index++) {
+            nameIndices[index] = shared.add(dictionary.get(nameIndices[index]));
+            emailIndices[index] = shared.add(dictionary.get(emailIndices[index]));
+            commitIndices[index] = shared.add(dictionary.get(commitIndices[index]));
+        }
+        dictionary = shared;
+    }
+
+    StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private int copy(final FileBlame other, final int otherIndex) {
+        if (other.dictionary == dictionary) {
+            return otherIndex;
+        }
+        return dictionary.add(other.dictionary.get(otherIndex));
+    }
+
     @Override
     public String toString() {
-        return fileName + " - " + lines;
+        return fileName + " - " + getLines();
     }
 
     @Override
@@ -226,15 +467,109 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        var integers = (FileBlame) o;
-        return fileName.equals(integers.fileName) && Objects.equals(blamesByLine, integers.blamesByLine);
+        var other = (FileBlame) o;
+        if (!fileName.equals(other.fileName) || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (lineNumbers[i] != other.lineNumbers[i] || addedAt[i] != other.addedAt[i]
+                    || !isEqual(nameIndices, other, other.nameIndices, i)
+                    || !isEqual(emailIndices, other, other.emailIndices, i)
+                    || !isEqual(commitIndices, other, other.commitIndices, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEqual(final int[] column, final FileBlame other, final int[] otherColumn, final int index) {
+        if (dictionary == other.dictionary) {
+            return column[index] == otherColumn[index];
+        }
+        return dictionary.get(column[index]).equals(other.dictionary.get(otherColumn[index]));
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fileName, blamesByLine);
+        int result = fileName.hashCode();
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + lineNumbers[i];
+            result = 31 * result + addedAt[i];
+            result = 31 * result + dictionary.get(commitIndices[i]).hashCode();
+        }
+        return result;
+    }
+
+    /**
+     * Consumes the blame of a single line.
+     *
+     * @see #forEachBlame(int[], LineBlameConsumer)
+     */
+    @FunctionalInterface
+    public interface LineBlameConsumer {
+        /**
+         * Consumes the blame of the specified line.
+         *
+         * @param line
+         *         the line number
+         * @param name
+         *         the author name
+         * @param email
+         *         the email address of the author
+         * @param commit
+         *         the commit ID
+         * @param time
+         *         the time of the commit (given as number of seconds since the standard base time known as "the
+         *         epoch", namely January 1, 1970, 00:00:00 GMT)
+         */
+        void accept(int line, String name, String email, String commit, int time);
+    }
+
+    /**
+     * An unmodifiable view of the sorted line numbers.
+     */
+    private class SortedLinesView extends AbstractSet<Integer> {
+        @Override
+        @NonNull
+        public Iterator<Integer> iterator() {
+            return new LineIterator();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof Integer line && indexOf(line) != NOT_FOUND;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Iterates over the sorted line numbers without boxing.
+     */
+    private class LineIterator implements PrimitiveIterator.OfInt {
+        private int position;
+
+        @Override
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return lineNumbers[position++];
+        }
     }
 
+    /**
+     * The blame of a single line in the format before 4.0.0. This class is required to read serialized blames of
+     * previous releases only.
+     */
     @SuppressWarnings("PMD.DataClass")
     private static class LineBlame implements Serializable {
         @Serial
@@ -248,34 +583,18 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
             return name;
         }
 
-        void setName(final String name) {
-            this.name = name.intern();
-        }
-
         String getEmail() {
             return email;
         }
 
-        void setEmail(final String email) {
-            this.email = email.intern();
-        }
-
         String getCommit() {
             return commit;
         }
 
-        void setCommit(final String commit) {
-            this.commit = commit.intern();
-        }
-
         int getAddedAt() {
             return addedAt;
         }
 
-        void setAddedAt(final int addedAt) {
-            this.addedAt = addedAt;
-        }
-
         @Override
         public boolean equals(final Object o) {
             if (this == o) {
@@ -299,11 +618,13 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
 
     /**
      * Creates {@link FileBlame} instances that optimize the memory footprint for file names by using a {@link
-     * TreeStringBuilder}.
+     * TreeStringBuilder}. Author names, email addresses, and commit IDs of all created instances are stored in a shared
+     * {@link StringDictionary}.
      */
     public static class FileBlameBuilder {
         private final TreeStringBuilder builder = new TreeStringBuilder();
         private final PathUtil pathUtil = new PathUtil();
+        private final StringDictionary dictionary = new StringDictionary();
 
         /**
          * Creates a new {@link FileBlame} instance for the specified file name. The file name will be normalized and
@@ -314,7 +635,7 @@ public final class FileBlame implements Iterable<Integer>, Serializable {
          * @return the created {@link FileBlame} instance
          */
         public FileBlame build(final String fileName) {
-            return new FileBlame(builder.intern(pathUtil.getAbsolutePath(fileName)));
+            return new FileBlame(builder.intern(pathUtil.getAbsolutePath(fileName)), dictionary);
         }
     }
 
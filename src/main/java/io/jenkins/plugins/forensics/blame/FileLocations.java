@@ -1,26 +1,41 @@
 package io.jenkins.plugins.forensics.blame;
 
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Objects;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 
 /**
  * Defines a set of file locations. A file location is identified by an absolute file name and line number. File
  * locations are grouped by file name, i.e. you can obtain a mapping of a file to all affected lines in that file.
  *
+ * <p>
+ * The lines of each file are stored in a primitive array that is kept sorted and free of duplicates while lines are
+ * added. So reading the lines never modifies the array and the locations can be read concurrently once they have been
+ * created. When serialized, e.g. while being sent to an agent that runs the {@link Blamer}, consecutive lines are
+ * encoded as ranges.
+ * </p>
+ *
  * @author Ullrich Hafner
  */
 public class FileLocations implements Serializable {
     @Serial
-    private static final long serialVersionUID = 8063580789984061223L;
+    private static final long serialVersionUID = 2L; // since 4.0.0: range encoded lines
 
     @SuppressWarnings("PMD.LooseCoupling")
-    private final HashMap<String, Set<Integer>> linesPerFile = new HashMap<>();
+    private transient HashMap<String, LineSet> linesPerFile = new HashMap<>();
 
     /**
      * Adds the specified affected file and line number.
@@ -31,19 +46,23 @@ public class FileLocations implements Serializable {
      *         the line number to find the blame for
      */
     public void addLine(final String fileName, final int lineStart) {
-        linesPerFile.put(fileName, mergeLine(fileName, lineStart));
+        getLineSet(fileName).add(lineStart);
     }
 
-    private Set<Integer> mergeLine(final String fileName, final int lineStart) {
-        Set<Integer> lines;
-        if (contains(fileName)) {
-            lines = linesPerFile.get(fileName);
-        }
-        else {
-            lines = new HashSet<>();
-        }
-        lines.add(lineStart);
-        return lines;
+    /**
+     * Adds the specified affected file and line numbers.
+     *
+     * @param fileName
+     *         the absolute file name that will be used as a key
+     * @param lines
+     *         the line numbers to find the blames for, the numbers may be unsorted and may contain duplicates
+     */
+    public void addLines(final String fileName, final int... lines) {
+        getLineSet(fileName).addAll(lines, lines.length);
+    }
+
+    private LineSet getLineSet(final String fileName) {
+        return linesPerFile.computeIfAbsent(fileName, key -> new LineSet());
     }
 
     /**
@@ -90,7 +109,8 @@ public class FileLocations implements Serializable {
     }
 
     /**
-     * Returns the added lines for the specified file.
+     * Returns the added lines for the specified file. The returned set is an unmodifiable view that iterates the lines
+     * in ascending order.
      *
      * @param fileName
      *         the relative or absolute path of the file
@@ -100,12 +120,92 @@ public class FileLocations implements Serializable {
      *         if the file name is not registered
      */
     public Set<Integer> getLines(final String fileName) {
+        return getExistingLines(fileName).asSet();
+    }
+
+    /**
+     * Returns the added lines for the specified file as a sorted array without duplicates.
+     *
+     * @param fileName
+     *         the relative or absolute path of the file
+     *
+     * @return the lines for that file
+     * @throws NoSuchElementException
+     *         if the file name is not registered
+     */
+    public int[] getLineNumbers(final String fileName) {
+        var lines = getExistingLines(fileName);
+        return Arrays.copyOf(lines.lines, lines.size);
+    }
+
+    private LineSet getExistingLines(final String fileName) {
         if (containsFile(fileName)) {
-            return Collections.unmodifiableSet(linesPerFile.get(fileName));
+            return linesPerFile.get(fileName);
         }
         throw new NoSuchElementException("No information for file '%s' stored".formatted(fileName));
     }
 
+    /**
+     * Writes the lines of each file as ranges of consecutive lines, i.e. as start line and length.
+     *
+     * @param output
+     *         the output stream
+     *
+     * @throws IOException
+     *         if the locations could not be written
+     */
+    @Serial
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        output.defaultWriteObject();
+
+        output.writeInt(linesPerFile.size());
+        for (Map.Entry<String, LineSet> entry : linesPerFile.entrySet()) {
+            output.writeUTF(entry.getKey());
+
+            var lines = entry.getValue();
+            output.writeInt(lines.countRanges());
+            for (int start = 0; start < lines.size; ) {
+                int end = start + 1;
+                while (end < lines.size && lines.lines[end] == lines.lines[end - 1] + 1) {
+                    end++;
+                }
+                output.writeInt(lines.lines[start]);
+                output.writeInt(end - start);
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * Reads the lines of each file that have been written by {@link #writeObject(ObjectOutputStream)}.
+     *
+     * @param input
+     *         the input stream
+     *
+     * @throws IOException
+     *         if the locations could not be read
+     * @throws ClassNotFoundException
+     *         if a class of the serialized object could not be found
+     */
+    @Serial
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+
+        linesPerFile = new HashMap<>();
+        int files = input.readInt();
+        for (int file = 0; file < files; file++) {
+            var lines = getLineSet(input.readUTF());
+            int ranges = input.readInt();
+            for (int range = 0; range < ranges; range++) {
+                int start = input.readInt();
+                int length = input.readInt();
+                for (int line = start; line < start + length; line++) {
+                    lines.add(line);
+                }
+            }
+        }
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -120,6 +220,129 @@ public class FileLocations implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(linesPerFile);
+        return linesPerFile.hashCode();
+    }
+
+    /**
+     * A set of line numbers that is stored in a sorted primitive array without duplicates. Lines that are added in
+     * ascending order are simply appended, all other lines are inserted at their position.
+     */
+    private static final class LineSet {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private int[] lines = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(final int line) {
+            int position = size;
+            if (size > 0 && lines[size - 1] >= line) {
+                int index = Arrays.binarySearch(lines, 0, size, line);
+                if (index >= 0) {
+                    return;
+                }
+                position = -index - 1;
+            }
+            if (size == lines.length) {
+                lines = Arrays.copyOf(lines, size * 2);
+            }
+            System.arraycopy(lines, position, lines, position + 1, size - position);
+            lines[position] = line;
+            size++;
+        }
+
+        void addAll(final int[] additionalLines, final int length) {
+            if (size + length > lines.length) {
+                lines = Arrays.copyOf(lines, Math.max(size * 2, size + length));
+            }
+            System.arraycopy(additionalLines, 0, lines, size, length);
+            size += length;
+            sortAndRemoveDuplicates();
+        }
+
+        private void sortAndRemoveDuplicates() {
+            Arrays.sort(lines, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || lines[distinct - 1] != lines[i]) {
+                    lines[distinct++] = lines[i];
+                }
+            }
+            size = distinct;
+        }
+
+        int countRanges() {
+            int ranges = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || lines[i] != lines[i - 1] + 1) {
+                    ranges++;
+                }
+            }
+            return ranges;
+        }
+
+        boolean contains(final int line) {
+            return Arrays.binarySearch(lines, 0, size, line) >= 0;
+        }
+
+        Set<Integer> asSet() {
+            return new LinesView();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            var that = (LineSet) o;
+            return Arrays.equals(lines, 0, size, that.lines, 0, that.size);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 1;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + lines[i];
+            }
+            return result;
+        }
+
+        /**
+         * An unmodifiable view of the sorted lines.
+         */
+        private class LinesView extends AbstractSet<Integer> {
+            @Override
+            @NonNull
+            public Iterator<Integer> iterator() {
+                return new PrimitiveIterator.OfInt() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < size;
+                    }
+
+                    @Override
+                    public int nextInt() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return lines[position++];
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                return o instanceof Integer line && LineSet.this.contains(line);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
     }
 }
@@ -2,10 +2,12 @@ package io.jenkins.plugins.forensics.delta;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * Data class that represents the code difference - so called 'delta' - between two commits.
@@ -50,8 +52,24 @@ public class Delta implements Serializable {
         return referenceCommit;
     }
 
+    /**
+     * Returns the changes of all modified files, mapped by the file ID. The returned map is an unmodifiable view, use
+     * {@link #addFileChanges(String, FileChanges)} to add changes.
+     *
+     * @return the changes of all modified files
+     */
     public Map<String, FileChanges> getFileChangesMap() {
-        return new HashMap<>(fileChangesMap);
+        return Collections.unmodifiableMap(fileChangesMap);
+    }
+
+    /**
+     * Performs the specified action for the changes of each modified file.
+     *
+     * @param action
+     *         the action to be performed for each file ID and its changes
+     */
+    public void forEachFileChange(final BiConsumer<String, FileChanges> action) {
+        fileChangesMap.forEach(action);
     }
 
     /**
@@ -0,0 +1,243 @@
+package io.jenkins.plugins.forensics.delta;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+import io.jenkins.plugins.forensics.util.BinaryFiles;
+
+/**
+ * Stores the {@link Delta} instances that have been computed for a build. Each delta is identified by the type of the
+ * {@link DeltaCalculator}, the SCM key filter, and the revisions of the build and the reference build that have been
+ * used to compute the delta. Deltas of calculators that cannot resolve these revisions are not stored. The deltas are persisted in the build
+ * folder using the compact binary format of {@link DeltaCodec}, so that subsequent calculations in the same build or
+ * later requests of the user interface can reuse them instead of computing the delta again. A file that cannot be read
+ * is treated as a cache miss: the file is deleted and the delta needs to be computed again. This action has no user
+ * interface.
+ *
+ * @author Ullrich Hafner
+ * @see DeltaCalculator
+ */
+public class DeltaCache implements RunAction2 {
+    private static final Logger LOGGER = Logger.getLogger(DeltaCache.class.getName());
+    private static final String FILE_NAME_PATTERN = "delta-%d.bin";
+    private static final Object CREATION_LOCK = new Object();
+
+    /** Maps the key of a delta to the name of the file that contains the delta. */
+    @SuppressWarnings("PMD.LooseCoupling")
+    private final HashMap<String, String> fileNames = new HashMap<>();
+
+    private transient Run<?, ?> owner;
+    private transient Map<String, SoftReference<Delta>> deltas = new HashMap<>();
+
+    /**
+     * Returns the delta cache of the specified build. If the build has no cache yet, then a new cache will be attached
+     * to the build.
+     *
+     * @param build
+     *         the build to get the cache for
+     *
+     * @return the delta cache of the build
+     */
+    public static DeltaCache getOrCreate(final Run<?, ?> build) {
+        synchronized (CREATION_LOCK) {
+            var cache = build.getAction(DeltaCache.class);
+            if (cache == null) {
+                cache = new DeltaCache();
+                build.addAction(cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Called after deserialization to initialize the transient fields.
+     *
+     * @return this
+     */
+    protected Object readResolve() {
+        deltas = new HashMap<>();
+
+        return this;
+    }
+
+    @Override
+    public void onAttached(final Run<?, ?> run) {
+        this.owner = run;
+    }
+
+    @Override
+    public void onLoad(final Run<?, ?> run) {
+        onAttached(run);
+    }
+
+    /**
+     * Returns the cached delta between the owner of this cache and the specified reference build. Since the content
+     * providers of {@link FileChanges} instances are not persisted, the content provider of the calculator is attached
+     * to all files of the delta that reference their content.
+     *
+     * @param calculator
+     *         the calculator that has been used to compute the delta
+     * @param scmKeyFilter
+     *         the SCM key filter that has been used to compute the delta
+     * @param referenceBuild
+     *         the reference build that has been used to compute the delta
+     *
+     * @return the cached delta, or an empty result if no such delta has been computed yet
+     */
+    public synchronized Optional<Delta> get(final DeltaCalculator calculator, final String scmKeyFilter,
+            final Run<?, ?> referenceBuild) {
+        return createKey(calculator, scmKeyFilter, referenceBuild)
+                .flatMap(this::get)
+                .map(delta -> attach(delta, calculator.getContentProvider(owner)));
+    }
+
+    private Delta attach(final Delta delta, final FileContentProvider contentProvider) {
+        for (FileChanges fileChanges : delta.getFileChangesMap().values()) {
+            if (fileChanges.getContentReference().isPresent()) {
+                fileChanges.setContentProvider(contentProvider);
+            }
+        }
+        return delta;
+    }
+
+    private Optional<Delta> get(final String key) {
+        var reference = deltas.get(key);
+        if (reference != null) {
+            var delta = reference.get();
+            if (delta != null) {
+                return Optional.of(delta);
+            }
+        }
+
+        var file = getPath(key);
+        if (file == null || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (var input = BinaryFiles.openInput(file)) {
+            var delta = new DeltaCodec().read(input);
+            deltas.put(key, new SoftReference<>(delta));
+            return Optional.of(delta);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, exception, () -> "Discarding unreadable delta " + file);
+            remove(key, file);
+            return Optional.empty();
+        }
+    }
+
+    private void remove(final String key, final Path file) {
+        fileNames.remove(key);
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, exception, () -> "Failed to delete " + file);
+        }
+        if (!owner.isBuilding()) {
+            save();
+        }
+    }
+
+    /**
+     * Stores the delta between the owner of this cache and the specified reference build.
+     *
+     * @param calculator
+     *         the calculator that has been used to compute the delta
+     * @param scmKeyFilter
+     *         the SCM key filter that has been used to compute the delta
+     * @param referenceBuild
+     *         the reference build that has been used to compute the delta
+     * @param delta
+     *         the delta to store
+     */
+    public synchronized void put(final DeltaCalculator calculator, final String scmKeyFilter,
+            final Run<?, ?> referenceBuild, final Delta delta) {
+        var possibleKey = createKey(calculator, scmKeyFilter, referenceBuild);
+        if (possibleKey.isEmpty()) {
+            return;
+        }
+        var key = possibleKey.get();
+        deltas.put(key, new SoftReference<>(delta));
+
+        var fileName = fileNames.computeIfAbsent(key, k -> createFileName());
+        var file = owner.getRootDir().toPath().resolve(fileName);
+        try {
+            BinaryFiles.write(file, output -> new DeltaCodec().write(delta, output));
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, exception, () -> "Failed to write delta " + file);
+            fileNames.remove(key);
+        }
+        if (!owner.isBuilding()) {
+            save();
+        }
+    }
+
+    private String createFileName() {
+        for (int index = fileNames.size(); ; index++) {
+            var fileName = FILE_NAME_PATTERN.formatted(index);
+            if (!fileNames.containsValue(fileName)) {
+                return fileName;
+            }
+        }
+    }
+
+    private void save() {
+        try {
+            owner.save();
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Failed to save " + owner, exception);
+        }
+    }
+
+    @CheckForNull
+    private Path getPath(final String key) {
+        var fileName = fileNames.get(key);
+        if (fileName == null || owner == null) {
+            return null;
+        }
+        return owner.getRootDir().toPath().resolve(fileName);
+    }
+
+    private Optional<String> createKey(final DeltaCalculator calculator, final String scmKeyFilter,
+            final Run<?, ?> referenceBuild) {
+        if (owner == null) {
+            return Optional.empty();
+        }
+        var revision = calculator.getRevision(owner, scmKeyFilter);
+        var referenceRevision = calculator.getRevision(referenceBuild, scmKeyFilter);
+        if (revision.isEmpty() || referenceRevision.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(String.join("|", calculator.getClass().getName(), scmKeyFilter,
+                revision.get(), referenceRevision.get()));
+    }
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+}
@@ -20,7 +20,11 @@ public abstract class DeltaCalculator implements Serializable {
     private static final long serialVersionUID = 8641535877389921937L;
 
     /**
-     * Calculates the {@link Delta} between two passed Jenkins builds.
+     * Calculates the {@link Delta} between two passed Jenkins builds. If the calculator provides the revisions of both
+     * builds (see {@link #getRevision(Run, String)}), then the computed delta is stored in the {@link DeltaCache} of the
+     * build: if the delta between the same revisions has already been calculated by the same type of calculator (e.g.,
+     * for another plugin that runs in the same build), then the stored delta is returned instead of computing the delta
+     * again.
      *
      * @param build
      *         the currently processed build
@@ -31,9 +35,59 @@ public abstract class DeltaCalculator implements Serializable {
      *
      * @return the delta if it could be calculated
      */
+    @SuppressWarnings("deprecation")
     public Optional<Delta> calculateDelta(final Run<?, ?> build, final Run<?, ?> referenceBuild,
             final FilteredLog logger) {
-        return calculateDelta(build, referenceBuild, StringUtils.EMPTY, logger);
+        if (getRevision(build, StringUtils.EMPTY).isEmpty()
+                || getRevision(referenceBuild, StringUtils.EMPTY).isEmpty()) {
+            return calculateDelta(build, referenceBuild, StringUtils.EMPTY, logger);
+        }
+
+        var cached = Optional.ofNullable(build.getAction(DeltaCache.class))
+                .flatMap(cache -> cache.get(this, StringUtils.EMPTY, referenceBuild));
+        if (cached.isPresent()) {
+            logger.logInfo("-> Reusing the delta to reference build '%s'", referenceBuild.getFullDisplayName());
+
+            return cached;
+        }
+
+        var delta = calculateDelta(build, referenceBuild, StringUtils.EMPTY, logger);
+        delta.ifPresent(computed -> DeltaCache.getOrCreate(build).put(this, StringUtils.EMPTY, referenceBuild, computed));
+        return delta;
+    }
+
+    /**
+     * Returns the revision of the specified build in the repository of this calculator, e.g. the ID of the commit that
+     * has been built. The revisions of the build and the reference build are part of the key of a delta in the {@link
+     * DeltaCache}. Since a build may check out several repositories, the revision must identify the repository as well:
+     * otherwise the delta of one repository would be reused for another repository. Calculators that can resolve the
+     * commits of a build should override this method: the default implementation returns an empty result so that the
+     * delta is not cached at all.
+     *
+     * @param build
+     *         the build to get the revision for
+     * @param scmKeyFilter
+     *         the SCM key filter
+     *
+     * @return the revision of the build, or an empty result if the revision cannot be resolved
+     */
+    protected Optional<String> getRevision(final Run<?, ?> build, final String scmKeyFilter) {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the provider that loads the content of changed files on demand. This provider is attached to the
+     * {@link FileChanges} of a delta that has been restored from the {@link DeltaCache}, since the providers are not
+     * persisted. Calculators that create {@link FileChanges} with a {@link FileContentReference} should override this
+     * method: the default implementation cannot load any content.
+     *
+     * @param build
+     *         the currently processed build
+     *
+     * @return the content provider
+     */
+    protected FileContentProvider getContentProvider(final Run<?, ?> build) {
+        return reference -> Optional.empty();
     }
 
     /**
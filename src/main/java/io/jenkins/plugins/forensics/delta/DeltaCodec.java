@@ -0,0 +1,213 @@
+package io.jenkins.plugins.forensics.delta;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes and decodes a {@link Delta} using a compact and versioned binary format. The format starts with a magic
+ * number and the format version, followed by the compressed content of the delta: the commits, and for each changed
+ * file the file names, the edit type, the content (or the reference to the content), and the changes. Integers are
+ * stored as variable length integers.
+ *
+ * <p>
+ * Reading a truncated or otherwise corrupt input fails with an {@link IOException}, so callers can distinguish a
+ * corrupt input from a delta without changes.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class DeltaCodec {
+    /** Magic number that identifies the binary format ("FRND"). */
+    static final int MAGIC = 0x46524E44;
+    /** The current version of the binary format. */
+    static final int VERSION = 1;
+
+    private static final int EAGER_CONTENT = 0;
+    private static final int CONTENT_REFERENCE = 1;
+
+    /**
+     * Writes the specified delta to the specified output.
+     *
+     * @param delta
+     *         the delta to write
+     * @param stream
+     *         the stream to write to
+     *
+     * @throws IOException
+     *         if the delta could not be written
+     */
+    void write(final Delta delta, final OutputStream stream) throws IOException {
+        var header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.flush();
+
+        var compressed = new GZIPOutputStream(stream);
+        var output = new DataOutputStream(compressed);
+        writeString(output, delta.getCurrentCommit());
+        writeString(output, delta.getReferenceCommit());
+
+        var files = delta.getFileChangesMap();
+        writeVarInt(output, files.size());
+        for (Map.Entry<String, FileChanges> entry : files.entrySet()) {
+            writeString(output, entry.getKey());
+            writeFileChanges(output, entry.getValue());
+        }
+        output.flush();
+        compressed.finish();
+    }
+
+    private void writeFileChanges(final DataOutput output, final FileChanges fileChanges) throws IOException {
+        writeString(output, fileChanges.getFileName());
+        writeString(output, fileChanges.getOldFileName());
+        output.writeByte(fileChanges.getFileEditType().ordinal());
+
+        var reference = fileChanges.getContentReference();
+        if (reference.isPresent()) {
+            output.writeByte(CONTENT_REFERENCE);
+            writeString(output, reference.get().getPath());
+            writeString(output, reference.get().getBlobId());
+            writeVarInt(output, reference.get().getLength());
+            writeString(output, reference.get().getHash());
+        }
+        else {
+            output.writeByte(EAGER_CONTENT);
+            writeString(output, fileChanges.getFileContent());
+        }
+
+        var changes = fileChanges.getChanges().values();
+        writeVarInt(output, changes.stream().mapToInt(Set::size).sum());
+        for (Set<Change> changesOfType : changes) {
+            for (Change change : changesOfType) {
+                output.writeByte(change.getEditType().ordinal());
+                writeVarInt(output, change.getChangedFromLine());
+                writeVarInt(output, change.getChangedToLine());
+                writeVarInt(output, change.getFromLine());
+                writeVarInt(output, change.getToLine());
+            }
+        }
+    }
+
+    /**
+     * Reads a delta from the specified input.
+     *
+     * @param stream
+     *         the stream to read from
+     *
+     * @return the delta
+     * @throws IOException
+     *         if the input does not contain a valid delta
+     */
+    Delta read(final InputStream stream) throws IOException {
+        var header = new DataInputStream(stream);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Input does not contain a binary delta");
+        }
+        int version = header.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of binary delta: " + version);
+        }
+
+        var input = new DataInputStream(new GZIPInputStream(stream));
+        var currentCommit = readString(input);
+        var referenceCommit = readString(input);
+
+        int size = readVarInt(input);
+        Map<String, FileChanges> files = new HashMap<>();
+        for (int file = 0; file < size; file++) {
+            var fileId = readString(input);
+            files.put(fileId, readFileChanges(input));
+        }
+        if (input.read() != -1) {
+            throw new IOException("Unexpected data after the end of the binary delta");
+        }
+        return new Delta(currentCommit, referenceCommit, files);
+    }
+
+    private FileChanges readFileChanges(final DataInputStream input) throws IOException {
+        var fileName = readString(input);
+        var oldFileName = readString(input);
+        var fileEditType = readEnum(input, FileEditType.values());
+
+        FileChanges fileChanges;
+        int contentType = input.readUnsignedByte();
+        if (contentType == CONTENT_REFERENCE) {
+            var reference = new FileContentReference(readString(input), readString(input), readVarInt(input),
+                    readString(input));
+            fileChanges = new FileChanges(fileName, oldFileName, reference, null, fileEditType, Map.of());
+        }
+        else if (contentType == EAGER_CONTENT) {
+            fileChanges = new FileChanges(fileName, oldFileName, readString(input), fileEditType, Map.of());
+        }
+        else {
+            throw new IOException("Unknown type of file content: " + contentType);
+        }
+
+        int count = readVarInt(input);
+        for (int change = 0; change < count; change++) {
+            fileChanges.addChange(new Change(readEnum(input, ChangeEditType.values()),
+                    readVarInt(input), readVarInt(input), readVarInt(input), readVarInt(input)));
+        }
+        return fileChanges;
+    }
+
+    private <T extends Enum<T>> T readEnum(final DataInput input, final T[] values) throws IOException {
+        int ordinal = input.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("Unknown value %d of %s".formatted(ordinal,
+                    values.getClass().getComponentType().getSimpleName()));
+        }
+        return values[ordinal];
+    }
+
+    private void writeString(final DataOutput output, final String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private String readString(final DataInputStream input) throws IOException {
+        int length = readVarInt(input);
+        if (length < 0) {
+            throw new IOException("Malformed length of string: " + length);
+        }
+        var bytes = input.readNBytes(length); // does not allocate the whole length upfront for corrupt input
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of binary delta");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeVarInt(final DataOutput output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private int readVarInt(final DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
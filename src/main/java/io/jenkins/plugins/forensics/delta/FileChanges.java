@@ -1,13 +1,28 @@
 package io.jenkins.plugins.forensics.delta;
 
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -19,11 +34,17 @@ import java.util.stream.Stream;
 public class FileChanges implements Serializable {
     @Serial
     private static final long serialVersionUID = 6135245877389921937L;
+    private static final Logger LOGGER = Logger.getLogger(FileChanges.class.getName());
 
     private final String fileName;
     private final String oldFileName;
 
+    @CheckForNull
     private final String fileContent;
+    @CheckForNull
+    private final FileContentReference contentReference; // since 4.0.0
+    @CheckForNull
+    private transient FileContentProvider contentProvider;
 
     /**
      * The {@link FileEditType} describing how the file has been affected.
@@ -36,6 +57,23 @@ public class FileChanges implements Serializable {
     @SuppressWarnings("PMD.LooseCoupling")
     private final EnumMap<ChangeEditType, Set<Change>> changes;
 
+    /**
+     * The sorted and merged ranges of the modified lines: the start and end line (inclusive) of each range are stored
+     * consecutively. The ranges are computed on demand and reset if a change is added.
+     */
+    @CheckForNull
+    private transient int[] modifiedLineRanges;
+
+    /**
+     * Unmodifiable views of the sets of changes, created on first use of {@link #getChanges()} and updated if changes
+     * of a new type are added.
+     */
+    @CheckForNull
+    @SuppressWarnings("PMD.LooseCoupling")
+    private transient EnumMap<ChangeEditType, Set<Change>> unmodifiableChanges;
+    @CheckForNull
+    private transient Map<ChangeEditType, Set<Change>> changesView;
+
     /**
      * Wraps all changes made to a specific file.
      *
@@ -55,6 +93,38 @@ public class FileChanges implements Serializable {
         this.fileName = fileName;
         this.oldFileName = oldFileName;
         this.fileContent = fileContent;
+        this.contentReference = null;
+        this.fileEditType = fileEditType;
+        this.changes = createMap(changes);
+    }
+
+    /**
+     * Wraps all changes made to a specific file. In contrast to {@link #FileChanges(String, String, String,
+     * FileEditType, Map)} the content of the file is not stored in this instance: it is loaded on demand using the
+     * specified provider.
+     *
+     * @param fileName
+     *         The name of the file
+     * @param oldFileName
+     *         The old file name before the edit
+     * @param contentReference
+     *         The reference to the content of the file
+     * @param contentProvider
+     *         The provider that loads the content of the file on demand, or {@code null} if the provider will be
+     *         attached later using {@link #setContentProvider(FileContentProvider)}
+     * @param fileEditType
+     *         The change type how the file has been affected
+     * @param changes
+     *         The changes made to the file
+     */
+    public FileChanges(final String fileName, final String oldFileName, final FileContentReference contentReference,
+            @CheckForNull final FileContentProvider contentProvider, final FileEditType fileEditType,
+            final Map<ChangeEditType, Set<Change>> changes) {
+        this.fileName = fileName;
+        this.oldFileName = oldFileName;
+        this.fileContent = null;
+        this.contentReference = contentReference;
+        this.contentProvider = contentProvider;
         this.fileEditType = fileEditType;
         this.changes = createMap(changes);
     }
@@ -75,16 +145,84 @@ public class FileChanges implements Serializable {
         return oldFileName;
     }
 
+    /**
+     * Returns the content of the file. If this instance does not store the content itself, then the content is loaded
+     * using the content provider. The provider is responsible for verifying the loaded content, see {@link
+     * FileContentCache}.
+     *
+     * @return the content of the file, or an empty string if the content is not available (e.g., if no provider has
+     *         been attached after deserialization, or if the provider cannot load the content)
+     */
     public String getFileContent() {
-        return fileContent;
+        if (fileContent != null) {
+            return fileContent;
+        }
+        if (contentReference == null) {
+            return StringUtils.EMPTY;
+        }
+        if (contentProvider == null) {
+            LOGGER.log(Level.WARNING, () -> "No content provider attached to load the content of " + contentReference);
+            return StringUtils.EMPTY;
+        }
+        var content = contentProvider.getContent(contentReference);
+        if (content.isEmpty()) {
+            LOGGER.log(Level.WARNING, () -> "Content of %s is not available".formatted(contentReference));
+            return StringUtils.EMPTY;
+        }
+        return content.get();
+    }
+
+    /**
+     * Returns the reference to the content of the file, if the content is loaded on demand.
+     *
+     * @return the reference to the content, or an empty result if the content is stored in this instance
+     */
+    public Optional<FileContentReference> getContentReference() {
+        return Optional.ofNullable(contentReference);
+    }
+
+    /**
+     * Sets the provider that loads the content of the file on demand. Since the provider is not serialized, it needs
+     * to be set again after an instance has been deserialized.
+     *
+     * @param contentProvider
+     *         the provider that loads the content
+     */
+    public void setContentProvider(final FileContentProvider contentProvider) {
+        this.contentProvider = contentProvider;
     }
 
     public FileEditType getFileEditType() {
         return fileEditType;
     }
 
+    /**
+     * Returns the changes made to the file, mapped by the {@link ChangeEditType}. The returned map and its sets are
+     * unmodifiable live views, use {@link #addChange(Change)} to add changes. Callers that only iterate over all
+     * changes should use {@link #forEachChange(Consumer)} instead.
+     *
+     * @return the changes made to the file
+     */
     public Map<ChangeEditType, Set<Change>> getChanges() {
-        return createMap(changes);
+        if (changesView == null) {
+            var views = new EnumMap<ChangeEditType, Set<Change>>(ChangeEditType.class);
+            changes.forEach((type, changesOfType) -> views.put(type, Collections.unmodifiableSet(changesOfType)));
+            unmodifiableChanges = views;
+            changesView = Collections.unmodifiableMap(views);
+        }
+        return changesView;
+    }
+
+    /**
+     * Performs the specified action for each change made to the file.
+     *
+     * @param action
+     *         the action to be performed for each change
+     */
+    public void forEachChange(final Consumer<Change> action) {
+        for (Set<Change> changesOfType : changes.values()) {
+            changesOfType.forEach(action);
+        }
     }
 
     /**
@@ -93,13 +231,10 @@ public class FileChanges implements Serializable {
      * @param changeEditType
      *         The edit type
      *
-     * @return the information about changes of the specified type
+     * @return the information about changes of the specified type (as unmodifiable view)
      */
     public Set<Change> getChangesByType(final ChangeEditType changeEditType) {
-        if (changes.containsKey(changeEditType)) {
-            return changes.get(changeEditType);
-        }
-        return new HashSet<>();
+        return Collections.unmodifiableSet(changes.getOrDefault(changeEditType, Set.of()));
     }
 
     /**
@@ -114,32 +249,136 @@ public class FileChanges implements Serializable {
             changes.get(changeEditType).add(change);
         }
         else {
-            changes.put(change.getEditType(), Stream.of(change).collect(Collectors.toSet()));
+            Set<Change> changesOfType = Stream.of(change).collect(Collectors.toSet());
+            changes.put(changeEditType, changesOfType);
+            if (unmodifiableChanges != null) {
+                unmodifiableChanges.put(changeEditType, Collections.unmodifiableSet(changesOfType));
+            }
         }
+        modifiedLineRanges = null;
     }
 
     /**
-     * Returns all modified lines in this changed file.
+     * Returns all modified lines in this changed file. The returned set is an unmodifiable view that is backed by the
+     * ranges of the modified lines, so it does not contain an element per line. Use {@link #isLineModified(int)} or
+     * {@link #countModifiedLines()} to query the modified lines directly.
      *
      * @return the modified line
      */
     public Set<Integer> getModifiedLines() {
-        return changes.values().stream()
-                .flatMap(Collection::stream)
-                .map(this::getModifiedLinesForChange)
+        return new ModifiedLinesView(getModifiedLineRanges());
+    }
+
+    /**
+     * Returns whether the specified line has been modified, i.e. whether the line is part of an inserted or replaced
+     * block of lines.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line has been modified, {@code false} otherwise
+     */
+    public boolean isLineModified(final int line) {
+        return isLineModified(getModifiedLineRanges(), line);
+    }
+
+    /**
+     * Returns whether at least one of the lines in the specified range has been modified.
+     *
+     * @param fromLine
+     *         the first line of the range (inclusive)
+     * @param toLine
+     *         the last line of the range (inclusive)
+     *
+     * @return {@code true} if a line of the range has been modified, {@code false} otherwise
+     */
+    public boolean isRangeModified(final int fromLine, final int toLine) {
+        var ranges = getModifiedLineRanges();
+        int range = findRange(ranges, fromLine);
+        if (range >= 0 && ranges[2 * range + 1] >= fromLine) {
+            return true;
+        }
+        int next = range + 1;
+        return 2 * next < ranges.length && ranges[2 * next] <= toLine;
+    }
+
+    /**
+     * Returns the number of modified lines, i.e. the number of lines that are part of an inserted or replaced block of
+     * lines.
+     *
+     * @return the number of modified lines
+     */
+    public int countModifiedLines() {
+        return countModifiedLines(getModifiedLineRanges());
+    }
+
+    private int[] getModifiedLineRanges() {
+        var ranges = modifiedLineRanges;
+        if (ranges == null) {
+            ranges = computeModifiedLineRanges();
+            modifiedLineRanges = ranges;
+        }
+        return ranges;
+    }
+
+    private int[] computeModifiedLineRanges() {
+        int[][] intervals = changes.values().stream()
                 .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
+                .filter(change -> change.getEditType() == ChangeEditType.INSERT
+                        || change.getEditType() == ChangeEditType.REPLACE)
+                .filter(change -> change.getFromLine() <= change.getToLine())
+                .map(change -> new int[] {change.getFromLine(), change.getToLine()})
+                .sorted(Comparator.comparingInt(interval -> interval[0]))
+                .toArray(int[][]::new);
+
+        var ranges = new int[2 * intervals.length];
+        int count = 0;
+        for (int[] interval : intervals) {
+            if (count > 0 && interval[0] <= ranges[2 * count - 1] + 1) {
+                ranges[2 * count - 1] = Math.max(ranges[2 * count - 1], interval[1]);
+            }
+            else {
+                ranges[2 * count] = interval[0];
+                ranges[2 * count + 1] = interval[1];
+                count++;
+            }
+        }
+        return Arrays.copyOf(ranges, 2 * count);
     }
 
-    private Set<Integer> getModifiedLinesForChange(final Change filter) {
-        if (filter.getEditType() == ChangeEditType.INSERT || filter.getEditType() == ChangeEditType.REPLACE) {
-            var lines = new HashSet<Integer>();
-            for (int line = filter.getFromLine(); line <= filter.getToLine(); line++) {
-                lines.add(line);
+    /**
+     * Returns the index of the last range that starts at or before the specified line.
+     *
+     * @return the index of the range, or -1 if all ranges start after the line
+     */
+    private static int findRange(final int[] ranges, final int line) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (ranges[2 * middle] <= line) {
+                found = middle;
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
             }
-            return lines;
         }
-        return Set.of();
+        return found;
+    }
+
+    private static boolean isLineModified(final int[] ranges, final int line) {
+        int range = findRange(ranges, line);
+        return range >= 0 && ranges[2 * range + 1] >= line;
+    }
+
+    private static int countModifiedLines(final int[] ranges) {
+        int count = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            count += ranges[i + 1] - ranges[i] + 1;
+        }
+        return count;
     }
 
     @Override
@@ -154,12 +393,66 @@ public class FileChanges implements Serializable {
         return Objects.equals(fileName, that.fileName)
                 && Objects.equals(oldFileName, that.oldFileName)
                 && Objects.equals(fileContent, that.fileContent)
+                && Objects.equals(contentReference, that.contentReference)
                 && fileEditType == that.fileEditType
                 && Objects.equals(changes, that.changes);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fileName, oldFileName, fileContent, fileEditType, changes);
+        return Objects.hash(fileName, oldFileName, fileContent, contentReference, fileEditType, changes);
+    }
+
+    /**
+     * An unmodifiable view of the modified lines that is backed by the ranges of modified lines.
+     */
+    private static class ModifiedLinesView extends AbstractSet<Integer> {
+        private final int[] ranges;
+
+        ModifiedLinesView(final int[] ranges) {
+            this.ranges = ranges;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof Integer line && isLineModified(ranges, line);
+        }
+
+        @Override
+        public int size() {
+            return countModifiedLines(ranges);
+        }
+
+        @Override
+        @NonNull
+        public Iterator<Integer> iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int range;
+                private int line = ranges.length > 0 ? ranges[0] : 0;
+
+                @Override
+                public boolean hasNext() {
+                    return 2 * range < ranges.length;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int current = line;
+                    if (line == ranges[2 * range + 1]) {
+                        range++;
+                        if (hasNext()) {
+                            line = ranges[2 * range];
+                        }
+                    }
+                    else {
+                        line++;
+                    }
+                    return current;
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,128 @@
+package io.jenkins.plugins.forensics.delta;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link FileContentProvider} that caches the content that has been loaded by another provider. The cache is bounded
+ * by the total number of cached characters: if the bound is exceeded, then the least recently used content will be
+ * evicted. Content that is loaded by the other provider is verified once using the length and the hash of the
+ * {@link FileContentReference reference}: content that does not match the reference is neither cached nor returned.
+ *
+ * @author Ullrich Hafner
+ */
+public class FileContentCache implements FileContentProvider {
+    private static final Logger LOGGER = Logger.getLogger(FileContentCache.class.getName());
+
+    private final FileContentProvider delegate;
+    private final long maximumCharacters;
+
+    @SuppressWarnings("PMD.LooseCoupling")
+    private final LinkedHashMap<FileContentReference, String> contents = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCharacters;
+    private int hits;
+    private int misses;
+
+    /**
+     * Creates a new instance of {@link FileContentCache}.
+     *
+     * @param delegate
+     *         the provider that loads the content of files that are not cached yet
+     * @param maximumCharacters
+     *         the maximum number of characters that will be cached
+     */
+    public FileContentCache(final FileContentProvider delegate, final long maximumCharacters) {
+        this.delegate = delegate;
+        this.maximumCharacters = maximumCharacters;
+    }
+
+    /**
+     * Returns the content of the referenced file. The lock of this cache is held only while looking up and inserting
+     * the content: loading and verifying the content of a missing file is done without holding the lock, so that
+     * concurrent requests for other files are not blocked by a slow provider. If several threads request the same
+     * missing file concurrently, then each of them loads the content.
+     *
+     * @param reference
+     *         the reference to the file
+     *
+     * @return the content of the file, or an empty optional if the content could not be loaded
+     */
+    @Override
+    public Optional<String> getContent(final FileContentReference reference) {
+        var cached = lookup(reference);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        var content = delegate.getContent(reference).filter(value -> verify(reference, value));
+        content.ifPresent(value -> put(reference, value));
+        return content;
+    }
+
+    private synchronized Optional<String> lookup(final FileContentReference reference) {
+        var cached = contents.get(reference);
+        if (cached == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(cached);
+    }
+
+    private boolean verify(final FileContentReference reference, final String content) {
+        if (reference.matches(content)) {
+            return true;
+        }
+        LOGGER.log(Level.WARNING,
+                () -> "Loaded content of %s does not match the length or hash of the reference".formatted(reference));
+        return false;
+    }
+
+    private synchronized void put(final FileContentReference reference, final String content) {
+        if (content.length() > maximumCharacters) {
+            return; // would evict everything else
+        }
+        var previous = contents.put(reference, content);
+        if (previous != null) {
+            cachedCharacters -= previous.length(); // has been loaded concurrently by another thread
+        }
+        cachedCharacters += content.length();
+
+        Iterator<Map.Entry<FileContentReference, String>> eldest = contents.entrySet().iterator();
+        while (cachedCharacters > maximumCharacters && eldest.hasNext()) {
+            cachedCharacters -= eldest.next().getValue().length();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Returns the number of characters that are currently cached.
+     *
+     * @return the number of cached characters
+     */
+    public synchronized long getCachedCharacters() {
+        return cachedCharacters;
+    }
+
+    /**
+     * Returns the number of requests that have been answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of requests that required to load the content using the wrapped provider.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized int getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.forensics.delta;
+
+import java.util.Optional;
+
+/**
+ * Loads the content of a file on demand. Providers are used by {@link FileChanges} instances that do not hold the
+ * content of the changed file but only a {@link FileContentReference}.
+ *
+ * @author Ullrich Hafner
+ * @see FileContentCache
+ */
+@FunctionalInterface
+public interface FileContentProvider {
+    /**
+     * Loads the content of the referenced file.
+     *
+     * @param reference
+     *         the reference to the content
+     *
+     * @return the content of the file, or an empty result if the content is not available
+     */
+    Optional<String> getContent(FileContentReference reference);
+}
@@ -0,0 +1,135 @@
+package io.jenkins.plugins.forensics.delta;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * References the content of a file in a specific revision without holding the content itself. The content is
+ * identified by the path of the file and the ID of the content in the SCM (e.g. the Git blob ID). Additionally, the
+ * length and a hash of the content are stored, so that loaded content can be verified.
+ *
+ * @author Ullrich Hafner
+ * @see FileContentProvider
+ */
+public final class FileContentReference implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L; // since 4.0.0
+
+    private final String path;
+    private final String blobId;
+    private final int length;
+    private final String hash;
+
+    /**
+     * Creates a new reference to the content of a file.
+     *
+     * @param path
+     *         the path of the file
+     * @param blobId
+     *         the ID of the content in the SCM
+     * @param length
+     *         the length of the content (number of characters)
+     * @param hash
+     *         the hash of the content, see {@link #computeHash(String)}
+     */
+    public FileContentReference(final String path, final String blobId, final int length, final String hash) {
+        this.path = path;
+        this.blobId = blobId;
+        this.length = length;
+        this.hash = hash;
+    }
+
+    /**
+     * Creates a new reference to the specified content of a file. The length and the hash will be computed from the
+     * content.
+     *
+     * @param path
+     *         the path of the file
+     * @param blobId
+     *         the ID of the content in the SCM
+     * @param content
+     *         the content of the file
+     *
+     * @return the reference to the content
+     */
+    public static FileContentReference of(final String path, final String blobId, final String content) {
+        return new FileContentReference(path, blobId, content.length(), computeHash(content));
+    }
+
+    /**
+     * Computes the hash of the specified content, i.e. the hex encoded SHA-256 hash of the UTF-8 bytes.
+     *
+     * @param content
+     *         the content
+     *
+     * @return the hash of the content
+     */
+    public static String computeHash(final String content) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", exception);
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getBlobId() {
+        return blobId;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns whether the specified content matches this reference, i.e. whether the length and the hash are
+     * identical.
+     *
+     * @param content
+     *         the content to verify
+     *
+     * @return {@code true} if the content matches this reference, {@code false} otherwise
+     */
+    public boolean matches(final String content) {
+        return content.length() == length && computeHash(content).equals(hash);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (FileContentReference) o;
+        return length == that.length
+                && Objects.equals(path, that.path)
+                && Objects.equals(blobId, that.blobId)
+                && Objects.equals(hash, that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, blobId, length, hash);
+    }
+
+    @Override
+    public String toString() {
+        return "%s@%s".formatted(path, blobId);
+    }
+}
@@ -17,9 +17,13 @@ class CodeMetricSeriesBuilder extends SeriesBuilder<ForensicsBuildAction> {
 
     @Override
     protected Map<String, Integer> computeSeries(final ForensicsBuildAction current) {
+        return computeCodeMetricSeries(current.getTotalLinesOfCode(), current.getTotalChurn());
+    }
+
+    static Map<String, Integer> computeCodeMetricSeries(final int totalLinesOfCode, final int totalChurn) {
         Map<String, Integer> series = new HashMap<>();
-        series.put(LOC_KEY, current.getTotalLinesOfCode());
-        series.put(CHURN_KEY, current.getTotalChurn());
+        series.put(LOC_KEY, totalLinesOfCode);
+        series.put(CHURN_KEY, totalChurn);
 
         return series;
     }
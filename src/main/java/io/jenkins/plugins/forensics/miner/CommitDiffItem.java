@@ -8,6 +8,8 @@ import java.io.Serializable;
 import java.util.Objects;
 import java.util.StringJoiner;
 
+import io.jenkins.plugins.forensics.util.StringDictionary;
+
 /**
  * Represents all changes related to a specific file in a given SCM commit (diff). For each commit the number of added
  * and deleted lines will be recorded. Since a commit consists of a list of differences the number of added or deleted
@@ -45,21 +47,22 @@ public class CommitDiffItem implements Serializable {
      *         namely January 1, 1970, 00:00:00 GMT)
      */
     public CommitDiffItem(final String id, final String author, final int time) {
-        this.id = id.intern();
-        this.author = author.intern();
+        this.id = id;
+        this.author = author;
         this.time = time;
     }
 
     /**
-     * Called after deserialization to improve the memory usage.
+     * Replaces the commit ID and the author of this commit with the instances that are stored in the specified
+     * dictionary. The dictionary is shared by all commits of the same repository, so the strings of the commits are
+     * stored only once.
      *
-     * @return this
+     * @param dictionary
+     *         the dictionary of the repository
      */
-    protected Object readResolve() {
-        id = id.intern();
-        author = author.intern();
-
-        return this;
+    void intern(final StringDictionary dictionary) {
+        id = dictionary.intern(id);
+        author = dictionary.intern(author);
     }
 
     /**
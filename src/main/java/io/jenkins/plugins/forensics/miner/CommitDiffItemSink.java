@@ -0,0 +1,22 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.util.List;
+
+/**
+ * Consumes the {@link CommitDiffItem commits} of a repository in batches while they are produced by a {@link
+ * RepositoryMiner}. Since each batch is inspected immediately, a miner does not need to hold the complete history of a
+ * repository in memory.
+ *
+ * @author Ullrich Hafner
+ * @see RepositoryStatistics#openSink()
+ */
+@FunctionalInterface
+public interface CommitDiffItemSink {
+    /**
+     * Consumes the next batch of commits. The batches must be provided in the order of the commits.
+     *
+     * @param commits
+     *         the next batch of commits
+     */
+    void accept(List<CommitDiffItem> commits);
+}
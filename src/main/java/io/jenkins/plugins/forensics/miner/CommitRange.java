@@ -0,0 +1,75 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A contiguous range of the history of a repository. The range contains all commits after the first commit (exclusive)
+ * up to the last commit (inclusive). If the first commit is empty, then the range starts with the initial commit of
+ * the repository.
+ *
+ * @author Ullrich Hafner
+ */
+public final class CommitRange implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String previousCommitId;
+    private final String lastCommitId;
+
+    /**
+     * Creates a new instance of {@link CommitRange}.
+     *
+     * @param previousCommitId
+     *         the ID of the commit before the first commit of the range, or an empty string if the range starts with
+     *         the initial commit
+     * @param lastCommitId
+     *         the ID of the last commit of the range
+     */
+    public CommitRange(final String previousCommitId, final String lastCommitId) {
+        this.previousCommitId = previousCommitId;
+        this.lastCommitId = lastCommitId;
+    }
+
+    public String getPreviousCommitId() {
+        return previousCommitId;
+    }
+
+    public String getLastCommitId() {
+        return lastCommitId;
+    }
+
+    /**
+     * Returns whether this range starts with the initial commit of the repository.
+     *
+     * @return {@code true} if this range starts with the initial commit, {@code false} otherwise
+     */
+    public boolean startsWithInitialCommit() {
+        return StringUtils.isEmpty(previousCommitId);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (CommitRange) o;
+        return previousCommitId.equals(that.previousCommitId) && lastCommitId.equals(that.lastCommitId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(previousCommitId, lastCommitId);
+    }
+
+    @Override
+    public String toString() {
+        return "(%s..%s]".formatted(previousCommitId, lastCommitId);
+    }
+}
@@ -54,6 +54,29 @@ public class CommitStatistics implements Serializable {
         this(Collections.emptyList());
     }
 
+    /**
+     * Creates a new instance of {@link CommitStatistics} with the specified values.
+     *
+     * @param addedLines
+     *         number of added lines
+     * @param deletedLines
+     *         number of deleted lines
+     * @param authorCount
+     *         number of distinct authors
+     * @param commitCount
+     *         number of distinct commits
+     * @param filesCount
+     *         number of distinct files
+     */
+    CommitStatistics(final int addedLines, final int deletedLines, final int authorCount, final int commitCount,
+            final int filesCount) {
+        this.addedLines = addedLines;
+        this.deletedLines = deletedLines;
+        this.authorCount = authorCount;
+        this.commitCount = commitCount;
+        this.filesCount = filesCount;
+    }
+
     /**
      * Creates a partially filled {@link CommitStatistics} instance.
      *
@@ -0,0 +1,71 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Aggregates the statistics of commits incrementally. In contrast to {@link CommitStatistics#CommitStatistics(Collection)},
+ * adding a commit takes constant time, since all sums and the sets of distinct authors, commits, and files are
+ * updated in place. The results of both approaches are identical.
+ *
+ * @author Ullrich Hafner
+ */
+final class CommitStatisticsAggregator {
+    private int addedLines;
+    private int deletedLines;
+    private final Set<String> authors = new HashSet<>();
+    private final Set<String> commits = new HashSet<>();
+    private final Set<String> files = new HashSet<>();
+
+    /**
+     * Creates a new aggregator that already contains the specified commits.
+     *
+     * @param commits
+     *         the commits to aggregate
+     */
+    CommitStatisticsAggregator(final Collection<? extends CommitDiffItem> commits) {
+        commits.forEach(this::add);
+    }
+
+    /**
+     * Adds the specified commit to the aggregated statistics.
+     *
+     * @param commit
+     *         the commit to add
+     */
+    void add(final CommitDiffItem commit) {
+        addedLines += commit.getTotalAddedLines();
+        deletedLines += commit.getTotalDeletedLines();
+        authors.add(commit.getAuthor().toLowerCase(Locale.ENGLISH));
+        commits.add(commit.getId().toLowerCase(Locale.ENGLISH));
+        var newPath = commit.getNewPath();
+        if (!CommitDiffItem.NO_FILE_NAME.equals(newPath)) {
+            files.add(newPath);
+        }
+    }
+
+    /**
+     * Adds all commits of the specified aggregator to the aggregated statistics.
+     *
+     * @param other
+     *         the aggregator with the commits to add
+     */
+    void addAll(final CommitStatisticsAggregator other) {
+        addedLines += other.addedLines;
+        deletedLines += other.deletedLines;
+        authors.addAll(other.authors);
+        commits.addAll(other.commits);
+        files.addAll(other.files);
+    }
+
+    /**
+     * Returns the statistics of all commits added so far.
+     *
+     * @return the aggregated statistics
+     */
+    CommitStatistics getStatistics() {
+        return new CommitStatistics(addedLines, deletedLines, authors.size(), commits.size(), files.size());
+    }
+}
@@ -23,6 +23,7 @@ import hudson.model.Job;
 import hudson.model.Run;
 
 import io.jenkins.plugins.echarts.AsyncConfigurableTrendChart;
+import io.jenkins.plugins.forensics.miner.ForensicsSummary.Kind;
 
 /**
  * This job action is responsible to render the historical trend of the commit statistics via its associated
@@ -58,6 +59,20 @@ public class CommitStatisticsJobAction extends InvisibleAction implements AsyncC
 
         var chart = getChart(configuration);
 
+        var summaries = ForensicsSummaryStore.findStore(owner)
+                .map(store -> store.getHistory(Kind.COMMITS, scmKey))
+                .orElse(List.of());
+        if (!summaries.isEmpty()) {
+            if (chart == ChartType.DELTA) {
+                return new AddedVersusDeletedLinesTrendChart().create(summaries, modelConfiguration,
+                        new ForensicsSummarySeriesBuilder(summary -> AddedVersusDeletedLinesForensicsSeriesBuilder
+                                .computeAddedVsDeletedSeries(summary.getCommitStatistics())));
+            }
+            return new RelativeCountTrendChart().create(summaries, modelConfiguration,
+                    new ForensicsSummarySeriesBuilder(summary -> RelativeCountForensicsSeriesBuilder
+                            .computeRelativeCountStatistics(summary.getCommitStatistics())));
+        }
+
         Iterable<? extends BuildResult<CommitStatisticsBuildAction>> buildHistory
                 = createBuildHistory(modelConfiguration.getBuildCount());
         if (chart == ChartType.DELTA) {
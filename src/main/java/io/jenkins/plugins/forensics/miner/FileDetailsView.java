@@ -35,6 +35,7 @@ import io.jenkins.plugins.forensics.util.CommitDecorator;
  */
 public class FileDetailsView extends DefaultAsyncTableContentProvider implements ModelObject, AsyncTrendChart {
     private static final String FILE_NAME_PROPERTY = "fileName.";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final Run<?, ?> owner;
     private final String fileHash;
@@ -67,10 +68,10 @@ public class FileDetailsView extends DefaultAsyncTableContentProvider implements
     }
 
     private FileStatistics filterStatistics() {
-        return repositoryStatistics.getFileStatistics()
-                .stream()
-                .filter(f -> String.valueOf(f.getFileName().hashCode()).equals(fileHash)).findAny().orElseThrow(
-                        () -> new NoSuchElementException("No file found with hash code " + fileHash));
+        return repositoryStatistics.getPathIndex()
+                .find(fileHash)
+                .map(repositoryStatistics::get)
+                .orElseThrow(() -> new NoSuchElementException("No file found with hash code " + fileHash));
     }
 
     public Run<?, ?> getOwner() {
@@ -104,7 +105,7 @@ public class FileDetailsView extends DefaultAsyncTableContentProvider implements
     @SuppressWarnings("unused") // Called by jelly view
     @Override
     public String getBuildTrendModel() {
-        return new ObjectMapper().writeValueAsString(createChartModel());
+        return OBJECT_MAPPER.writeValueAsString(createChartModel());
     }
 
     @Override
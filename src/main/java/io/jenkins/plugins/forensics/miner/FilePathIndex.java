@@ -0,0 +1,79 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps the files of a repository to short identifiers that are used in the URLs of the file details views. The
+ * identifier of a file is the hash code of its path. If several files share the same hash code, then the identifiers of
+ * these files get the position of the file in the sorted list of colliding paths as suffix. So each identifier
+ * resolves to exactly one file, independent of the order of the files in the repository statistics.
+ *
+ * @author Ullrich Hafner
+ */
+final class FilePathIndex {
+    private static final String COLLISION_SEPARATOR = "_";
+
+    private final Map<Integer, List<String>> pathsByHash = new HashMap<>();
+
+    FilePathIndex(final Collection<String> fileNames) {
+        for (String fileName : fileNames) {
+            pathsByHash.computeIfAbsent(fileName.hashCode(), hash -> new ArrayList<>(1)).add(fileName);
+        }
+        pathsByHash.values().stream().filter(paths -> paths.size() > 1).forEach(paths -> paths.sort(null));
+    }
+
+    /**
+     * Returns the identifier of the specified file.
+     *
+     * @param fileName
+     *         the path of the file
+     *
+     * @return the identifier of the file
+     */
+    String getId(final String fileName) {
+        int hash = fileName.hashCode();
+        var paths = pathsByHash.get(hash);
+        if (paths == null || paths.size() < 2) {
+            return String.valueOf(hash);
+        }
+        int position = paths.indexOf(fileName);
+        if (position <= 0) {
+            return String.valueOf(hash);
+        }
+        return hash + COLLISION_SEPARATOR + position;
+    }
+
+    /**
+     * Returns the path of the file with the specified identifier.
+     *
+     * @param id
+     *         the identifier of the file, see {@link #getId(String)}
+     *
+     * @return the path of the file, or an empty result if no such file exists
+     */
+    Optional<String> find(final String id) {
+        var hash = StringUtils.substringBefore(id, COLLISION_SEPARATOR);
+        var position = StringUtils.substringAfter(id, COLLISION_SEPARATOR);
+        try {
+            var paths = pathsByHash.get(Integer.parseInt(hash));
+            if (paths == null) {
+                return Optional.empty();
+            }
+            int index = position.isEmpty() ? 0 : Integer.parseInt(position);
+            if (index < 0 || index >= paths.size()) {
+                return Optional.empty();
+            }
+            return Optional.of(paths.get(index));
+        }
+        catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+}
@@ -3,12 +3,14 @@ package io.jenkins.plugins.forensics.miner;
 import edu.hm.hafner.util.PathUtil;
 import edu.hm.hafner.util.TreeString;
 import edu.hm.hafner.util.TreeStringBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -44,6 +46,13 @@ public final class FileStatistics implements Serializable {
     @SuppressWarnings("PMD.LooseCoupling")
     private ArrayList<CommitDiffItem> commits = new ArrayList<>(); // since 0.8.0
 
+    /**
+     * The running aggregates of all commits of this file. The aggregator is created from the commits on first use after
+     * this file has been restored, afterward each inspected commit is added in constant time.
+     */
+    @CheckForNull
+    private transient CommitStatisticsAggregator aggregator;
+
     /**
      * Creates a new instance of {@link FileStatistics}.
      *
@@ -55,10 +64,46 @@ public final class FileStatistics implements Serializable {
         this.fileName = fileName;
     }
 
+    /**
+     * Restores a {@link FileStatistics} instance from its serialized properties. The properties are not recomputed from
+     * the commits, so the caller is responsible for providing consistent values.
+     *
+     * @param fileName
+     *         the name of the file
+     * @param creationTime
+     *         the creation time of the file
+     * @param lastModificationTime
+     *         the time of the last modification of the file
+     * @param statistics
+     *         the aggregated statistics of all commits
+     * @param commits
+     *         all commits this file was part of
+     *
+     * @return the restored instance
+     */
+    static FileStatistics restore(final TreeString fileName, final int creationTime, final int lastModificationTime,
+            final CommitStatistics statistics, final List<CommitDiffItem> commits) {
+        var restored = new FileStatistics(fileName);
+        restored.creationTime = creationTime;
+        restored.lastModificationTime = lastModificationTime;
+        restored.statistics = statistics;
+        restored.commits.addAll(commits);
+        return restored;
+    }
+
     public String getFileName() {
         return fileName.toString();
     }
 
+    /**
+     * Returns the aggregated statistics of all commits this file was part of.
+     *
+     * @return the aggregated statistics
+     */
+    CommitStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Called after deserialization to retain backward compatibility.
      *
@@ -77,12 +122,12 @@ public final class FileStatistics implements Serializable {
     }
 
     /**
-     * Returns all commits this file was part of.
+     * Returns all commits this file was part of. Use {@link #inspectCommit(CommitDiffItem)} to add commits.
      *
      * @return all commits for this file
      */
     public List<CommitDiffItem> getCommits() {
-        return commits;
+        return Collections.unmodifiableList(commits);
     }
 
     /**
@@ -143,38 +188,60 @@ public final class FileStatistics implements Serializable {
 
     /**
      * Inspects and stores the specified commit for this file. Updates all properties after the commit has been added,
-     * including an optional file name rename.
+     * including an optional file name rename. The statistics are aggregated incrementally, so inspecting a commit takes
+     * constant time.
      *
      * @param additionalCommit
      *         the additional commit to inspect
      */
     public void inspectCommit(final CommitDiffItem additionalCommit) {
-        commits.add(additionalCommit);
-
-        updateProperties();
+        inspectCommits(List.of(additionalCommit));
     }
 
     /**
      * Inspects and stores the specified commits for this file. Updates all properties after the commit has been added,
-     * including an optional file name rename.
+     * including an optional file name rename. The statistics are aggregated incrementally, so inspecting takes constant
+     * time for each commit.
      *
      * @param additionalCommits
      *         the additional commits to inspect
      */
     public void inspectCommits(final Collection<CommitDiffItem> additionalCommits) {
+        var statisticsAggregator = getAggregator();
         commits.addAll(additionalCommits);
+        additionalCommits.forEach(statisticsAggregator::add);
 
-        updateProperties();
+        updateProperties(statisticsAggregator);
+    }
+
+    private CommitStatisticsAggregator getAggregator() {
+        if (aggregator == null) {
+            aggregator = new CommitStatisticsAggregator(commits);
+        }
+        return aggregator;
     }
 
-    private void updateProperties() {
+    private void updateProperties(final CommitStatisticsAggregator statisticsAggregator) {
+        if (commits.isEmpty()) {
+            return;
+        }
         int lastCommit = commits.size() - 1;
         lastModificationTime = commits.get(lastCommit).getTime();
         creationTime = commits.get(0).getTime();
-        statistics = new CommitStatistics(commits);
+        statistics = statisticsAggregator.getStatistics();
         fileName = TreeString.valueOf(commits.get(lastCommit).getNewPath());
     }
 
+    /**
+     * Recomputes the statistics of all commits from scratch. This method is used to validate the incrementally
+     * aggregated statistics only, since it takes linear time in the number of commits.
+     *
+     * @return the recomputed statistics
+     */
+    CommitStatistics recomputeStatistics() {
+        return new CommitStatistics(commits);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
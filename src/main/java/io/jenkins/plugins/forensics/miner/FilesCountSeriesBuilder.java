@@ -15,8 +15,12 @@ class FilesCountSeriesBuilder extends SeriesBuilder<ForensicsBuildAction> {
 
     @Override
     protected Map<String, Integer> computeSeries(final ForensicsBuildAction current) {
+        return computeFilesCountSeries(current.getNumberOfFiles());
+    }
+
+    static Map<String, Integer> computeFilesCountSeries(final int numberOfFiles) {
         Map<String, Integer> series = new HashMap<>();
-        series.put(TOTALS_KEY, current.getNumberOfFiles());
+        series.put(TOTALS_KEY, numberOfFiles);
         return series;
     }
 }
@@ -3,12 +3,25 @@ package io.jenkins.plugins.forensics.miner;
 import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.io.IOException;
 import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.kohsuke.stapler.StaplerProxy;
+import hudson.Extension;
 import hudson.model.Run;
+import hudson.model.listeners.RunListener;
 
 import io.jenkins.plugins.util.BuildAction;
 
@@ -23,6 +36,9 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
     @Serial
     private static final long serialVersionUID = -263122257268060032L;
     private static final String DEFAULT_FILE_NAME = "repository-statistics.xml";
+    private static final String DEFAULT_BINARY_FILE_NAME = "repository-statistics.bin";
+    private static final String DEFAULT_DELTA_FILE_NAME = "repository-statistics-delta.bin";
+    private static final Logger LOGGER = Logger.getLogger(ForensicsBuildAction.class.getName());
 
     private final int miningDurationSeconds;
     private final String urlName;
@@ -34,6 +50,18 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
     private final int totalLinesOfCode; // since 1.1.0
     private final int totalChurn; // since 1.1.0
     private CommitStatistics commitStatistics;  // since 1.1.0
+    private boolean withoutCommitStatistics; // since 4.0.0: true for actions of releases before 1.1.0
+
+    private int baseBuildNumber; // since 4.0.0: 0 if the statistics have been persisted as full snapshot
+    @CheckForNull
+    private String baseFileName; // since 4.0.0
+    private int deltaChainLength; // since 4.0.0
+    private MiningMetrics miningMetrics; // since 4.0.0
+    @CheckForNull
+    private Map<Integer, Integer> authorsDistribution; // since 4.0.0
+    @CheckForNull
+    private Map<Integer, Integer> commitsDistribution; // since 4.0.0
+    private transient volatile boolean hasUnreadableDelta;
 
     /**
      * Creates a new instance of {@link ForensicsBuildAction}.
@@ -73,21 +101,88 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
     @VisibleForTesting
     ForensicsBuildAction(final Run<?, ?> owner, final RepositoryStatistics repositoryStatistics,
             final boolean canSerialize, final int miningDurationSeconds, final String scmKey, final int number) {
+        this(owner, repositoryStatistics, canSerialize, miningDurationSeconds, scmKey, number, null, 0,
+                new MiningMetrics());
+    }
+
+    /**
+     * Creates a new instance of {@link ForensicsBuildAction}. If a base action is provided, the full snapshot interval
+     * has not been reached yet, and the journal of the statistics contains the commits that have been mined in this
+     * build, then only these commits will be persisted. Otherwise, the full statistics will be persisted as a new
+     * snapshot.
+     *
+     * @param owner
+     *         the associated build that created the statistics
+     * @param repositoryStatistics
+     *         the statistics to persist with this action
+     * @param canSerialize
+     *         determines whether the result should be persisted in the build folder
+     * @param miningDurationSeconds
+     *         the duration of the mining operation in [s]
+     * @param scmKey
+     *         key of the repository
+     * @param number
+     *         unique number of the results (used as part of the serialization file name)
+     * @param base
+     *         the action of a previous build that contains the statistics the specified statistics have been derived
+     *         from, or {@code null} if there is no such action
+     * @param snapshotInterval
+     *         the maximum number of builds between two full snapshots, a value less than 2 disables delta storage
+     * @param miningMetrics
+     *         the metrics of the mining run, the metrics of the serialization will be added by this action
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    ForensicsBuildAction(final Run<?, ?> owner, final RepositoryStatistics repositoryStatistics,
+            final boolean canSerialize, final int miningDurationSeconds, final String scmKey, final int number,
+            @CheckForNull final ForensicsBuildAction base, final int snapshotInterval,
+            final MiningMetrics miningMetrics) {
         super(owner, repositoryStatistics, false);
 
         numberOfFiles = repositoryStatistics.size();
         this.miningDurationSeconds = miningDurationSeconds;
         this.scmKey = scmKey;
 
-        fileName = createFileName(number);
         urlName = createUrlName(number);
 
         totalLinesOfCode = repositoryStatistics.getTotalLinesOfCode();
         totalChurn = repositoryStatistics.getTotalChurn();
         commitStatistics = repositoryStatistics.getLatestStatistics();
+        authorsDistribution = SizePieChart.computeDistribution(repositoryStatistics,
+                FileStatistics::getNumberOfAuthors, SizePieChart.getAuthorsBreakpoints());
+        commitsDistribution = SizePieChart.computeDistribution(repositoryStatistics,
+                FileStatistics::getNumberOfCommits, SizePieChart.getCommitsBreakpoints());
+
+        if (base != null && base.deltaChainLength + 1 < snapshotInterval && repositoryStatistics.hasJournal()) {
+            baseBuildNumber = base.getOwner().getNumber();
+            baseFileName = base.fileName;
+            deltaChainLength = base.deltaChainLength + 1;
+            fileName = createDeltaFileName(number);
+        }
+        else {
+            fileName = createFileName(number);
+        }
 
+        this.miningMetrics = miningMetrics;
         if (canSerialize) {
-            createXmlStream().write(owner.getRootDir().toPath().resolve(fileName), repositoryStatistics);
+            long start = System.nanoTime();
+            if (isDelta()) {
+                new RepositoryStatisticsDeltaBinaryStream().write(getPath(fileName), new RepositoryStatisticsDelta(
+                        repositoryStatistics.getLatestCommitId(), repositoryStatistics.getJournal()));
+            }
+            else {
+                createXmlStream().write(getPath(fileName), repositoryStatistics);
+            }
+            this.miningMetrics = miningMetrics.withSerialization(System.nanoTime() - start, getFileSize());
+        }
+        repositoryStatistics.discardJournal(); // the commits are part of the persisted statistics now
+    }
+
+    private long getFileSize() {
+        try {
+            return Files.size(getPath(fileName));
+        }
+        catch (IOException exception) {
+            return 0;
         }
     }
 
@@ -102,6 +197,10 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
         }
         if (commitStatistics == null) {
             commitStatistics = new CommitStatistics();
+            withoutCommitStatistics = true;
+        }
+        if (miningMetrics == null) {
+            miningMetrics = new MiningMetrics();
         }
 
         return super.readResolve();
@@ -109,9 +208,23 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
 
     private String createFileName(final int number) {
         if (number == 0) {
-            return DEFAULT_FILE_NAME;
+            return DEFAULT_BINARY_FILE_NAME;
+        }
+        return "repository-statistics-%d.bin".formatted(number);
+    }
+
+    /**
+     * Returns the name of the snapshot file that corresponds to the delta file of this action.
+     */
+    private String createSnapshotFileName() {
+        return StringUtils.replaceOnce(fileName, "-delta", StringUtils.EMPTY);
+    }
+
+    private String createDeltaFileName(final int number) {
+        if (number == 0) {
+            return DEFAULT_DELTA_FILE_NAME;
         }
-        return "repository-statistics-%d.xml".formatted(number);
+        return "repository-statistics-delta-%d.bin".formatted(number);
     }
 
     private String createUrlName(final int number) {
@@ -128,7 +241,213 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
 
     @Override
     protected final RepositoryStatisticsXmlStream createXmlStream() {
-        return new RepositoryStatisticsXmlStream();
+        if (isDelta()) {
+            return new DeltaChainXmlStream();
+        }
+        return new RepositoryStatisticsBinaryStream();
+    }
+
+    /**
+     * Returns whether this action contains the statistics of the latest commits (see {@link #getCommitStatistics()}).
+     * Actions of releases before 1.1.0 did not store these statistics, they are only available in the repository
+     * statistics of these actions.
+     *
+     * @return {@code true} if the statistics of the latest commits are available, {@code false} otherwise
+     */
+    boolean hasCommitStatistics() {
+        return !withoutCommitStatistics;
+    }
+
+    /**
+     * Returns whether this action persisted just the commits of this build rather than a full snapshot of the
+     * statistics.
+     *
+     * @return {@code true} if the statistics are persisted as a delta to the statistics of a previous build,
+     *         {@code false} if the statistics are persisted as a full snapshot
+     */
+    public boolean isDelta() {
+        return baseBuildNumber > 0;
+    }
+
+    /**
+     * Returns the number of deltas that need to be replayed on top of the latest full snapshot to restore the
+     * statistics of this action.
+     *
+     * @return the length of the delta chain, 0 if this action persisted a full snapshot
+     */
+    public int getDeltaChainLength() {
+        return deltaChainLength;
+    }
+
+    /**
+     * Returns whether the statistics of this action can be restored. The statistics of an action that persisted just a
+     * delta can be restored only if the full snapshot and all deltas in the chain of base actions are still available.
+     * Deltas that cannot be read are detected only after the statistics have been restored once, see
+     * {@link #isReadable()}.
+     *
+     * @return {@code true} if the statistics can be restored, {@code false} if a base of the delta chain is missing or
+     *         could not be read
+     */
+    public boolean isAvailable() {
+        return !isDelta() || !hasUnreadableDelta && findDeltaChain().isPresent();
+    }
+
+    /**
+     * Returns whether the statistics of this action can be restored. In contrast to {@link #isAvailable()} the
+     * statistics are actually restored, so deltas that cannot be read are detected as well.
+     *
+     * @return {@code true} if the statistics have been restored, {@code false} if a base of the delta chain is missing
+     *         or could not be read
+     */
+    boolean isReadable() {
+        if (!isAvailable()) {
+            return false;
+        }
+        getResult();
+        return isAvailable();
+    }
+
+    private Path getPath(final String name) {
+        return getOwner().getRootDir().toPath().resolve(name);
+    }
+
+    private Optional<ForensicsBuildAction> findBase() {
+        Run<?, ?> baseBuild = getOwner().getParent().getBuildByNumber(baseBuildNumber);
+        if (baseBuild == null) {
+            return Optional.empty();
+        }
+        return baseBuild.getActions(ForensicsBuildAction.class).stream()
+                .filter(action -> action.fileName.equals(baseFileName))
+                .findAny();
+    }
+
+    /**
+     * Returns the actions that persisted their statistics as a delta to the specified file of this action. The deltas
+     * of a build are derived from the action of the nearest previous build that contains available statistics for the
+     * same repository (see {@link RepositoryMinerStep}). So the subsequent builds are checked until an action for the
+     * repository is found that either depends on this action or is available itself: builds after such an action do
+     * not depend on this action. Actions that are not available have been skipped by the miner, so the search continues
+     * with the next build.
+     */
+    private List<ForensicsBuildAction> findDependents(final String name) {
+        int number = getOwner().getNumber();
+        for (Run<?, ?> next = getOwner().getNextBuild(); next != null; next = next.getNextBuild()) {
+            var actions = next.getActions(ForensicsBuildAction.class);
+            if (actions.isEmpty()) {
+                continue;
+            }
+            var candidates = actions.stream().filter(action -> action.scmKey.equals(scmKey)).toList();
+            if (candidates.isEmpty()) {
+                return List.of(); // the statistics have been mined from scratch in this build
+            }
+            var dependents = candidates.stream()
+                    .filter(action -> action.baseBuildNumber == number && name.equals(action.baseFileName))
+                    .toList();
+            if (!dependents.isEmpty() || candidates.stream().anyMatch(ForensicsBuildAction::isAvailable)) {
+                return dependents;
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Persists the statistics of this action as a full snapshot, so that this action does not depend on the base
+     * action anymore. Must be called before the build of the base action is deleted, since the statistics of this
+     * action are restored from the chain of base actions. The actions that depend on this action are updated to use
+     * the new snapshot as base.
+     *
+     * @throws IOException
+     *         if the base snapshot is not available anymore or if the snapshot or the builds could not be saved
+     */
+    void promoteToSnapshot() throws IOException {
+        if (!isDelta()) {
+            return;
+        }
+        var chain = findDeltaChain().orElseThrow(() -> new IOException(
+                "Base snapshot %s of build #%d is not available anymore".formatted(baseFileName, baseBuildNumber)));
+        var statistics = readDeltaChain(chain);
+        var deltaFileName = fileName;
+        var dependents = findDependents(deltaFileName);
+        var snapshotFileName = createSnapshotFileName();
+        new RepositoryStatisticsBinaryStream().write(getPath(snapshotFileName), statistics);
+
+        fileName = snapshotFileName;
+        baseBuildNumber = 0;
+        baseFileName = null;
+        deltaChainLength = 0;
+        getOwner().save();
+
+        for (ForensicsBuildAction dependent : dependents) {
+            dependent.baseFileName = snapshotFileName;
+            dependent.getOwner().save();
+        }
+        Files.deleteIfExists(getPath(deltaFileName));
+    }
+
+    /**
+     * Returns the chain of actions that is required to restore the statistics of this action. The chain starts with
+     * the action that persisted the latest full snapshot, followed by all actions that persisted a delta, in the order
+     * of the builds.
+     *
+     * @return the chain of actions, or an empty optional if one of the actions or the snapshot file is not available
+     *         anymore
+     */
+    private Optional<Deque<ForensicsBuildAction>> findDeltaChain() {
+        Deque<ForensicsBuildAction> chain = new ArrayDeque<>();
+        ForensicsBuildAction current = this;
+        while (current.isDelta()) {
+            chain.push(current);
+            var base = current.findBase();
+            if (base.isEmpty()) {
+                LOGGER.log(Level.WARNING,
+                        "Forensics results of {0} are not available: base snapshot {1} of build #{2} is missing",
+                        new Object[] {getOwner(), current.baseFileName, current.baseBuildNumber});
+                return Optional.empty();
+            }
+            current = base.get();
+        }
+        if (!Files.exists(current.getPath(current.fileName))) {
+            LOGGER.log(Level.WARNING,
+                    "Forensics results of {0} are not available: snapshot file {1} of {2} is missing",
+                    new Object[] {getOwner(), current.fileName, current.getOwner()});
+            return Optional.empty();
+        }
+        chain.push(current);
+        return Optional.of(chain);
+    }
+
+    /**
+     * Restores the statistics of this action: starting with the latest full snapshot in the chain of base actions,
+     * all deltas of the subsequent builds are replayed in the order of the builds. If the chain is not complete
+     * anymore or if a delta cannot be read, then empty statistics are returned: use {@link #isAvailable()} to detect
+     * such actions.
+     *
+     * @return the restored statistics
+     */
+    private RepositoryStatistics readDeltaChain() {
+        var chain = findDeltaChain();
+        if (chain.isPresent()) {
+            try {
+                return readDeltaChain(chain.get());
+            }
+            catch (IOException exception) {
+                hasUnreadableDelta = true;
+                LOGGER.log(Level.WARNING, exception,
+                        () -> "Forensics results of %s are not available: a delta of the chain can't be read".formatted(
+                                getOwner()));
+            }
+        }
+        return new RepositoryStatistics();
+    }
+
+    private RepositoryStatistics readDeltaChain(final Deque<ForensicsBuildAction> chain) throws IOException {
+        var snapshot = chain.pop();
+        var statistics = new RepositoryStatisticsBinaryStream().read(snapshot.getPath(snapshot.fileName));
+        var deltaStream = new RepositoryStatisticsDeltaBinaryStream();
+        for (ForensicsBuildAction delta : chain) {
+            statistics.replay(deltaStream.read(delta.getPath(delta.fileName)));
+        }
+        return statistics;
     }
 
     @Override
@@ -153,7 +472,7 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
      */
     @Override
     public Object getTarget() {
-        return new ForensicsViewModel(getOwner(), getResult(), scmKey);
+        return new ForensicsViewModel(getOwner(), this::getResult, scmKey, authorsDistribution, commitsDistribution);
     }
 
     @Override
@@ -181,6 +500,10 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
         return commitStatistics;
     }
 
+    public MiningMetrics getMiningMetrics() {
+        return miningMetrics;
+    }
+
     public String getScmKey() {
         return scmKey;
     }
@@ -189,4 +512,39 @@ public class ForensicsBuildAction extends BuildAction<RepositoryStatistics> impl
     public String toString() {
         return "%s [%s]".formatted(urlName, scmKey);
     }
+
+    /**
+     * Promotes the deltas that depend on the actions of a deleted build to full snapshots. Since the listener is
+     * notified before the files of the deleted build are removed, the statistics of the dependent deltas can still be
+     * restored.
+     */
+    @Extension
+    public static class BaseDeletionListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            for (ForensicsBuildAction deleted : run.getActions(ForensicsBuildAction.class)) {
+                deleted.findDependents(deleted.fileName).forEach(this::promote);
+            }
+        }
+
+        private void promote(final ForensicsBuildAction action) {
+            try {
+                action.promoteToSnapshot();
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, exception,
+                        () -> "Can't promote forensics results of %s to a full snapshot".formatted(action.getOwner()));
+            }
+        }
+    }
+
+    /**
+     * Reads the statistics of an action that persisted just a delta by replaying the chain of deltas.
+     */
+    private class DeltaChainXmlStream extends RepositoryStatisticsXmlStream {
+        @Override
+        public RepositoryStatistics read(final Path file) {
+            return readDeltaChain();
+        }
+    }
 }
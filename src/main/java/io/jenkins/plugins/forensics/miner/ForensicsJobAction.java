@@ -9,6 +9,7 @@ import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -17,6 +18,7 @@ import hudson.model.Run;
 
 import io.jenkins.plugins.echarts.AsyncConfigurableTrendJobAction;
 import io.jenkins.plugins.echarts.BuildActionIterator;
+import io.jenkins.plugins.forensics.miner.ForensicsSummary.Kind;
 
 /**
  * A job action displays a link on the side panel of a job that refers to the last build that contains forensic results
@@ -30,7 +32,7 @@ public class ForensicsJobAction extends AsyncConfigurableTrendJobAction<Forensic
     static final String FORENSICS_ID = "forensics";
 
     enum ChartType {
-        FILES, LOC, DELTA, COUNT
+        FILES, LOC, DELTA, COUNT, METRICS
     }
 
     private final String scmKey;
@@ -63,7 +65,13 @@ public class ForensicsJobAction extends AsyncConfigurableTrendJobAction<Forensic
 
     @Override
     protected LinesChartModel createChartModel(final String configuration) {
-        return createChart(createBuildHistory(), configuration);
+        var summaries = ForensicsSummaryStore.findStore(getOwner())
+                .map(store -> store.getHistory(Kind.REPOSITORY, scmKey))
+                .orElse(List.of());
+        if (summaries.isEmpty()) {
+            return createChart(createBuildHistory(), configuration);
+        }
+        return createSummaryChart(summaries, configuration);
     }
 
     /**
@@ -117,9 +125,52 @@ public class ForensicsJobAction extends AsyncConfigurableTrendJobAction<Forensic
             return new RelativeCountTrendChart().create(buildHistory, modelConfiguration,
                     new RelativeCountForensicsSeriesBuilder());
         }
+        if (chart == ChartType.METRICS) {
+            return new MiningMetricsTrendChart().create(buildHistory, modelConfiguration);
+        }
         return new FilesCountTrendChart().create(buildHistory, modelConfiguration);
     }
 
+    /**
+     * Creates the chart from the summaries of the job rather than from the actions of the builds. The charts are
+     * identical to the charts created by {@link #createChart(Iterable, String)}.
+     *
+     * @param summaries
+     *         the summaries of the builds, in descending order of the builds
+     * @param configuration
+     *         the chart configuration
+     *
+     * @return the chart model
+     */
+    LinesChartModel createSummaryChart(final List<BuildResult<ForensicsSummary>> summaries,
+            final String configuration) {
+        ChartModelConfiguration modelConfiguration = ChartModelConfiguration.fromJson(configuration);
+        var chart = getChart(configuration);
+        if (chart == ChartType.LOC) {
+            return new CodeMetricTrendChart().create(summaries, modelConfiguration,
+                    new ForensicsSummarySeriesBuilder(summary -> CodeMetricSeriesBuilder.computeCodeMetricSeries(
+                            summary.getTotalLinesOfCode(), summary.getTotalChurn())));
+        }
+        if (chart == ChartType.DELTA) {
+            return new AddedVersusDeletedLinesTrendChart().create(summaries, modelConfiguration,
+                    new ForensicsSummarySeriesBuilder(summary -> AddedVersusDeletedLinesForensicsSeriesBuilder
+                            .computeAddedVsDeletedSeries(summary.getCommitStatistics())));
+        }
+        if (chart == ChartType.COUNT) {
+            return new RelativeCountTrendChart().create(summaries, modelConfiguration,
+                    new ForensicsSummarySeriesBuilder(summary -> RelativeCountForensicsSeriesBuilder
+                            .computeRelativeCountStatistics(summary.getCommitStatistics())));
+        }
+        if (chart == ChartType.METRICS) {
+            return new MiningMetricsTrendChart().create(summaries, modelConfiguration,
+                    new ForensicsSummarySeriesBuilder(summary -> MiningMetricsSeriesBuilder
+                            .computeMiningMetricsSeries(summary.getMiningMetrics())));
+        }
+        return new FilesCountTrendChart().create(summaries, modelConfiguration,
+                new ForensicsSummarySeriesBuilder(summary -> FilesCountSeriesBuilder
+                        .computeFilesCountSeries(summary.getNumberOfFiles())));
+    }
+
     private ChartType getChart(final String configuration) {
         var type = getStringFromJson(configuration, "chartType", "files");
         for (ChartType chartType : ChartType.values()) {
@@ -0,0 +1,251 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.echarts.Build;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+
+import hudson.model.Run;
+
+import static io.jenkins.plugins.forensics.miner.RepositoryStatisticsCodec.*;
+
+/**
+ * Summary of the results of a build for a single repository. Contains the values that are shown in the trend charts
+ * of a job, so the trend charts can be rendered without loading the builds. A summary either summarizes a
+ * {@link ForensicsBuildAction} (i.e., the mined repository statistics) or a {@link CommitStatisticsBuildAction} (i.e.,
+ * the statistics of the commits since the reference build).
+ *
+ * @author Ullrich Hafner
+ */
+final class ForensicsSummary {
+    /**
+     * The action that is summarized.
+     */
+    enum Kind {
+        /** Summarizes a {@link ForensicsBuildAction}. */
+        REPOSITORY,
+        /** Summarizes a {@link CommitStatisticsBuildAction}. */
+        COMMITS,
+        /** Marks all summaries of a deleted build as removed. */
+        REMOVED
+    }
+
+    private final Kind kind;
+    private final String scmKey;
+    private final int buildNumber;
+    private final String displayName;
+    private final int buildTime; // in seconds
+    private final int numberOfFiles;
+    private final int totalLinesOfCode;
+    private final int totalChurn;
+    private final CommitStatistics commitStatistics;
+    private final MiningMetrics miningMetrics;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private ForensicsSummary(final Kind kind, final String scmKey, final int buildNumber, final String displayName,
+            final int buildTime, final int numberOfFiles, final int totalLinesOfCode, final int totalChurn,
+            final CommitStatistics commitStatistics, final MiningMetrics miningMetrics) {
+        this.kind = kind;
+        this.scmKey = scmKey;
+        this.buildNumber = buildNumber;
+        this.displayName = displayName;
+        this.buildTime = buildTime;
+        this.numberOfFiles = numberOfFiles;
+        this.totalLinesOfCode = totalLinesOfCode;
+        this.totalChurn = totalChurn;
+        this.commitStatistics = commitStatistics;
+        this.miningMetrics = miningMetrics;
+    }
+
+    /**
+     * Creates a summary of the specified forensics action. Only the properties of the action are used, so the
+     * repository statistics of the action are not loaded.
+     *
+     * @param run
+     *         the build that owns the action
+     * @param action
+     *         the action to summarize
+     *
+     * @return the summary
+     */
+    static ForensicsSummary of(final Run<?, ?> run, final ForensicsBuildAction action) {
+        return of(run, action, action.getCommitStatistics());
+    }
+
+    /**
+     * Creates a summary of the specified forensics action that uses the specified statistics of the latest commits
+     * rather than the statistics of the action. Required for actions of releases before 1.1.0 that do not contain these
+     * statistics.
+     *
+     * @param run
+     *         the build that owns the action
+     * @param action
+     *         the action to summarize
+     * @param latestStatistics
+     *         the statistics of the latest commits
+     *
+     * @return the summary
+     */
+    static ForensicsSummary of(final Run<?, ?> run, final ForensicsBuildAction action,
+            final CommitStatistics latestStatistics) {
+        return new ForensicsSummary(Kind.REPOSITORY, action.getScmKey(), run.getNumber(), run.getDisplayName(),
+                getBuildTime(run), action.getNumberOfFiles(), action.getTotalLinesOfCode(), action.getTotalChurn(),
+                latestStatistics, action.getMiningMetrics());
+    }
+
+    /**
+     * Creates a marker that removes all previous summaries of the specified build.
+     *
+     * @param buildNumber
+     *         the number of the deleted build
+     *
+     * @return the marker
+     */
+    static ForensicsSummary removed(final int buildNumber) {
+        return new ForensicsSummary(Kind.REMOVED, "", buildNumber, "", 0, 0, 0, 0, new CommitStatistics(),
+                new MiningMetrics());
+    }
+
+    /**
+     * Creates a summary of the specified commit statistics action.
+     *
+     * @param run
+     *         the build that owns the action
+     * @param action
+     *         the action to summarize
+     *
+     * @return the summary
+     */
+    static ForensicsSummary of(final Run<?, ?> run, final CommitStatisticsBuildAction action) {
+        return new ForensicsSummary(Kind.COMMITS, action.getScmKey(), run.getNumber(), run.getDisplayName(),
+                getBuildTime(run), 0, 0, 0, action.getCommitStatistics(), new MiningMetrics());
+    }
+
+    private static int getBuildTime(final Run<?, ?> run) {
+        return (int) (run.getTimeInMillis() / 1000);
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getScmKey() {
+        return scmKey;
+    }
+
+    int getBuildNumber() {
+        return buildNumber;
+    }
+
+    int getNumberOfFiles() {
+        return numberOfFiles;
+    }
+
+    int getTotalLinesOfCode() {
+        return totalLinesOfCode;
+    }
+
+    int getTotalChurn() {
+        return totalChurn;
+    }
+
+    CommitStatistics getCommitStatistics() {
+        return commitStatistics;
+    }
+
+    MiningMetrics getMiningMetrics() {
+        return miningMetrics;
+    }
+
+    /**
+     * Returns the build that has been summarized, as required by the trend charts.
+     *
+     * @return the build
+     */
+    Build getBuild() {
+        return new Build(buildNumber, displayName, buildTime);
+    }
+
+    /**
+     * Writes this summary to the specified output.
+     *
+     * @param output
+     *         the output to write to
+     *
+     * @throws IOException
+     *         if the summary could not be written
+     */
+    void write(final DataOutput output) throws IOException {
+        output.writeByte(kind.ordinal());
+        writeString(output, scmKey);
+        writeVarInt(output, buildNumber);
+        writeString(output, displayName);
+        writeVarInt(output, buildTime);
+        writeVarInt(output, numberOfFiles);
+        writeVarInt(output, totalLinesOfCode);
+        writeVarInt(output, totalChurn);
+        writeStatistics(output, commitStatistics);
+        output.writeLong(miningMetrics.getLoadDuration());
+        output.writeLong(miningMetrics.getMiningDuration());
+        output.writeLong(miningMetrics.getAggregationDuration());
+        output.writeLong(miningMetrics.getSerializationDuration());
+        output.writeLong(miningMetrics.getSerializedSize());
+        writeVarInt(output, miningMetrics.getCommitCount());
+        writeVarInt(output, miningMetrics.getDiffItemCount());
+        writeVarInt(output, miningMetrics.getRenameCount());
+        writeVarInt(output, miningMetrics.getDeleteCount());
+        output.writeLong(miningMetrics.getAllocatedBytes());
+    }
+
+    /**
+     * Reads a summary from the specified input.
+     *
+     * @param input
+     *         the input to read from
+     *
+     * @return the summary
+     * @throws IOException
+     *         if the summary could not be read
+     */
+    static ForensicsSummary read(final DataInputStream input) throws IOException {
+        var kinds = Kind.values();
+        int kind = input.readUnsignedByte();
+        if (kind >= kinds.length) {
+            throw new IOException("Unknown kind of summary: " + kind);
+        }
+        return new ForensicsSummary(kinds[kind], readString(input), readVarInt(input), readString(input),
+                readVarInt(input), readVarInt(input), readVarInt(input), readVarInt(input), readStatistics(input),
+                new MiningMetrics(input.readLong(), input.readLong(), input.readLong(), input.readLong(),
+                        input.readLong(), readVarInt(input), readVarInt(input), readVarInt(input), readVarInt(input),
+                        input.readLong()));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (ForensicsSummary) o;
+        return buildNumber == that.buildNumber && buildTime == that.buildTime
+                && numberOfFiles == that.numberOfFiles && totalLinesOfCode == that.totalLinesOfCode
+                && totalChurn == that.totalChurn && kind == that.kind && scmKey.equals(that.scmKey)
+                && displayName.equals(that.displayName) && commitStatistics.equals(that.commitStatistics)
+                && miningMetrics.equals(that.miningMetrics);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, scmKey, buildNumber, displayName, buildTime, numberOfFiles, totalLinesOfCode,
+                totalChurn, commitStatistics, miningMetrics);
+    }
+
+    @Override
+    public String toString() {
+        return "%s #%d [%s]".formatted(kind, buildNumber, scmKey);
+    }
+}
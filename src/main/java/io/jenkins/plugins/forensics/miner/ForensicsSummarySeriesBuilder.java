@@ -0,0 +1,28 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import edu.hm.hafner.echarts.SeriesBuilder;
+
+/**
+ * Builds one x-axis point for the series of a line chart using the {@link ForensicsSummary summaries} of the builds.
+ * The values of a point are computed by the same functions that are used by the series builders that read the values
+ * from the actions of the builds.
+ *
+ * @author Ullrich Hafner
+ */
+class ForensicsSummarySeriesBuilder extends SeriesBuilder<ForensicsSummary> {
+    private final Function<ForensicsSummary, Map<String, Integer>> series;
+
+    ForensicsSummarySeriesBuilder(final Function<ForensicsSummary, Map<String, Integer>> series) {
+        super();
+
+        this.series = series;
+    }
+
+    @Override
+    protected Map<String, Integer> computeSeries(final ForensicsSummary current) {
+        return series.apply(current);
+    }
+}
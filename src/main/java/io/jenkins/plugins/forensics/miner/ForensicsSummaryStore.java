@@ -0,0 +1,635 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.echarts.BuildResult;
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import jenkins.util.Timer;
+
+import io.jenkins.plugins.forensics.miner.ForensicsSummary.Kind;
+import io.jenkins.plugins.forensics.util.BinaryFiles;
+
+/**
+ * Stores the {@link ForensicsSummary summaries} of all builds of a job in a single file in the folder of the job. The
+ * trend charts of a job read this small file rather than loading all builds of the job. The file is append-only: the
+ * summaries of a build are appended when the build has been completed. When a build is deleted, then a marker is
+ * appended that removes all previous summaries of that build. From time to time, the store is compacted so that the
+ * summaries of deleted builds do not accumulate.
+ *
+ * <p>
+ * Each summary is stored in a frame that starts with the length and the CRC32 checksum of the summary. Frames with a
+ * wrong checksum are skipped, an incomplete frame at the end of the file (e.g., after a crash during an append) is
+ * truncated before the next summary is appended. The store is a cache of the summaries of the builds: if the store
+ * does not exist yet or contains damaged frames, then the store is rebuilt from the history of the job in the
+ * background. The store is never rewritten from the content of a damaged file. The store can also be rebuilt
+ * explicitly (see {@link RebuildForensicsSummariesCommand}).
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class ForensicsSummaryStore {
+    static final String FILE_NAME = "forensics-summaries.bin";
+
+    /** Magic number that identifies the file format ("FRSM"). */
+    private static final int MAGIC = 0x4652534D;
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + 1;
+    private static final int FRAME_HEADER_SIZE = 2 * Integer.BYTES; // length and checksum
+    private static final long UNKNOWN = -1;
+    private static final Logger LOGGER = Logger.getLogger(ForensicsSummaryStore.class.getName());
+    private static final Map<Path, State> STATES = new ConcurrentHashMap<>();
+    /** The number of removed builds after which the store is checked for obsolete summaries. */
+    @VisibleForTesting
+    static final int COMPACTION_INTERVAL = 64;
+
+    private final Path file;
+    private final State state;
+    private final Executor executor;
+
+    /**
+     * Returns the store of the specified job if the job already contains a store.
+     *
+     * @param job
+     *         the job to get the store for
+     *
+     * @return the store of the job, or an empty result if the job has no store yet
+     */
+    static Optional<ForensicsSummaryStore> findStore(final Job<?, ?> job) {
+        return getFile(job).filter(Files::exists).map(ForensicsSummaryStore::new);
+    }
+
+    /**
+     * Returns the store of the specified job. The store will be created on first use.
+     *
+     * @param job
+     *         the job to get the store for
+     *
+     * @return the store of the job, or an empty result if the job has no folder
+     */
+    static Optional<ForensicsSummaryStore> getStore(final Job<?, ?> job) {
+        return getFile(job).map(ForensicsSummaryStore::new);
+    }
+
+    private static Optional<Path> getFile(final Job<?, ?> job) {
+        var rootDir = job.getRootDir();
+        if (rootDir == null) {
+            return Optional.empty();
+        }
+        return Optional.of(rootDir.toPath().resolve(FILE_NAME));
+    }
+
+    private ForensicsSummaryStore(final Path file) {
+        this(file, task -> Timer.get().execute(task));
+    }
+
+    @VisibleForTesting
+    ForensicsSummaryStore(final Path file, final Executor executor) {
+        this.file = file;
+        this.executor = executor;
+
+        state = STATES.computeIfAbsent(file.toAbsolutePath(), path -> new State());
+    }
+
+    /**
+     * Returns whether the store has been created already.
+     *
+     * @return {@code true} if the file of the store exists, {@code false} otherwise
+     */
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Returns the history of the summaries of the specified kind and repository.
+     *
+     * @param kind
+     *         the kind of the summaries
+     * @param scmKey
+     *         the key of the repository
+     *
+     * @return the summaries, in descending order of the builds (i.e., the latest build is the head of the list)
+     */
+    List<BuildResult<ForensicsSummary>> getHistory(final Kind kind, final String scmKey) {
+        return read().stream()
+                .filter(summary -> summary.getKind() == kind && scmKey.equals(summary.getScmKey()))
+                .sorted(Comparator.comparingInt(ForensicsSummary::getBuildNumber).reversed())
+                .map(summary -> new BuildResult<>(summary.getBuild(), summary))
+                .toList();
+    }
+
+    /**
+     * Reads all summaries of the store. If the store contains several summaries of the same action, then only the
+     * summary that has been appended last is returned. Damaged frames are skipped.
+     *
+     * @return the summaries
+     */
+    List<ForensicsSummary> read() {
+        synchronized (state) {
+            return scan().getSummaries();
+        }
+    }
+
+    private Contents scan() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        }
+        catch (NoSuchFileException exception) {
+            return Contents.MISSING;
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, exception, () -> "Can't read forensics summaries from " + file);
+            return Contents.UNREADABLE;
+        }
+
+        var buffer = ByteBuffer.wrap(content);
+        if (buffer.remaining() < FILE_HEADER_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            LOGGER.log(Level.WARNING, "Skipping forensics summaries in {0}: unsupported format", file);
+            return Contents.UNREADABLE;
+        }
+
+        Map<Integer, Map<String, ForensicsSummary>> summaries = new LinkedHashMap<>();
+        int frames = 0;
+        int damagedFrames = 0;
+        int validLength = buffer.position();
+        while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break; // incomplete frame at the end of the file
+            }
+            var payload = new byte[length];
+            buffer.get(payload);
+            validLength = buffer.position();
+
+            var summary = decode(payload, checksum);
+            if (summary.isPresent()) {
+                frames++;
+                add(summaries, summary.get());
+            }
+            else {
+                damagedFrames++;
+            }
+        }
+        if (damagedFrames > 0) {
+            LOGGER.log(Level.WARNING, "Skipped {0} damaged forensics summaries in {1}",
+                    new Object[] {damagedFrames, file});
+        }
+        var contents = new Contents(summaries.values().stream().flatMap(build -> build.values().stream()).toList(),
+                frames, damagedFrames, validLength, content.length);
+        state.intactLength = contents.isIntact() && !contents.hasIncompleteFrame() ? content.length : UNKNOWN;
+        return contents;
+    }
+
+    private void add(final Map<Integer, Map<String, ForensicsSummary>> summaries, final ForensicsSummary summary) {
+        if (summary.getKind() == Kind.REMOVED) {
+            summaries.remove(summary.getBuildNumber());
+        }
+        else {
+            summaries.computeIfAbsent(summary.getBuildNumber(), number -> new LinkedHashMap<>())
+                    .put(getKey(summary), summary);
+        }
+    }
+
+    private Optional<ForensicsSummary> decode(final byte[] payload, final int checksum) {
+        if (computeChecksum(payload) != checksum) {
+            return Optional.empty();
+        }
+        try (var input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return Optional.of(ForensicsSummary.read(input));
+        }
+        catch (IOException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private int computeChecksum(final byte[] payload) {
+        var crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private String getKey(final ForensicsSummary summary) {
+        return "%s:%d:%s".formatted(summary.getKind(), summary.getBuildNumber(), summary.getScmKey());
+    }
+
+    /**
+     * Appends the specified summaries to the store. If the store does not exist yet, then the store is created. If the
+     * store ends with an incomplete frame, then this frame is removed before the summaries are appended.
+     *
+     * @param summaries
+     *         the summaries to append
+     */
+    void append(final Collection<ForensicsSummary> summaries) {
+        synchronized (state) {
+            if (isUnchanged()) {
+                append(state.intactLength, summaries);
+                return;
+            }
+            var contents = scan();
+            if (contents == Contents.MISSING) {
+                rewrite(summaries);
+            }
+            else if (contents == Contents.UNREADABLE) {
+                LOGGER.log(Level.WARNING, "Can't append forensics summaries to {0}: unsupported format", file);
+            }
+            else {
+                append(contents.getValidLength(), summaries);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the file is intact and has not been changed since it has been scanned or written by this store
+     * the last time. Then new frames can be appended without scanning the whole file again.
+     */
+    private boolean isUnchanged() {
+        if (state.intactLength == UNKNOWN) {
+            return false;
+        }
+        try {
+            return Files.size(file) == state.intactLength;
+        }
+        catch (IOException exception) {
+            return false;
+        }
+    }
+
+    private void append(final long validLength, final Collection<ForensicsSummary> summaries) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                channel.truncate(validLength); // removes an incomplete frame at the end of the file
+            }
+            channel.position(channel.size());
+            var output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            for (ForensicsSummary summary : summaries) {
+                writeFrame(output, summary);
+            }
+            output.flush();
+            state.intactLength = channel.size();
+        }
+        catch (IOException exception) {
+            state.intactLength = UNKNOWN;
+            LOGGER.log(Level.WARNING, exception, () -> "Can't append forensics summaries to " + file);
+        }
+    }
+
+    /**
+     * Replaces the content of the store with the specified summaries.
+     *
+     * @param summaries
+     *         the new content of the store
+     */
+    private void rewrite(final Collection<ForensicsSummary> summaries) {
+        try {
+            BinaryFiles.write(file, output -> {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                for (ForensicsSummary summary : summaries) {
+                    writeFrame(output, summary);
+                }
+            });
+            state.intactLength = Files.size(file);
+        }
+        catch (IOException exception) {
+            state.intactLength = UNKNOWN;
+            LOGGER.log(Level.WARNING, exception, () -> "Can't write forensics summaries to " + file);
+        }
+    }
+
+    private void writeFrame(final DataOutputStream output, final ForensicsSummary summary) throws IOException {
+        var payload = new ByteArrayOutputStream();
+        try (var data = new DataOutputStream(payload)) {
+            summary.write(data);
+        }
+        var bytes = payload.toByteArray();
+        output.writeInt(bytes.length);
+        output.writeInt(computeChecksum(bytes));
+        output.write(bytes);
+    }
+
+    /**
+     * Removes the summaries of the specified build from the store. Rather than rewriting the store, a marker is
+     * appended that removes all previous summaries of the build. After {@link #COMPACTION_INTERVAL} removals the store
+     * is scanned: if the store contains more obsolete frames than summaries, then the store is compacted. If the store
+     * contains damaged frames, then the store is not changed, since rewriting the store would remove the damaged frames
+     * as well.
+     *
+     * @param buildNumber
+     *         the number of the build
+     */
+    void remove(final int buildNumber) {
+        synchronized (state) {
+            var removed = List.of(ForensicsSummary.removed(buildNumber));
+            if (state.removals < COMPACTION_INTERVAL && isUnchanged()) {
+                append(state.intactLength, removed);
+                state.removals++;
+                return;
+            }
+            var contents = scan();
+            if (contents == Contents.MISSING) {
+                return;
+            }
+            if (!contents.isIntact()) {
+                LOGGER.log(Level.WARNING, "Not removing build #{0} from the damaged forensics summaries {1}",
+                        new Object[] {buildNumber, file});
+                return;
+            }
+            state.removals = 0;
+            List<ForensicsSummary> summaries = contents.getSummaries();
+            summaries.removeIf(summary -> summary.getBuildNumber() == buildNumber);
+            if (contents.getFrames() + 1 > 2 * summaries.size()) {
+                rewrite(summaries);
+            }
+            else {
+                append(contents.getValidLength(), removed);
+                state.removals++;
+            }
+        }
+    }
+
+    /**
+     * Records the summaries of the specified completed build. If the store does not exist yet or is damaged, then the
+     * store is rebuilt in the background from the whole history of the job, including the specified build.
+     *
+     * @param run
+     *         the completed build
+     */
+    void record(final Run<?, ?> run) {
+        synchronized (state) {
+            if (state.rebuilds > 0) {
+                state.queuedRuns.add(run);
+                return;
+            }
+            if (isUnchanged()) {
+                append(state.intactLength, summarize(run));
+                return;
+            }
+            var contents = scan();
+            if (contents.isIntact()) {
+                append(contents.getValidLength(), summarize(run));
+                return;
+            }
+            state.rebuilds++;
+        }
+        executor.execute(() -> rebuildHistory(run));
+    }
+
+    /**
+     * Rebuilds the store from the history of the job. All builds that are older than the specified build and the
+     * specified build itself are summarized, builds that are still running are skipped. Builds that are completed
+     * while the history is summarized are added to the store as well. Actions of releases before 1.1.0 do not contain
+     * the statistics of the latest commits: the repository statistics of these actions are loaded during the rebuild.
+     *
+     * @param latest
+     *         the latest build to summarize, or {@code null} if the job has no builds
+     *
+     * @return the number of summaries in the store
+     */
+    int rebuild(@CheckForNull final Run<?, ?> latest) {
+        synchronized (state) {
+            state.rebuilds++;
+        }
+        return rebuildHistory(latest);
+    }
+
+    private int rebuildHistory(@CheckForNull final Run<?, ?> latest) {
+        Map<String, ForensicsSummary> summaries = new LinkedHashMap<>();
+        boolean isComplete = false;
+        try {
+            summarizeHistory(latest).forEach(summary -> summaries.put(getKey(summary), summary));
+            isComplete = true;
+        }
+        finally {
+            synchronized (state) {
+                state.rebuilds--;
+                if (isComplete) {
+                    for (Run<?, ?> run : state.queuedRuns) {
+                        summarize(run).forEach(summary -> summaries.put(getKey(summary), summary));
+                    }
+                    rewrite(summaries.values());
+                }
+                if (state.rebuilds == 0) {
+                    state.queuedRuns.clear();
+                }
+            }
+        }
+        return summaries.size();
+    }
+
+    private static List<ForensicsSummary> summarizeHistory(@CheckForNull final Run<?, ?> latest) {
+        List<ForensicsSummary> summaries = new ArrayList<>();
+        for (Run<?, ?> run = latest; run != null; run = run.getPreviousBuild()) {
+            if (run == latest || !run.isBuilding()) {
+                summaries.addAll(summarizeWithLegacyActions(run));
+            }
+        }
+        Collections.reverse(summaries);
+        return summaries;
+    }
+
+    private static List<ForensicsSummary> summarizeWithLegacyActions(final Run<?, ?> run) {
+        List<ForensicsSummary> summaries = new ArrayList<>();
+        for (ForensicsBuildAction action : run.getActions(ForensicsBuildAction.class)) {
+            if (action.hasCommitStatistics()) {
+                summaries.add(ForensicsSummary.of(run, action));
+            }
+            else {
+                summaries.add(ForensicsSummary.of(run, action, action.getResult().getLatestStatistics()));
+            }
+        }
+        for (CommitStatisticsBuildAction action : run.getActions(CommitStatisticsBuildAction.class)) {
+            summaries.add(ForensicsSummary.of(run, action));
+        }
+        return summaries;
+    }
+
+    /**
+     * Summarizes the forensics actions of the specified build. The repository statistics of the actions are not
+     * loaded.
+     *
+     * @param run
+     *         the build to summarize
+     *
+     * @return the summaries of the actions
+     */
+    static List<ForensicsSummary> summarize(final Run<?, ?> run) {
+        List<ForensicsSummary> summaries = new ArrayList<>();
+        for (ForensicsBuildAction action : run.getActions(ForensicsBuildAction.class)) {
+            summaries.add(ForensicsSummary.of(run, action));
+        }
+        for (CommitStatisticsBuildAction action : run.getActions(CommitStatisticsBuildAction.class)) {
+            summaries.add(ForensicsSummary.of(run, action));
+        }
+        return summaries;
+    }
+
+    /**
+     * Removes the states of all stores in the specified folder of a job.
+     *
+     * @param rootDir
+     *         the folder of the job
+     */
+    @VisibleForTesting
+    static void removeStates(final Path rootDir) {
+        var folder = rootDir.toAbsolutePath();
+        STATES.keySet().removeIf(path -> path.startsWith(folder));
+    }
+
+    /**
+     * Removes the states of all stores whose job folder does not exist anymore, e.g., since the job has been renamed or
+     * moved.
+     */
+    @VisibleForTesting
+    static void removeObsoleteStates() {
+        STATES.keySet().removeIf(path -> !Files.isDirectory(path.getParent()));
+    }
+
+    @VisibleForTesting
+    static boolean hasState(final Path file) {
+        return STATES.containsKey(file.toAbsolutePath());
+    }
+
+    /**
+     * The state of the store of a job that is shared by all instances for the same file. Serves as lock for the file.
+     */
+    private static final class State {
+        private int rebuilds;
+        private final List<Run<?, ?>> queuedRuns = new ArrayList<>();
+        private long intactLength = UNKNOWN;
+        private int removals;
+    }
+
+    /**
+     * The content of the file of a store.
+     */
+    private static final class Contents {
+        static final Contents MISSING = new Contents(List.of(), 0, 0, 0, 0);
+        static final Contents UNREADABLE = new Contents(List.of(), 0, 0, 0, 0);
+
+        private final List<ForensicsSummary> summaries;
+        private final int frames;
+        private final int damagedFrames;
+        private final int validLength;
+        private final int length;
+
+        Contents(final List<ForensicsSummary> summaries, final int frames, final int damagedFrames,
+                final int validLength, final int length) {
+            this.summaries = summaries;
+            this.frames = frames;
+            this.damagedFrames = damagedFrames;
+            this.validLength = validLength;
+            this.length = length;
+        }
+
+        List<ForensicsSummary> getSummaries() {
+            return new ArrayList<>(summaries);
+        }
+
+        /**
+         * Returns the number of intact frames, including the frames of summaries that have been replaced or removed
+         * afterward.
+         *
+         * @return the number of frames
+         */
+        int getFrames() {
+            return frames;
+        }
+
+        int getValidLength() {
+            return validLength;
+        }
+
+        boolean hasIncompleteFrame() {
+            return validLength < length;
+        }
+
+        /**
+         * Returns whether the file has been read completely: only an incomplete frame at the end of the file is
+         * tolerated, since such a frame is the result of an interrupted append.
+         *
+         * @return {@code true} if the file is intact, {@code false} if the file is missing or damaged
+         */
+        boolean isIntact() {
+            return this != MISSING && this != UNREADABLE && damagedFrames == 0;
+        }
+    }
+
+    /**
+     * Records the summaries of completed builds and removes the summaries of deleted builds.
+     */
+    @Extension
+    public static class SummaryListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+            var job = run.getParent();
+            var store = findStore(job);
+            if (store.isPresent()) {
+                store.get().record(run);
+            }
+            else if (hasResults(run)) {
+                getStore(job).ifPresent(created -> created.record(run));
+            }
+        }
+
+        private boolean hasResults(final Run<?, ?> run) {
+            return !run.getActions(ForensicsBuildAction.class).isEmpty()
+                    || !run.getActions(CommitStatisticsBuildAction.class).isEmpty();
+        }
+
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            findStore(run.getParent()).ifPresent(store -> store.remove(run.getNumber()));
+        }
+    }
+
+    /**
+     * Removes the states of the stores of deleted, renamed, or moved jobs.
+     */
+    @Extension
+    public static class JobChangeListener extends ItemListener {
+        @Override
+        public void onDeleted(final Item item) {
+            removeStates(item.getRootDir().toPath());
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            removeObsoleteStates();
+        }
+    }
+}
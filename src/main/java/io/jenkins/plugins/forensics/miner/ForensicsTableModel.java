@@ -2,8 +2,11 @@ package io.jenkins.plugins.forensics.miner;
 
 import org.apache.commons.io.FilenameUtils;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import io.jenkins.plugins.datatables.DetailedCell;
@@ -12,6 +15,7 @@ import io.jenkins.plugins.datatables.TableColumn.ColumnBuilder;
 import io.jenkins.plugins.datatables.TableColumn.ColumnCss;
 import io.jenkins.plugins.datatables.TableColumn.ColumnType;
 import io.jenkins.plugins.datatables.TableModel;
+import io.jenkins.plugins.forensics.miner.SortedFileStatistics.SortKey;
 
 import static j2html.TagCreator.*;
 
@@ -32,9 +36,20 @@ import static j2html.TagCreator.*;
  * @author Ullrich Hafner
  */
 public class ForensicsTableModel extends TableModel {
-    private final RepositoryStatistics statistics;
+    private final Supplier<RepositoryStatistics> statistics;
 
     ForensicsTableModel(final RepositoryStatistics statistics) {
+        this(() -> statistics);
+    }
+
+    /**
+     * Creates a new instance of {@link ForensicsTableModel}. The statistics are obtained only if the rows of the table
+     * are requested, so rendering the columns of the table does not require loading the statistics.
+     *
+     * @param statistics
+     *         provides the statistics to show in the table
+     */
+    ForensicsTableModel(final Supplier<RepositoryStatistics> statistics) {
         super();
 
         this.statistics = statistics;
@@ -87,7 +102,83 @@ public class ForensicsTableModel extends TableModel {
 
     @Override
     public List<Object> getRows() {
-        return statistics.getFileStatistics().stream().map(ForensicsRow::new).collect(Collectors.toList());
+        var repositoryStatistics = statistics.get();
+        var pathIndex = repositoryStatistics.getPathIndex();
+        return repositoryStatistics.getFileStatistics()
+                .stream()
+                .map(file -> new ForensicsRow(file, pathIndex))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a single page of the rows of this table, as required by the server-side processing mode of DataTables.
+     * In contrast to {@link #getRows()} only the rows of the visible page are created. The rows are sorted and
+     * filtered using the precomputed sort orders of the {@link RepositoryStatistics}.
+     *
+     * @param start
+     *         the index of the first row of the page
+     * @param length
+     *         the maximum number of rows of the page, a negative value selects all remaining rows
+     * @param sortColumn
+     *         the index of the column to sort the rows by
+     * @param ascending
+     *         determines whether to sort in ascending or descending order
+     * @param search
+     *         the search term to filter the rows by (matches the path of the files), an empty term matches all rows
+     *
+     * @return the page
+     */
+    public TablePage getPage(final int start, final int length, final int sortColumn, final boolean ascending,
+            final String search) {
+        List<ForensicsRow> rows = new ArrayList<>();
+        var repositoryStatistics = statistics.get();
+        var sortedFiles = repositoryStatistics.getSortedFiles();
+        var pathIndex = repositoryStatistics.getPathIndex();
+        int filtered = sortedFiles.findPage(SortKey.fromColumn(sortColumn), ascending, search, start, length,
+                file -> rows.add(new ForensicsRow(file, pathIndex)));
+        return new TablePage(sortedFiles.size(), filtered, rows);
+    }
+
+    /**
+     * A single page of the rows of the table, along with the number of available rows.
+     */
+    public static class TablePage {
+        private final int recordsTotal;
+        private final int recordsFiltered;
+        private final List<ForensicsRow> data;
+
+        TablePage(final int recordsTotal, final int recordsFiltered, final List<ForensicsRow> data) {
+            this.recordsTotal = recordsTotal;
+            this.recordsFiltered = recordsFiltered;
+            this.data = data;
+        }
+
+        /**
+         * Returns the total number of rows of the table.
+         *
+         * @return the total number of rows
+         */
+        public int getRecordsTotal() {
+            return recordsTotal;
+        }
+
+        /**
+         * Returns the number of rows that match the search term.
+         *
+         * @return the number of filtered rows
+         */
+        public int getRecordsFiltered() {
+            return recordsFiltered;
+        }
+
+        /**
+         * Returns the rows of this page.
+         *
+         * @return the rows
+         */
+        public List<ForensicsRow> getData() {
+            return data;
+        }
     }
 
     /**
@@ -95,9 +186,16 @@ public class ForensicsTableModel extends TableModel {
      */
     public static class ForensicsRow {
         private final FileStatistics fileStatistics;
+        @CheckForNull
+        private final FilePathIndex pathIndex;
 
         ForensicsRow(final FileStatistics fileStatistics) {
+            this(fileStatistics, null);
+        }
+
+        ForensicsRow(final FileStatistics fileStatistics, @CheckForNull final FilePathIndex pathIndex) {
             this.fileStatistics = fileStatistics;
+            this.pathIndex = pathIndex;
         }
 
         /**
@@ -109,7 +207,8 @@ public class ForensicsTableModel extends TableModel {
         public DetailedCell<?> getFileName() {
             var fullPath = fileStatistics.getFileName();
             var fileName = FilenameUtils.getName(fullPath);
-            var link = a().withHref("fileName." + fullPath.hashCode())
+            var fileId = pathIndex == null ? String.valueOf(fullPath.hashCode()) : pathIndex.getId(fullPath);
+            var link = a().withHref("fileName." + fileId)
                     .withText(fileName)
                     .attr("data-bs-toggle", "tooltip")
                     .attr("data-bs-placement", "left")
@@ -1,7 +1,13 @@
 package io.jenkins.plugins.forensics.miner;
 
+import edu.hm.hafner.echarts.PieChartModel;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
 import java.io.IOException;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import tools.jackson.databind.ObjectMapper;
 
 import org.kohsuke.stapler.StaplerRequest2;
@@ -21,9 +27,18 @@ import io.jenkins.plugins.forensics.util.CommitDecoratorFactory;
  * @author Ullrich Hafner
  */
 public class ForensicsViewModel extends DefaultAsyncTableContentProvider implements ModelObject {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final Run<?, ?> owner;
-    private final RepositoryStatistics repositoryStatistics;
+    private final Supplier<RepositoryStatistics> statisticsSupplier;
     private final String scmKey;
+    @CheckForNull
+    private final Map<Integer, Integer> authorsDistribution;
+    @CheckForNull
+    private final Map<Integer, Integer> commitsDistribution;
+
+    @CheckForNull
+    private RepositoryStatistics repositoryStatistics;
 
     /**
      * Creates a new {@link ForensicsViewModel} instance.
@@ -36,11 +51,41 @@ public class ForensicsViewModel extends DefaultAsyncTableContentProvider impleme
      *         key of the repository
      */
     ForensicsViewModel(final Run<?, ?> owner, final RepositoryStatistics repositoryStatistics, final String scmKey) {
+        this(owner, () -> repositoryStatistics, scmKey, null, null);
+    }
+
+    /**
+     * Creates a new {@link ForensicsViewModel} instance. The repository statistics are loaded on first use only: the
+     * pie charts are rendered from the precomputed distributions if available.
+     *
+     * @param owner
+     *         the build as owner of this view
+     * @param statisticsSupplier
+     *         provides the statistics to show in the view
+     * @param scmKey
+     *         key of the repository
+     * @param authorsDistribution
+     *         the precomputed distribution of the number of authors, or {@code null} if not available
+     * @param commitsDistribution
+     *         the precomputed distribution of the number of commits, or {@code null} if not available
+     */
+    ForensicsViewModel(final Run<?, ?> owner, final Supplier<RepositoryStatistics> statisticsSupplier,
+            final String scmKey, @CheckForNull final Map<Integer, Integer> authorsDistribution,
+            @CheckForNull final Map<Integer, Integer> commitsDistribution) {
         super();
 
         this.owner = owner;
-        this.repositoryStatistics = repositoryStatistics;
+        this.statisticsSupplier = statisticsSupplier;
         this.scmKey = scmKey;
+        this.authorsDistribution = authorsDistribution;
+        this.commitsDistribution = commitsDistribution;
+    }
+
+    private synchronized RepositoryStatistics getRepositoryStatistics() {
+        if (repositoryStatistics == null) {
+            repositoryStatistics = statisticsSupplier.get();
+        }
+        return repositoryStatistics;
     }
 
     public Run<?, ?> getOwner() {
@@ -58,7 +103,32 @@ public class ForensicsViewModel extends DefaultAsyncTableContentProvider impleme
 
     @Override
     public ForensicsTableModel getTableModel(final String id) {
-        return new ForensicsTableModel(repositoryStatistics);
+        return new ForensicsTableModel(this::getRepositoryStatistics);
+    }
+
+    /**
+     * Returns a single page of the details table. Called by the server-side processing mode of the details table, so
+     * only the visible rows are created and sent to the browser.
+     *
+     * @param start
+     *         the index of the first row of the page
+     * @param length
+     *         the maximum number of rows of the page, a negative value selects all remaining rows
+     * @param sortColumn
+     *         the index of the column to sort the rows by
+     * @param sortDirection
+     *         the sort direction, either {@code asc} or {@code desc}
+     * @param search
+     *         the search term to filter the rows by
+     *
+     * @return the page as JSON
+     */
+    @JavaScriptMethod
+    @SuppressWarnings("unused") // Called by jelly view
+    public String getTablePage(final int start, final int length, final int sortColumn, final String sortDirection,
+            final String search) {
+        return OBJECT_MAPPER.writeValueAsString(getTableModel(ForensicsJobAction.FORENSICS_ID)
+                .getPage(start, length, sortColumn, !"desc".equalsIgnoreCase(sortDirection), search));
     }
 
     /**
@@ -69,8 +139,8 @@ public class ForensicsViewModel extends DefaultAsyncTableContentProvider impleme
     @JavaScriptMethod
     @SuppressWarnings("unused") // Called by jelly view
     public String getAuthorsModel() {
-        return new ObjectMapper().writeValueAsString(new SizePieChart().create(repositoryStatistics,
-                FileStatistics::getNumberOfAuthors, 5, 10, 15, 25, 50));
+        return OBJECT_MAPPER.writeValueAsString(createPieChart(authorsDistribution,
+                FileStatistics::getNumberOfAuthors, SizePieChart.getAuthorsBreakpoints()));
     }
 
     /**
@@ -81,8 +151,17 @@ public class ForensicsViewModel extends DefaultAsyncTableContentProvider impleme
     @JavaScriptMethod
     @SuppressWarnings("unused") // Called by jelly view
     public String getCommitsModel() {
-        return new ObjectMapper().writeValueAsString(new SizePieChart().create(repositoryStatistics,
-                FileStatistics::getNumberOfCommits, 5, 10, 25, 50, 100, 250));
+        return OBJECT_MAPPER.writeValueAsString(createPieChart(commitsDistribution,
+                FileStatistics::getNumberOfCommits, SizePieChart.getCommitsBreakpoints()));
+    }
+
+    private PieChartModel createPieChart(@CheckForNull final Map<Integer, Integer> distribution,
+            final Function<FileStatistics, Integer> sizeMethod, final int... breakpoints) {
+        var chart = new SizePieChart();
+        if (distribution == null) {
+            return chart.create(getRepositoryStatistics(), sizeMethod, breakpoints);
+        }
+        return chart.create(distribution);
     }
 
     /**
@@ -102,7 +181,7 @@ public class ForensicsViewModel extends DefaultAsyncTableContentProvider impleme
         try {
             CommitDecorator decorator = CommitDecoratorFactory.findCommitDecorator(owner);
 
-            return new FileDetailsView(owner, link, repositoryStatistics, decorator);
+            return new FileDetailsView(owner, link, getRepositoryStatistics(), decorator);
         }
         catch (NoSuchElementException nse) {
             try {
@@ -0,0 +1,315 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instrumentation of a single mining run of a repository. Contains the durations of the individual phases of the
+ * mining run, the number of mined commits, and the size of the persisted statistics. All durations are given in
+ * milliseconds, all sizes in bytes.
+ *
+ * @author Ullrich Hafner
+ */
+public final class MiningMetrics implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L; // since 4.0.0
+
+    /** Value of the allocated bytes if the JVM does not support measuring the allocation of a thread. */
+    public static final long NOT_AVAILABLE = -1;
+
+    private final long loadDuration;
+    private final long miningDuration;
+    private final long aggregationDuration;
+    private final long serializationDuration;
+    private final long serializedSize;
+    private final int commitCount;
+    private final int diffItemCount;
+    private final int renameCount;
+    private final int deleteCount;
+    private final long allocatedBytes;
+
+    /**
+     * Creates empty metrics, used for builds that have been mined before the instrumentation has been introduced.
+     */
+    public MiningMetrics() {
+        this(0, 0, 0, 0, 0, 0, 0, 0, 0, NOT_AVAILABLE);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    MiningMetrics(final long loadDuration, final long miningDuration, final long aggregationDuration,
+            final long serializationDuration, final long serializedSize, final int commitCount,
+            final int diffItemCount, final int renameCount, final int deleteCount, final long allocatedBytes) {
+        this.loadDuration = loadDuration;
+        this.miningDuration = miningDuration;
+        this.aggregationDuration = aggregationDuration;
+        this.serializationDuration = serializationDuration;
+        this.serializedSize = serializedSize;
+        this.commitCount = commitCount;
+        this.diffItemCount = diffItemCount;
+        this.renameCount = renameCount;
+        this.deleteCount = deleteCount;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns a copy of these metrics that additionally contains the metrics of the serialization of the statistics.
+     *
+     * @param durationNanos
+     *         the duration of the serialization in nanoseconds
+     * @param size
+     *         the size of the serialized statistics in bytes
+     *
+     * @return the metrics including the serialization
+     */
+    MiningMetrics withSerialization(final long durationNanos, final long size) {
+        return new MiningMetrics(loadDuration, miningDuration, aggregationDuration, toMillis(durationNanos), size,
+                commitCount, diffItemCount, renameCount, deleteCount, allocatedBytes);
+    }
+
+    /**
+     * Returns the time to load the statistics of the previous build.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getLoadDuration() {
+        return loadDuration;
+    }
+
+    /**
+     * Returns the time spent in {@link RepositoryMiner#mine(RepositoryStatistics, int, edu.hm.hafner.util.FilteredLog)},
+     * including the time to aggregate the commits.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getMiningDuration() {
+        return miningDuration;
+    }
+
+    /**
+     * Returns the time spent to aggregate the mined commits into the {@link RepositoryStatistics}.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getAggregationDuration() {
+        return aggregationDuration;
+    }
+
+    /**
+     * Returns the time to persist the statistics in the build folder.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getSerializationDuration() {
+        return serializationDuration;
+    }
+
+    /**
+     * Returns the size of the statistics file in the build folder.
+     *
+     * @return the size in bytes
+     */
+    public long getSerializedSize() {
+        return serializedSize;
+    }
+
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    public int getDiffItemCount() {
+        return diffItemCount;
+    }
+
+    public int getRenameCount() {
+        return renameCount;
+    }
+
+    public int getDeleteCount() {
+        return deleteCount;
+    }
+
+    /**
+     * Returns the number of bytes that have been allocated on the heap by the thread that mined the repository.
+     * Allocations of other threads (e.g., partitions that are mined concurrently) are not included.
+     *
+     * @return the allocated bytes, or {@link #NOT_AVAILABLE} if the JVM does not support this measurement
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns all metrics as a map with stable keys, so they can be exported by other plugins.
+     *
+     * @return the metrics, mapped by their names
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("load.duration.ms", loadDuration);
+        metrics.put("mining.duration.ms", miningDuration);
+        metrics.put("aggregation.duration.ms", aggregationDuration);
+        metrics.put("serialization.duration.ms", serializationDuration);
+        metrics.put("serialization.size.bytes", serializedSize);
+        metrics.put("commits", (long) commitCount);
+        metrics.put("diff.items", (long) diffItemCount);
+        metrics.put("renames", (long) renameCount);
+        metrics.put("deletes", (long) deleteCount);
+        metrics.put("allocated.bytes", allocatedBytes);
+        return metrics;
+    }
+
+    /**
+     * Returns the number of bytes that have been allocated on the heap by the current thread so far.
+     *
+     * @return the allocated bytes, or {@link #NOT_AVAILABLE} if the JVM does not support this measurement
+     */
+    static long getAllocatedBytesOfCurrentThread() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean.getCurrentThreadAllocatedBytes();
+        }
+        return NOT_AVAILABLE;
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (MiningMetrics) o;
+        return loadDuration == that.loadDuration && miningDuration == that.miningDuration
+                && aggregationDuration == that.aggregationDuration
+                && serializationDuration == that.serializationDuration && serializedSize == that.serializedSize
+                && commitCount == that.commitCount && diffItemCount == that.diffItemCount
+                && renameCount == that.renameCount && deleteCount == that.deleteCount
+                && allocatedBytes == that.allocatedBytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(loadDuration, miningDuration, aggregationDuration, serializationDuration, serializedSize,
+                commitCount, diffItemCount, renameCount, deleteCount, allocatedBytes);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", MiningMetrics.class.getSimpleName() + "[", "]")
+                .add("loadDuration=" + loadDuration)
+                .add("miningDuration=" + miningDuration)
+                .add("aggregationDuration=" + aggregationDuration)
+                .add("serializationDuration=" + serializationDuration)
+                .add("serializedSize=" + serializedSize)
+                .add("commitCount=" + commitCount)
+                .add("diffItemCount=" + diffItemCount)
+                .add("renameCount=" + renameCount)
+                .add("deleteCount=" + deleteCount)
+                .add("allocatedBytes=" + allocatedBytes)
+                .toString();
+    }
+
+    /**
+     * Creates {@link MiningMetrics} instances while a repository is mined.
+     */
+    public static class MiningMetricsBuilder {
+        private long loadDuration;
+        private long miningDuration;
+        private long aggregationDuration;
+        private int commitCount;
+        private int diffItemCount;
+        private int renameCount;
+        private int deleteCount;
+        private long allocatedBytes = NOT_AVAILABLE;
+
+        /**
+         * Sets the time to load the statistics of the previous build.
+         *
+         * @param durationNanos
+         *         the duration in nanoseconds
+         *
+         * @return this
+         */
+        public MiningMetricsBuilder setLoadDuration(final long durationNanos) {
+            loadDuration = toMillis(durationNanos);
+            return this;
+        }
+
+        /**
+         * Sets the time spent to mine the repository.
+         *
+         * @param durationNanos
+         *         the duration in nanoseconds
+         *
+         * @return this
+         */
+        public MiningMetricsBuilder setMiningDuration(final long durationNanos) {
+            miningDuration = toMillis(durationNanos);
+            return this;
+        }
+
+        /**
+         * Sets the time spent to aggregate the mined commits.
+         *
+         * @param durationNanos
+         *         the duration in nanoseconds
+         *
+         * @return this
+         */
+        public MiningMetricsBuilder setAggregationDuration(final long durationNanos) {
+            aggregationDuration = toMillis(durationNanos);
+            return this;
+        }
+
+        /**
+         * Sets the number of commits, diff items, renames, and deletes that have been mined into the specified
+         * statistics.
+         *
+         * @param statistics
+         *         the mined statistics
+         *
+         * @return this
+         */
+        MiningMetricsBuilder setCommits(final RepositoryStatistics statistics) {
+            commitCount = statistics.getMinedCommitCount();
+            diffItemCount = statistics.getMinedDiffItemCount();
+            renameCount = statistics.getMinedMoveCount();
+            deleteCount = statistics.getMinedDeleteCount();
+            return this;
+        }
+
+        /**
+         * Sets the number of bytes that have been allocated on the heap while mining the repository.
+         *
+         * @param allocatedBytes
+         *         the allocated bytes, or {@link #NOT_AVAILABLE} if not measurable
+         *
+         * @return this
+         */
+        public MiningMetricsBuilder setAllocatedBytes(final long allocatedBytes) {
+            this.allocatedBytes = allocatedBytes;
+            return this;
+        }
+
+        /**
+         * Creates the metrics.
+         *
+         * @return the metrics
+         */
+        public MiningMetrics build() {
+            return new MiningMetrics(loadDuration, miningDuration, aggregationDuration, 0, 0, commitCount,
+                    diffItemCount, renameCount, deleteCount, allocatedBytes);
+        }
+    }
+}
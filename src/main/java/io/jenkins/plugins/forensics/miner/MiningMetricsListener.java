@@ -0,0 +1,66 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.ExtensionPoint;
+import hudson.model.Run;
+
+import io.jenkins.plugins.util.JenkinsFacade;
+
+/**
+ * Jenkins extension point that allows plugins to collect the {@link MiningMetrics} of each mining run, e.g. to export
+ * them to a monitoring system. The metrics of previous runs are available using
+ * {@link ForensicsBuildAction#getMiningMetrics()}.
+ *
+ * @author Ullrich Hafner
+ */
+public abstract class MiningMetricsListener implements ExtensionPoint {
+    private static final Logger LOGGER = Logger.getLogger(MiningMetricsListener.class.getName());
+
+    /**
+     * Called after a repository has been mined and the statistics have been persisted.
+     *
+     * @param run
+     *         the build that mined the repository
+     * @param scmKey
+     *         key of the repository
+     * @param metrics
+     *         the metrics of the mining run
+     */
+    public abstract void onMined(Run<?, ?> run, String scmKey, MiningMetrics metrics);
+
+    /**
+     * Notifies all registered listeners about the specified mining run. A listener that fails does neither affect the
+     * build nor the other listeners.
+     *
+     * @param run
+     *         the build that mined the repository
+     * @param scmKey
+     *         key of the repository
+     * @param metrics
+     *         the metrics of the mining run
+     */
+    static void fireOnMined(final Run<?, ?> run, final String scmKey, final MiningMetrics metrics) {
+        fireOnMined(findAllExtensions(), run, scmKey, metrics);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    static void fireOnMined(final List<MiningMetricsListener> listeners, final Run<?, ?> run, final String scmKey,
+            final MiningMetrics metrics) {
+        for (MiningMetricsListener listener : listeners) {
+            try {
+                listener.onMined(run, scmKey, metrics);
+            }
+            catch (RuntimeException exception) {
+                LOGGER.log(Level.WARNING, exception, () -> "Mining metrics listener %s failed for %s".formatted(
+                        listener.getClass().getName(), run));
+            }
+        }
+    }
+
+    private static List<MiningMetricsListener> findAllExtensions() {
+        return new JenkinsFacade().getExtensionsFor(MiningMetricsListener.class);
+    }
+}
@@ -0,0 +1,36 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.hm.hafner.echarts.SeriesBuilder;
+
+/**
+ * Builds one x-axis point for the series of a line chart showing the durations of the phases of a mining run.
+ *
+ * @author Ullrich Hafner
+ */
+class MiningMetricsSeriesBuilder extends SeriesBuilder<ForensicsBuildAction> {
+    static final String LOAD_KEY = "load";
+    static final String MINING_KEY = "mining";
+    static final String AGGREGATION_KEY = "aggregation";
+    static final String SERIALIZATION_KEY = "serialization";
+
+    @Override
+    protected Map<String, Integer> computeSeries(final ForensicsBuildAction current) {
+        return computeMiningMetricsSeries(current.getMiningMetrics());
+    }
+
+    static Map<String, Integer> computeMiningMetricsSeries(final MiningMetrics metrics) {
+        Map<String, Integer> series = new HashMap<>();
+        series.put(LOAD_KEY, toInt(metrics.getLoadDuration()));
+        series.put(MINING_KEY, toInt(metrics.getMiningDuration()));
+        series.put(AGGREGATION_KEY, toInt(metrics.getAggregationDuration()));
+        series.put(SERIALIZATION_KEY, toInt(metrics.getSerializationDuration()));
+        return series;
+    }
+
+    private static int toInt(final long duration) {
+        return (int) Math.min(duration, Integer.MAX_VALUE);
+    }
+}
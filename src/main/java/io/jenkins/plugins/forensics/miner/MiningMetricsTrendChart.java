@@ -0,0 +1,81 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.echarts.BuildResult;
+import edu.hm.hafner.echarts.ChartModelConfiguration;
+import edu.hm.hafner.echarts.LineSeries;
+import edu.hm.hafner.echarts.LineSeries.FilledMode;
+import edu.hm.hafner.echarts.LineSeries.StackedMode;
+import edu.hm.hafner.echarts.LinesChartModel;
+import edu.hm.hafner.echarts.LinesDataSet;
+import edu.hm.hafner.echarts.SeriesBuilder;
+
+import io.jenkins.plugins.echarts.JenkinsPalette;
+
+/**
+ * Builds the Java side model for a trend chart showing the durations of the phases of the mining runs in milliseconds.
+ * The trend chart contains one series for each phase: loading the previous statistics, mining the repository,
+ * aggregating the commits, and persisting the statistics. The number of builds to consider is controlled by a {@link
+ * ChartModelConfiguration} instance. The created model object can be serialized to JSON and can be used 1:1 as an
+ * ECharts configuration object in the corresponding JS file.
+ *
+ * @author Ullrich Hafner
+ */
+class MiningMetricsTrendChart {
+    /**
+     * Creates the chart for the specified results.
+     *
+     * @param results
+     *         the forensics results to render - these results must be provided in descending order, i.e. the current
+     *         build is the head of the list, then the previous builds, and so on
+     * @param configuration
+     *         the chart configuration to be used
+     *
+     * @return the chart model, ready to be serialized to JSON
+     */
+    LinesChartModel create(final Iterable<? extends BuildResult<ForensicsBuildAction>> results,
+            final ChartModelConfiguration configuration) {
+        return create(results, configuration, new MiningMetricsSeriesBuilder());
+    }
+
+    /**
+     * Creates the chart for the specified results.
+     *
+     * @param results
+     *         the forensics results to render - these results must be provided in descending order, i.e. the current
+     *         build is the head of the list, then the previous builds, and so on
+     * @param configuration
+     *         the chart configuration to be used
+     * @param seriesBuilder
+     *         the builder to plot the data points
+     * @param <T>
+     *         the type of the action that stores the results
+     *
+     * @return the chart model, ready to be serialized to JSON
+     */
+    <T> LinesChartModel create(final Iterable<? extends BuildResult<T>> results,
+            final ChartModelConfiguration configuration, final SeriesBuilder<T> seriesBuilder) {
+        var dataSet = seriesBuilder.createDataSet(configuration, results);
+
+        var model = new LinesChartModel(dataSet);
+        if (dataSet.getDomainAxisSize() > 0) {
+            var load = getSeries(dataSet, Messages.TrendChart_Load_Legend_Label(), JenkinsPalette.BLUE,
+                    MiningMetricsSeriesBuilder.LOAD_KEY);
+            var mining = getSeries(dataSet, Messages.TrendChart_Mining_Legend_Label(), JenkinsPalette.ORANGE,
+                    MiningMetricsSeriesBuilder.MINING_KEY);
+            var aggregation = getSeries(dataSet, Messages.TrendChart_Aggregation_Legend_Label(),
+                    JenkinsPalette.GREEN, MiningMetricsSeriesBuilder.AGGREGATION_KEY);
+            var serialization = getSeries(dataSet, Messages.TrendChart_Serialization_Legend_Label(),
+                    JenkinsPalette.RED, MiningMetricsSeriesBuilder.SERIALIZATION_KEY);
+
+            model.addSeries(load, mining, aggregation, serialization);
+        }
+        return model;
+    }
+
+    private LineSeries getSeries(final LinesDataSet dataSet,
+            final String name, final JenkinsPalette color, final String dataSetId) {
+        var series = new LineSeries(name, color.normal(), StackedMode.SEPARATE_LINES, FilledMode.LINES);
+        series.addAll(dataSet.getSeries(dataSetId));
+        return series;
+    }
+}
@@ -0,0 +1,51 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Obtains the results of mining tasks that have been executed concurrently. The failure of a task is rethrown in the
+ * calling thread, so that concurrent mining fails in the same way as sequential mining.
+ *
+ * @author Ullrich Hafner
+ */
+final class MiningTasks {
+    private MiningTasks() {
+        // prevents instantiation
+    }
+
+    /**
+     * Waits for the specified task and returns its result. If the task has been interrupted or failed with an
+     * unchecked exception, then this exception is rethrown. Other exceptions are wrapped into an
+     * {@link IllegalStateException}.
+     *
+     * @param task
+     *         the task to wait for
+     * @param description
+     *         the description of the task, used in the message of a wrapping exception
+     * @param <T>
+     *         the type of the result
+     *
+     * @return the result of the task
+     * @throws InterruptedException
+     *         if the task or the waiting thread has been interrupted
+     */
+    static <T> T getResult(final Future<T> task, final String description) throws InterruptedException {
+        try {
+            return task.get();
+        }
+        catch (ExecutionException exception) {
+            var cause = exception.getCause();
+            if (cause instanceof InterruptedException interruptedException) {
+                throw interruptedException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Mining of %s failed".formatted(description), cause);
+        }
+    }
+}
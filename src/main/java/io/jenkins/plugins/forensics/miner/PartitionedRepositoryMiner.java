@@ -0,0 +1,134 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * A streaming miner that mines consecutive ranges of the history of a repository concurrently. Each range is aggregated
+ * into partial statistics while its commits are mined, so the commits do not need to be kept in memory until all ranges
+ * are finished. Afterward, the partial statistics of all ranges are merged in the order of the history, so the result is
+ * the same as the result of {@link #mine(RepositoryStatistics, FilteredLog)}.
+ *
+ * @author Ullrich Hafner
+ */
+public abstract class PartitionedRepositoryMiner extends StreamingRepositoryMiner {
+    @Serial
+    private static final long serialVersionUID = 5581416417307418458L;
+
+    /**
+     * Obtains commit statistics for a source code repository using several threads. If there are no previous
+     * statistics (i.e., the whole history needs to be mined), then the history is split into consecutive ranges by
+     * {@link #partitionHistory(int, FilteredLog)}. These ranges are mined concurrently. If there are previous
+     * statistics, or if the history cannot be split, then the commits are mined sequentially.
+     *
+     * @param previousStatistics
+     *         the repository statistics of the previous build - if there is no such build then an empty instance will
+     *         be provided
+     * @param partitions
+     *         the maximum number of partitions to mine concurrently
+     * @param logger
+     *         the logger to use
+     *
+     * @return the aggregated statistics containing the commit statistics for the current build and the previous builds
+     * @throws InterruptedException
+     *         if the user canceled the processing
+     */
+    @Override
+    public RepositoryStatistics mine(final RepositoryStatistics previousStatistics, final int partitions,
+            final FilteredLog logger) throws InterruptedException {
+        if (partitions < 2 || previousStatistics.hasLatestCommitId()) {
+            return mine(previousStatistics, logger);
+        }
+        List<CommitRange> ranges = partitionHistory(partitions, logger);
+        if (ranges.size() < 2) {
+            return mine(previousStatistics, logger);
+        }
+
+        logger.logInfo("-> mining %d partitions of the history concurrently", ranges.size());
+        var executor = Executors.newFixedThreadPool(Math.min(partitions, ranges.size()),
+                new NamingThreadFactory(new DaemonThreadFactory(), "RepositoryMinerPartition"));
+        try {
+            List<Future<RepositoryStatistics>> results = new ArrayList<>();
+            List<FilteredLog> logs = new ArrayList<>();
+            for (CommitRange range : ranges) {
+                var partitionLogger = new FilteredLog("Errors while mining commits %s".formatted(range));
+                logs.add(partitionLogger);
+                results.add(executor.submit(mineRange(range, partitionLogger)));
+            }
+            List<RepositoryStatistics> statistics = new ArrayList<>();
+            for (int partition = 0; partition < results.size(); partition++) {
+                statistics.add(MiningTasks.getResult(results.get(partition), "partition"));
+                copyMessages(logs.get(partition), logger);
+            }
+            return RepositoryStatistics.merge(previousStatistics, statistics);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean supportsPartitions() {
+        return true;
+    }
+
+    private Callable<RepositoryStatistics> mineRange(final CommitRange range, final FilteredLog logger) {
+        return () -> {
+            var statistics = RepositoryStatistics.createPartition();
+            statistics.setLatestCommitId(mineCommits(range, statistics.openSink(), logger));
+            return statistics;
+        };
+    }
+
+    private void copyMessages(final FilteredLog source, final FilteredLog target) {
+        source.getInfoMessages().forEach(target::logInfo);
+        source.getErrorMessages().forEach(target::logError);
+    }
+
+    /**
+     * Splits the complete history of the repository into the specified number of consecutive ranges of roughly equal
+     * size. The ranges must be returned in the order of the history, the first range starts with the initial commit
+     * and the last range ends with the latest commit of the repository. If the history is too small to be split, then
+     * a single range or no range at all can be returned: then the history is mined sequentially.
+     *
+     * @param partitions
+     *         the requested number of partitions
+     * @param logger
+     *         the logger to use
+     *
+     * @return the ranges of the history
+     * @throws InterruptedException
+     *         if the user canceled the processing
+     */
+    protected abstract List<CommitRange> partitionHistory(int partitions, FilteredLog logger)
+            throws InterruptedException;
+
+    /**
+     * Obtains the commits of the specified range of the history and pushes them in batches to the specified sink. This
+     * method is called concurrently for different ranges, so implementations must not share mutable state between
+     * the invocations. The batches must be provided in chronological order.
+     *
+     * @param range
+     *         the range of the history to mine
+     * @param sink
+     *         the sink that consumes the commits
+     * @param logger
+     *         the logger to use
+     *
+     * @return the ID of the latest commit mined
+     * @throws InterruptedException
+     *         if the user canceled the processing
+     * @see #partitionHistory(int, FilteredLog)
+     */
+    protected abstract String mineCommits(CommitRange range, CommitDiffItemSink sink, FilteredLog logger)
+            throws InterruptedException;
+}
@@ -0,0 +1,50 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.kohsuke.args4j.Argument;
+import hudson.Extension;
+import hudson.cli.CLICommand;
+import hudson.model.Item;
+import hudson.model.Job;
+
+/**
+ * Rebuilds the {@link ForensicsSummaryStore store of the forensics summaries} of a job from the history of the job.
+ * The store is created in the background when the first build with forensics results completes, and it is rebuilt
+ * automatically if it is damaged. This command is required only if the store does not match the builds anymore (e.g.,
+ * after builds have been removed or imported manually).
+ *
+ * <p>
+ * Usage: {@code java -jar jenkins-cli.jar rebuild-forensics-summaries JOB}
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+public class RebuildForensicsSummariesCommand extends CLICommand {
+    @Argument(metaVar = "JOB", usage = "Name of the job", required = true)
+    @SuppressWarnings("PMD.ImmutableField") // injected by args4j
+    private Job<?, ?> job;
+
+    @Override
+    public String getName() {
+        return "rebuild-forensics-summaries";
+    }
+
+    @Override
+    public String getShortDescription() {
+        return Messages.RebuildSummaries_ShortDescription();
+    }
+
+    @Override
+    protected int run() {
+        job.checkPermission(Item.CONFIGURE);
+
+        var store = ForensicsSummaryStore.getStore(job);
+        if (store.isEmpty()) {
+            stderr.println("Job '%s' has no folder to store the summaries".formatted(job.getFullName()));
+            return 1;
+        }
+        int count = store.get().rebuild(job.getLastBuild());
+        stdout.println(Messages.RebuildSummaries_Result(count, job.getFullName()));
+        return 0;
+    }
+}
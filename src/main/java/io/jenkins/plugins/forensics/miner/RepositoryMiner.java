@@ -17,7 +17,10 @@ public abstract class RepositoryMiner implements Serializable {
     private static final long serialVersionUID = -8878714986510536182L;
 
     /**
-     * Obtains commit statistics for a source code repository.
+     * Obtains commit statistics for a source code repository. The new commits should be added to the statistics using
+     * {@link RepositoryStatistics#addAll(java.util.List)}: then the commits of the build can be persisted as a delta to
+     * the previous statistics. Miners that provide the commits as a stream of batches should extend {@link
+     * StreamingRepositoryMiner}.
      *
      * @param previousStatistics
      *         the repository statistics of the previous build - if there is no such build then an empty instance will
@@ -32,6 +35,40 @@ public abstract class RepositoryMiner implements Serializable {
     public abstract RepositoryStatistics mine(RepositoryStatistics previousStatistics, FilteredLog logger)
             throws InterruptedException;
 
+    /**
+     * Obtains commit statistics for a source code repository using several threads. The default implementation mines
+     * the commits sequentially using {@link #mine(RepositoryStatistics, FilteredLog)}. Miners that can mine consecutive
+     * ranges of the history concurrently should extend {@link PartitionedRepositoryMiner}.
+     *
+     * @param previousStatistics
+     *         the repository statistics of the previous build - if there is no such build then an empty instance will
+     *         be provided
+     * @param partitions
+     *         the maximum number of partitions to mine concurrently
+     * @param logger
+     *         the logger to use
+     *
+     * @return the aggregated statistics containing the commit statistics for the current build and the previous builds
+     * @throws InterruptedException
+     *         if the user canceled the processing
+     * @see #supportsPartitions()
+     */
+    public RepositoryStatistics mine(final RepositoryStatistics previousStatistics, final int partitions,
+            final FilteredLog logger) throws InterruptedException {
+        return mine(previousStatistics, logger);
+    }
+
+    /**
+     * Returns whether this miner mines partitions of the history concurrently in {@link #mine(RepositoryStatistics,
+     * int, FilteredLog)}.
+     *
+     * @return {@code true} if partitioned mining is supported, {@code false} if the commits are always mined
+     *         sequentially
+     */
+    public boolean supportsPartitions() {
+        return false;
+    }
+
     /**
      * A repository miner that does nothing.
      */
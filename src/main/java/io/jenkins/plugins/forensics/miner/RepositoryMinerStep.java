@@ -3,10 +3,16 @@ package io.jenkins.plugins.forensics.miner;
 import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
@@ -23,8 +29,14 @@ import hudson.scm.SCM;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Publisher;
 import hudson.tasks.Recorder;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
 import jenkins.tasks.SimpleBuildStep;
 
+import io.jenkins.plugins.forensics.miner.MiningMetrics.MiningMetricsBuilder;
 import io.jenkins.plugins.forensics.util.ScmResolver;
 import io.jenkins.plugins.util.BuildAction;
 import io.jenkins.plugins.util.LogHandler;
@@ -47,6 +59,9 @@ import io.jenkins.plugins.util.LogHandler;
  */
 public class RepositoryMinerStep extends Recorder implements SimpleBuildStep {
     private String scm = StringUtils.EMPTY;
+    private int snapshotInterval; // @since 4.0.0
+    private int parallelism = 1; // @since 4.0.0
+    private int partitions = 1; // @since 4.0.0
 
     /**
      * Creates a new instance of {@link  RepositoryMinerStep}.
@@ -70,6 +85,12 @@ public class RepositoryMinerStep extends Recorder implements SimpleBuildStep {
         if (scm == null) {
             scm = StringUtils.EMPTY;
         }
+        if (parallelism == 0) {
+            parallelism = 1;
+        }
+        if (partitions == 0) {
+            partitions = 1;
+        }
         return this;
     }
 
@@ -89,51 +110,187 @@ public class RepositoryMinerStep extends Recorder implements SimpleBuildStep {
         return scm;
     }
 
+    /**
+     * Sets the maximum number of builds between two full snapshots of the repository statistics. If this value is
+     * greater than 1, then the builds in between the snapshots persist only the commits that have been mined in the
+     * build. Otherwise, every build persists a full snapshot of the repository statistics.
+     *
+     * @param snapshotInterval
+     *         the maximum number of builds between two full snapshots
+     */
+    @DataBoundSetter
+    public void setSnapshotInterval(final int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Sets the maximum number of repositories that will be mined concurrently. If this value is greater than 1, then
+     * the repositories of a build that uses several SCMs will be mined in parallel. Since each repository might be
+     * mined in several partitions, the total number of mining threads is bounded by {@code parallelism * partitions}.
+     *
+     * @param parallelism
+     *         the maximum number of repositories that will be mined concurrently
+     */
+    @DataBoundSetter
+    public void setParallelism(final int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of partitions of the history of a repository that will be mined concurrently. If this
+     * value is greater than 1 and there are no statistics of a previous build, then the complete history of a
+     * repository will be split into up to the specified number of partitions that are mined in parallel (if supported
+     * by the SCM). Since several repositories might be mined concurrently, the total number of mining threads is
+     * bounded by {@code parallelism * partitions}.
+     *
+     * @param partitions
+     *         the maximum number of partitions of a history that will be mined concurrently
+     */
+    @DataBoundSetter
+    public void setPartitions(final int partitions) {
+        this.partitions = Math.max(1, partitions);
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
     @Override
     public void perform(@NonNull final Run<?, ?> run, @NonNull final FilePath workspace, @NonNull final EnvVars env,
             @NonNull final Launcher launcher, @NonNull final TaskListener listener) throws InterruptedException {
-        mineRepositories(run, workspace, listener);
+        mineRepositories(new ScmResolver().getScms(run, getScm()), run, workspace, listener);
     }
 
-    private void mineRepositories(final Run<?, ?> run, final FilePath workspace, final TaskListener listener)
-            throws InterruptedException {
-        int number = 0;
-        for (SCM repository : new ScmResolver().getScms(run, getScm())) {
-            long startOfMining = System.nanoTime();
-            var logHandler = new LogHandler(listener, "Forensics");
+    @VisibleForTesting
+    void mineRepositories(final Collection<? extends SCM> scms, final Run<?, ?> run, final FilePath workspace,
+            final TaskListener listener) throws InterruptedException {
+        List<SCM> repositories = new ArrayList<>(scms);
+        if (parallelism > 1 && repositories.size() > 1) {
+            mineRepositoriesInParallel(repositories, run, workspace, listener);
+        }
+        else {
+            for (int number = 0; number < repositories.size(); number++) {
+                run.addAction(mineRepository(repositories.get(number), number, run, workspace, listener));
+            }
+        }
+    }
 
-            var logger = new FilteredLog("Errors while mining " + repository);
-            logger.logInfo("Creating SCM miner to obtain statistics for affected repository files");
-            logger.logInfo("-> checking SCM '%s'", repository.getKey());
+    /**
+     * Mines the specified repositories concurrently using a bounded number of threads. The actions are attached to the
+     * build in the order of the repositories, so the numbering of the actions is the same as in sequential mining.
+     * The repositories are mined with the authentication of the build.
+     */
+    private void mineRepositoriesInParallel(final List<SCM> repositories, final Run<?, ?> run,
+            final FilePath workspace, final TaskListener listener) throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(Math.min(parallelism, repositories.size()),
+                new NamingThreadFactory(new DaemonThreadFactory(), "RepositoryMiner"));
+        try {
+            var authentication = Jenkins.getAuthentication2();
+            List<Future<ForensicsBuildAction>> results = new ArrayList<>();
+            for (int number = 0; number < repositories.size(); number++) {
+                var repository = repositories.get(number);
+                int actionNumber = number;
+                results.add(executor.submit(() -> {
+                    try (ACLContext ignored = ACL.as2(authentication)) {
+                        return mineRepository(repository, actionNumber, run, workspace, listener);
+                    }
+                }));
+            }
+            for (Future<ForensicsBuildAction> result : results) {
+                run.addAction(MiningTasks.getResult(result, "repository"));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
 
-            RepositoryMiner miner = MinerFactory.findMiner(repository, run, workspace, listener, logger);
-            logHandler.log(logger);
+    private ForensicsBuildAction mineRepository(final SCM repository, final int number, final Run<?, ?> run,
+            final FilePath workspace, final TaskListener listener) throws InterruptedException {
+        long startOfMining = System.nanoTime();
+        long allocatedAtStart = MiningMetrics.getAllocatedBytesOfCurrentThread();
+        var logHandler = new LogHandler(listener, "Forensics");
 
-            var repositoryStatistics = previousBuildStatistics(scm, run);
-            var addedRepositoryStatistics = miner.mine(repositoryStatistics, logger);
+        var logger = new FilteredLog("Errors while mining " + repository);
+        logger.logInfo("Creating SCM miner to obtain statistics for affected repository files");
+        logger.logInfo("-> checking SCM '%s'", repository.getKey());
 
-            logHandler.log(logger);
-            int miningDurationSeconds = (int) (1 + (System.nanoTime() - startOfMining) / 1_000_000_000L);
-            run.addAction(new ForensicsBuildAction(run, addedRepositoryStatistics, miningDurationSeconds,
-                    repository.getKey(), number));
+        RepositoryMiner miner = MinerFactory.findMiner(repository, run, workspace, listener, logger);
+        log(logHandler, logger, listener);
 
-            number++;
+        long startOfLoad = System.nanoTime();
+        var previousAction = findPreviousAction(repository.getKey(), run, logger);
+        var repositoryStatistics = previousAction.map(BuildAction::getResult).orElse(new RepositoryStatistics());
+        long loadDuration = System.nanoTime() - startOfLoad;
+
+        long startOfMine = System.nanoTime();
+        var addedRepositoryStatistics = miner.mine(repositoryStatistics, partitions, logger);
+        long mineDuration = System.nanoTime() - startOfMine;
+
+        var metrics = new MiningMetricsBuilder()
+                .setLoadDuration(loadDuration)
+                .setMiningDuration(mineDuration)
+                .setAggregationDuration(addedRepositoryStatistics.getAggregationDuration())
+                .setCommits(addedRepositoryStatistics)
+                .setAllocatedBytes(getAllocatedBytes(allocatedAtStart))
+                .build();
+
+        log(logHandler, logger, listener);
+        int miningDurationSeconds = (int) (1 + (System.nanoTime() - startOfMining) / 1_000_000_000L);
+        var action = new ForensicsBuildAction(run, addedRepositoryStatistics, true, miningDurationSeconds,
+                repository.getKey(), number, previousAction.orElse(null), snapshotInterval, metrics);
+        MiningMetricsListener.fireOnMined(run, repository.getKey(), action.getMiningMetrics());
+        return action;
+    }
+
+    private long getAllocatedBytes(final long allocatedAtStart) {
+        if (allocatedAtStart == MiningMetrics.NOT_AVAILABLE) {
+            return MiningMetrics.NOT_AVAILABLE;
         }
+        return MiningMetrics.getAllocatedBytesOfCurrentThread() - allocatedAtStart;
     }
 
-    private RepositoryStatistics previousBuildStatistics(final String repository, final Run<?, ?> run) {
+    /**
+     * Prints the new messages of the specified logger. The messages of a logger are printed as a block, so the
+     * output of repositories that are mined concurrently does not interleave within a block.
+     */
+    @SuppressWarnings("PMD.AvoidSynchronizedStatement")
+    private void log(final LogHandler logHandler, final FilteredLog logger, final TaskListener listener) {
+        synchronized (listener) {
+            logHandler.log(logger);
+        }
+    }
+
+    /**
+     * Finds the action of a previous build that contains the statistics for the specified repository. If the
+     * statistics of this action cannot be restored anymore (since a base of its delta chain has been deleted or can't
+     * be read), then the newest action of an older build with readable statistics is used.
+     */
+    private Optional<ForensicsBuildAction> findPreviousAction(final String scmKey, final Run<?, ?> run,
+            final FilteredLog logger) {
         for (Run<?, ?> build = run.getPreviousBuild(); build != null; build = build.getPreviousBuild()) {
             List<ForensicsBuildAction> actions = build.getActions(ForensicsBuildAction.class);
             if (!actions.isEmpty()) {
-                return actions.stream()
-                        .filter(a -> a.getScmKey().contains(repository))
-                        .findAny()
-                        .map(BuildAction::getResult)
-                        .orElse(new RepositoryStatistics());
+                var action = actions.stream()
+                        .filter(a -> a.getScmKey().equals(scmKey))
+                        .findAny();
+                if (action.isEmpty() || action.get().isReadable()) {
+                    return action;
+                }
+                logger.logError("Statistics of build %s are not available anymore: a base is missing or unreadable",
+                        build.getDisplayName());
             }
         }
 
-        return new RepositoryStatistics();
+        return Optional.empty();
     }
 
     @Override
@@ -11,6 +11,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -19,9 +21,11 @@ import java.util.Set;
 import java.util.function.ToIntFunction;
 
 import io.jenkins.plugins.forensics.miner.FileStatistics.FileStatisticsBuilder;
+import io.jenkins.plugins.forensics.util.StringDictionary;
 
 /**
- * Provides access to the SCM commit statistics of all repository files up to a specific commit.
+ * Provides access to the SCM commit statistics of all repository files up to a specific commit. The commit IDs and
+ * authors of all commits are shared using a {@link StringDictionary} of the repository.
  *
  * @author Ullrich Hafner
  */
@@ -43,6 +47,29 @@ public class RepositoryStatistics implements Serializable {
     private int totalLinesOfCode;
     private int totalChurn;
 
+    /*
+     * The journal and the counters of the mined commits are part of the Java serialization, so that statistics that
+     * have been mined on an agent can be persisted as a delta and measured on the controller. The XML files do not
+     * contain these fields, see configureXStream of RepositoryStatisticsXmlStream.
+     */
+    @SuppressWarnings("PMD.LooseCoupling")
+    private ArrayList<CommitDiffItem> journal = new ArrayList<>(); // since 4.0.0
+    private boolean isJournalDiscarded; // since 4.0.0
+    private int minedCommitCount; // since 4.0.0
+    private int minedDiffItemCount; // since 4.0.0
+    private int minedMoveCount; // since 4.0.0
+    private int minedDeleteCount; // since 4.0.0
+    private long aggregationDuration; // since 4.0.0, in nanoseconds
+    private transient StringDictionary dictionary = new StringDictionary();
+    @CheckForNull
+    private transient volatile SortedFileStatistics sortedFiles;
+    @CheckForNull
+    private transient volatile FilePathIndex pathIndex;
+    @CheckForNull
+    private transient CommitStatisticsAggregator latestAggregator;
+    @CheckForNull
+    private transient PartitionReferences partitionReferences;
+
     /**
      * Creates an empty instance of {@link RepositoryStatistics} with no latest commit ID set.
      */
@@ -60,6 +87,43 @@ public class RepositoryStatistics implements Serializable {
         this.latestCommitId = latestCommitId;
     }
 
+    /**
+     * Creates an empty instance of {@link RepositoryStatistics} that aggregates the commits of a partition of the
+     * history only. Since the files of the previous partitions are not known while the partition is mined, the
+     * commits that continue, move, or delete such files are tracked by the path of these files. These references are
+     * resolved when the partitions are merged using {@link #merge(RepositoryStatistics, List)}.
+     *
+     * @return the statistics of the partition
+     */
+    static RepositoryStatistics createPartition() {
+        var partition = new RepositoryStatistics();
+        partition.discardJournal();
+        partition.partitionReferences = new PartitionReferences();
+        return partition;
+    }
+
+    /**
+     * Restores a {@link RepositoryStatistics} instance from its serialized properties.
+     *
+     * @param latestCommitId
+     *         the ID of the latest commit mined
+     * @param latestStatistics
+     *         the statistics of the commits of the latest mining run
+     * @param files
+     *         the statistics of all repository files
+     *
+     * @return the restored instance
+     */
+    static RepositoryStatistics restore(final String latestCommitId, final CommitStatistics latestStatistics,
+            final Collection<FileStatistics> files) {
+        var restored = new RepositoryStatistics(latestCommitId);
+        files.forEach(file -> restored.statisticsMapping.put(file.getFileName(), file));
+        restored.intern(files);
+        restored.statistics = latestStatistics;
+        restored.updateTotalLoc();
+        return restored;
+    }
+
     /**
      * Called after deserialization to retain backward compatibility.
      *
@@ -79,6 +143,12 @@ public class RepositoryStatistics implements Serializable {
             statisticsMapping = statisticsPerFile;
             statisticsPerFile = null; // set to null to remove the field from serialization
         }
+        if (journal == null) { // the journal is not part of the XML files
+            journal = new ArrayList<>();
+        }
+        dictionary = new StringDictionary();
+        intern(statisticsMapping.values());
+        updateTotalLoc(); // the totals are maintained incrementally afterward
 
         return this;
     }
@@ -112,6 +182,10 @@ public class RepositoryStatistics implements Serializable {
         return latestCommitId;
     }
 
+    void setLatestCommitId(final String latestCommitId) {
+        this.latestCommitId = latestCommitId;
+    }
+
     /**
      * Returns whether the latest commit ID has been set.
      *
@@ -193,38 +267,334 @@ public class RepositoryStatistics implements Serializable {
      *         the additional commits
      */
     public void addAll(final List<CommitDiffItem> commits) {
+        long start = System.nanoTime();
+        record(commits);
+
+        inspectCommits(commits);
+        statistics = new CommitStatistics(commits);
+        minedCommitCount += statistics.getCommitCount();
+        aggregationDuration += System.nanoTime() - start;
+    }
+
+    /**
+     * Opens a sink that adds and inspects commits in batches. In contrast to {@link #addAll(List)} the commits do not
+     * need to be available up front: each batch is inspected immediately, and the latest statistics are aggregated
+     * over all batches of the sink. The commits are recorded in the journal in the same way as by {@link
+     * #addAll(List)}.
+     *
+     * @return the sink that consumes the commits
+     */
+    public CommitDiffItemSink openSink() {
+        statistics = new CommitStatistics();
+
+        int previousCommitCount = minedCommitCount;
+        var aggregator = new CommitStatisticsAggregator(List.of());
+        if (partitionReferences != null) { // the distinct values are required to merge the partitions
+            latestAggregator = aggregator;
+        }
+        return commits -> {
+            long start = System.nanoTime();
+            record(commits);
+            inspectCommits(commits);
+
+            commits.forEach(aggregator::add);
+            statistics = aggregator.getStatistics();
+            minedCommitCount = previousCommitCount + statistics.getCommitCount();
+            aggregationDuration += System.nanoTime() - start;
+        };
+    }
+
+    private void record(final List<CommitDiffItem> commits) {
+        if (!isJournalDiscarded) {
+            journal.addAll(commits);
+        }
+        minedDiffItemCount += commits.size();
+        minedMoveCount += CommitStatistics.countMoves(commits);
+        minedDeleteCount += CommitStatistics.countDeletes(commits);
+    }
+
+    /**
+     * Replays the commits of the specified delta. In contrast to {@link #addAll(List)} the replayed commits are not
+     * recorded in the journal of this instance, since they are already part of the persisted history.
+     *
+     * @param delta
+     *         the delta to replay
+     */
+    void replay(final RepositoryStatisticsDelta delta) {
+        inspectCommits(delta.getCommits());
+        statistics = new CommitStatistics(delta.getCommits());
+
+        latestCommitId = delta.getLatestCommitId();
+    }
+
+    /**
+     * Merges the statistics of consecutive partitions of the history into the statistics of the previous build. Since
+     * the commits of a partition might continue, move, or delete files of the previous partitions, the partitions are
+     * merged in the order of the history. So the result is the same as if all commits would have been added
+     * sequentially using {@link #openSink()}. Since the partitions do not record their commits in a journal, the
+     * merged statistics can be persisted as a full snapshot only.
+     *
+     * @param previousStatistics
+     *         the statistics of the previous build
+     * @param partitions
+     *         the statistics of the partitions created by {@link #createPartition()}, ordered by the history of the
+     *         repository
+     *
+     * @return the merged statistics
+     */
+    static RepositoryStatistics merge(final RepositoryStatistics previousStatistics,
+            final List<RepositoryStatistics> partitions) {
+        long start = System.nanoTime();
+        var merged = new RepositoryStatistics(previousStatistics.getLatestCommitId());
+        merged.discardJournal();
+        merged.addAll(previousStatistics);
+
+        var aggregator = new CommitStatisticsAggregator(List.of());
+        for (RepositoryStatistics partition : partitions) {
+            merged.append(partition);
+            if (partition.latestAggregator != null) {
+                aggregator.addAll(partition.latestAggregator);
+            }
+        }
+        merged.statistics = aggregator.getStatistics();
+        merged.updateTotalLoc();
+        merged.aggregationDuration += System.nanoTime() - start;
+        return merged;
+    }
+
+    private void append(final RepositoryStatistics partition) {
+        invalidateIndices();
+        var references = Objects.requireNonNull(partition.partitionReferences,
+                "Statistics must be created using createPartition()");
+
+        Map<String, FileStatistics> previousFiles = new HashMap<>();
+        for (String path : references.detachedPaths) {
+            var previous = statisticsMapping.remove(path);
+            if (previous != null) {
+                previousFiles.put(path, previous);
+            }
+        }
+        partition.statisticsMapping.forEach(
+                (path, file) -> statisticsMapping.put(path, continueFile(file, references, previousFiles)));
+
+        if (partition.hasLatestCommitId()) {
+            latestCommitId = partition.getLatestCommitId();
+        }
+        minedCommitCount += partition.minedCommitCount;
+        minedDiffItemCount += partition.minedDiffItemCount;
+        minedMoveCount += partition.minedMoveCount;
+        minedDeleteCount += partition.minedDeleteCount;
+        aggregationDuration += partition.aggregationDuration;
+    }
+
+    private FileStatistics continueFile(final FileStatistics file, final PartitionReferences references,
+            final Map<String, FileStatistics> previousFiles) {
+        intern(List.of(file));
+
+        var origin = references.origins.get(file);
+        if (origin == null) {
+            return file;
+        }
+        var previous = previousFiles.get(origin.path);
+        if (previous == null && origin.fallbackPath != null) {
+            previous = previousFiles.get(origin.fallbackPath);
+        }
+        if (previous == null && origin.fallbackFile != null) {
+            previous = continueFile(origin.fallbackFile, references, previousFiles);
+        }
+        if (previous == null) {
+            return file;
+        }
+        previous.inspectCommits(file.getCommits());
+        return previous;
+    }
+
+    /**
+     * Returns the precomputed sort orders of the file statistics that are used to page through the details table.
+     * The sort orders are created on first use and are discarded as soon as the file statistics are modified.
+     *
+     * @return the sorted file statistics
+     */
+    SortedFileStatistics getSortedFiles() {
+        var sorted = sortedFiles;
+        if (sorted == null) {
+            sorted = new SortedFileStatistics(statisticsMapping.values());
+            sortedFiles = sorted;
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns the index that maps the files to the identifiers used in the URLs of the file details views. The index
+     * is created on first use and is discarded as soon as the file statistics are modified.
+     *
+     * @return the index of the file paths
+     */
+    FilePathIndex getPathIndex() {
+        var index = pathIndex;
+        if (index == null) {
+            index = new FilePathIndex(statisticsMapping.keySet());
+            pathIndex = index;
+        }
+        return index;
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private void invalidateIndices() {
+        sortedFiles = null;
+        pathIndex = null;
+    }
+
+    /**
+     * Returns the time spent to inspect the commits that have been added using {@link #addAll(List)} or a sink
+     * since this instance has been created or loaded.
+     *
+     * @return the aggregation time in nanoseconds
+     */
+    long getAggregationDuration() {
+        return aggregationDuration;
+    }
+
+    /**
+     * Returns the commits that have been added using {@link #addAll(List)} since this instance has been created or
+     * loaded. If these statistics have been derived from the statistics of a previous build, then these commits
+     * represent the delta to the previous build.
+     *
+     * @return the commits added since this instance has been created or loaded
+     */
+    List<CommitDiffItem> getJournal() {
+        return Collections.unmodifiableList(journal);
+    }
+
+    /**
+     * Returns whether the journal contains all commits that have been added since this instance has been created or
+     * loaded. Only then the statistics can be persisted as a delta to the statistics of a previous build.
+     *
+     * @return {@code true} if the journal is complete, {@code false} if the journal has been discarded
+     */
+    boolean hasJournal() {
+        return !isJournalDiscarded;
+    }
+
+    /**
+     * Discards the journal of this instance. Commits that are added afterward are not recorded in the journal anymore,
+     * so these statistics can be persisted only as a full snapshot.
+     */
+    void discardJournal() {
+        isJournalDiscarded = true;
+        journal = new ArrayList<>();
+    }
+
+    int getMinedCommitCount() {
+        return minedCommitCount;
+    }
+
+    int getMinedDiffItemCount() {
+        return minedDiffItemCount;
+    }
+
+    int getMinedMoveCount() {
+        return minedMoveCount;
+    }
+
+    int getMinedDeleteCount() {
+        return minedDeleteCount;
+    }
+
+    private void intern(final Collection<FileStatistics> files) {
+        for (FileStatistics file : files) {
+            file.getCommits().forEach(commit -> commit.intern(dictionary));
+        }
+    }
+
+    private void inspectCommits(final List<CommitDiffItem> commits) {
+        invalidateIndices();
         var builder = new FileStatisticsBuilder();
         for (CommitDiffItem commit : commits) {
+            commit.intern(dictionary);
             if (commit.isDelete()) {
-                statisticsMapping.remove(commit.getOldPath());
-            }
-            else if (commit.isMove()) {
-                var existing = statisticsMapping.remove(commit.getOldPath());
-                if (existing == null) {
-                    statisticsMapping.putIfAbsent(commit.getNewPath(), builder.build(commit.getNewPath()));
+                var deleted = statisticsMapping.remove(commit.getOldPath());
+                if (deleted == null) {
+                    detach(commit.getOldPath());
                 }
-                else {
-                    statisticsMapping.put(commit.getNewPath(), existing);
-                }
-                statisticsMapping.get(commit.getNewPath()).inspectCommit(commit);
+                subtractTotals(deleted);
             }
             else {
-                statisticsMapping.putIfAbsent(commit.getNewPath(), builder.build(commit.getNewPath()));
-                statisticsMapping.get(commit.getNewPath()).inspectCommit(commit);
+                var file = getFile(commit, builder);
+                subtractTotals(file);
+                file.inspectCommit(commit);
+                addTotals(file);
             }
         }
-        statistics = new CommitStatistics(commits);
-        updateTotalLoc();
+    }
+
+    private FileStatistics getFile(final CommitDiffItem commit, final FileStatisticsBuilder builder) {
+        var newPath = commit.getNewPath();
+        if (commit.isMove()) {
+            var existing = statisticsMapping.remove(commit.getOldPath());
+            if (existing != null) {
+                var replaced = statisticsMapping.put(newPath, existing);
+                if (replaced == null) {
+                    detach(newPath);
+                }
+                subtractTotals(replaced);
+                return existing;
+            }
+            if (partitionReferences != null && partitionReferences.detachedPaths.add(commit.getOldPath())) {
+                return moveFileOfPreviousPartition(commit, builder);
+            }
+        }
+        var file = statisticsMapping.get(newPath);
+        if (file == null) {
+            file = builder.build(newPath);
+            if (partitionReferences != null && partitionReferences.detachedPaths.add(newPath)) {
+                partitionReferences.origins.put(file, new Origin(newPath, null, null));
+            }
+            statisticsMapping.put(newPath, file);
+        }
+        return file;
     }
 
     /**
-     * Adds all additional file statistics.
+     * Moves a file that is not part of the partition yet. If the previous partitions do not contain the file, then the
+     * commit continues the file at the new path: either a file of this partition or a file of the previous partitions.
+     */
+    private FileStatistics moveFileOfPreviousPartition(final CommitDiffItem commit,
+            final FileStatisticsBuilder builder) {
+        var references = Objects.requireNonNull(partitionReferences);
+        var newPath = commit.getNewPath();
+
+        var file = builder.build(newPath);
+        var replaced = statisticsMapping.put(newPath, file);
+        subtractTotals(replaced);
+        if (replaced == null && references.detachedPaths.add(newPath)) {
+            references.origins.put(file, new Origin(commit.getOldPath(), newPath, null));
+        }
+        else {
+            references.origins.put(file, new Origin(commit.getOldPath(), null, replaced));
+        }
+        return file;
+    }
+
+    private void detach(final String path) {
+        if (partitionReferences != null) {
+            partitionReferences.detachedPaths.add(path);
+        }
+    }
+
+    /**
+     * Adds all additional file statistics. The totals of this instance are recomputed only once after all statistics
+     * have been merged.
      *
      * @param additionalStatistics
      *         the additional statistics to add
      */
     public void addAll(final Collection<FileStatistics> additionalStatistics) {
-        additionalStatistics.forEach(this::add);
+        invalidateIndices();
+        intern(additionalStatistics);
+        additionalStatistics.forEach(
+                additional -> statisticsMapping.merge(additional.getFileName(), additional, this::merge));
+        updateTotalLoc();
     }
 
     /**
@@ -244,8 +614,30 @@ public class RepositoryStatistics implements Serializable {
      *         the additional statistics to add
      */
     public void add(final FileStatistics additionalStatistics) {
-        statisticsMapping.merge(additionalStatistics.getFileName(), additionalStatistics, this::merge);
-        updateTotalLoc();
+        invalidateIndices();
+        intern(List.of(additionalStatistics));
+        var existing = statisticsMapping.get(additionalStatistics.getFileName());
+        if (existing == null) {
+            statisticsMapping.put(additionalStatistics.getFileName(), additionalStatistics);
+            addTotals(additionalStatistics);
+        }
+        else {
+            subtractTotals(existing);
+            merge(existing, additionalStatistics);
+            addTotals(existing);
+        }
+    }
+
+    private void addTotals(final FileStatistics file) {
+        totalLinesOfCode += file.getLinesOfCode();
+        totalChurn += file.getAbsoluteChurn();
+    }
+
+    private void subtractTotals(@CheckForNull final FileStatistics file) {
+        if (file != null) {
+            totalLinesOfCode -= file.getLinesOfCode();
+            totalChurn -= file.getAbsoluteChurn();
+        }
     }
 
     private void updateTotalLoc() {
@@ -290,4 +682,35 @@ public class RepositoryStatistics implements Serializable {
     public int hashCode() {
         return Objects.hash(statisticsMapping, latestCommitId);
     }
+
+    /**
+     * Tracks the references of the files of a partition to the files of the previous partitions. The paths of the
+     * previous partitions that have been deleted, moved, replaced, or continued by the commits of the partition are
+     * detached: the files of the previous partitions with such a path are not part of the merged statistics anymore,
+     * unless they are continued by a file of the partition.
+     */
+    private static final class PartitionReferences {
+        private final Set<String> detachedPaths = new HashSet<>();
+        private final Map<FileStatistics, Origin> origins = new IdentityHashMap<>();
+    }
+
+    /**
+     * The origin of a file of a partition, i.e., the path of the file in the previous partitions that is continued by
+     * the file. If the previous partitions do not contain a file with that path, then the file continues the fallback:
+     * either another path of the previous partitions, or a file of the partition that has been replaced.
+     */
+    private static final class Origin {
+        private final String path;
+        @CheckForNull
+        private final String fallbackPath;
+        @CheckForNull
+        private final FileStatistics fallbackFile;
+
+        Origin(final String path, @CheckForNull final String fallbackPath,
+                @CheckForNull final FileStatistics fallbackFile) {
+            this.path = path;
+            this.fallbackPath = fallbackPath;
+            this.fallbackFile = fallbackFile;
+        }
+    }
 }
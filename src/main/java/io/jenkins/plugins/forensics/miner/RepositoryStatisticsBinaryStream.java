@@ -0,0 +1,55 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.jenkins.plugins.forensics.util.BinaryFiles;
+
+/**
+ * Reads and writes {@link RepositoryStatistics} using the compact binary format of {@link RepositoryStatisticsCodec}.
+ * Files that have been written by previous releases in the XML format are still readable: the format of a file is
+ * detected by the magic number at the beginning of the file.
+ *
+ * @author Ullrich Hafner
+ */
+public class RepositoryStatisticsBinaryStream extends RepositoryStatisticsXmlStream {
+    private static final Logger LOGGER = Logger.getLogger(RepositoryStatisticsBinaryStream.class.getName());
+
+    private final RepositoryStatisticsCodec codec = new RepositoryStatisticsCodec();
+
+    @Override
+    public RepositoryStatistics read(final Path file) {
+        if (!BinaryFiles.startsWith(file, RepositoryStatisticsCodec.MAGIC)) {
+            return super.read(file); // let the XML stream handle missing or short files
+        }
+        try (var input = BinaryFiles.openInput(file)) {
+            return codec.read(input);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to read " + file, exception);
+
+            return createDefaultValue();
+        }
+    }
+
+    /**
+     * Writes the specified statistics to the specified file. The statistics are written to a temporary file first that
+     * replaces the specified file atomically afterward, so a failed or interrupted write never leaves a truncated file.
+     *
+     * @param file
+     *         the file to write
+     * @param entity
+     *         the statistics to write
+     */
+    @Override
+    public void write(final Path file, final RepositoryStatistics entity) {
+        try {
+            BinaryFiles.write(file, output -> codec.write(entity, output));
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to write " + file, exception);
+        }
+    }
+}
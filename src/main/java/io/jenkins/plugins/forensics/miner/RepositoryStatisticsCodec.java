@@ -0,0 +1,424 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.util.TreeString;
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Encodes and decodes {@link RepositoryStatistics} using a compact and versioned binary format. All commit IDs,
+ * authors, and file names are stored only once in string tables, the remaining properties are stored as variable
+ * length integers. The format consists of the following parts:
+ * <ol>
+ *     <li>magic number and format version</li>
+ *     <li>latest commit ID and the statistics of the latest commits</li>
+ *     <li>string tables for the authors, the commit IDs, and the (sorted and prefix compressed) file names</li>
+ *     <li>the statistics of all files, each containing the indices of its commits into the string tables</li>
+ * </ol>
+ * The {@link RepositoryStatisticsDelta deltas} of builds that do not persist a full snapshot use the same encoding of
+ * the commits, but start with a different magic number and contain the latest commit ID, the string tables, and the
+ * list of commits only. Corrupt or truncated input is reported by an {@link IOException}: all lengths and indices are
+ * validated before they are used.
+ *
+ * @author Ullrich Hafner
+ */
+final class RepositoryStatisticsCodec {
+    /** Magic number that identifies the binary format ("FRNS"). */
+    static final int MAGIC = 0x46524E53;
+    /** Magic number that identifies the binary format of deltas ("FRND"). */
+    static final int DELTA_MAGIC = 0x46524E44;
+    /** The current version of the binary format. */
+    static final int VERSION = 1;
+
+    private static final int NO_PATH = 0;
+    /** The maximum number of elements that are allocated upfront for a length that has been read. */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    /**
+     * Writes the specified statistics to the specified output.
+     *
+     * @param statistics
+     *         the statistics to write
+     * @param output
+     *         the output to write to
+     *
+     * @throws IOException
+     *         if the statistics could not be written
+     */
+    void write(final RepositoryStatistics statistics, final DataOutput output) throws IOException {
+        var authors = new StringTable();
+        var ids = new StringTable();
+        var paths = new TreeSet<String>();
+        for (FileStatistics file : statistics.getFileStatistics()) {
+            paths.add(file.getFileName());
+            for (CommitDiffItem commit : file.getCommits()) {
+                addStrings(commit, authors, ids, paths);
+            }
+        }
+        paths.remove(CommitDiffItem.NO_FILE_NAME);
+
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        writeString(output, statistics.getLatestCommitId());
+        writeStatistics(output, statistics.getLatestStatistics());
+
+        authors.write(output);
+        ids.write(output);
+        Map<String, Integer> pathIndex = writePaths(output, paths);
+
+        writeVarInt(output, statistics.size());
+        for (FileStatistics file : statistics.getFileStatistics()) {
+            writeVarInt(output, pathIndex.get(file.getFileName()));
+            writeVarInt(output, file.getCreationTime());
+            writeVarInt(output, file.getLastModificationTime());
+            writeStatistics(output, file.getStatistics());
+
+            List<CommitDiffItem> commits = file.getCommits();
+            writeVarInt(output, commits.size());
+            int previousTime = file.getCreationTime();
+            for (CommitDiffItem commit : commits) {
+                writeCommit(output, commit, previousTime, authors, ids, pathIndex);
+                previousTime = commit.getTime();
+            }
+        }
+    }
+
+    /**
+     * Writes the specified delta to the specified output.
+     *
+     * @param delta
+     *         the delta to write
+     * @param output
+     *         the output to write to
+     *
+     * @throws IOException
+     *         if the delta could not be written
+     */
+    void writeDelta(final RepositoryStatisticsDelta delta, final DataOutput output) throws IOException {
+        var authors = new StringTable();
+        var ids = new StringTable();
+        var paths = new TreeSet<String>();
+        for (CommitDiffItem commit : delta.getCommits()) {
+            addStrings(commit, authors, ids, paths);
+        }
+        paths.remove(CommitDiffItem.NO_FILE_NAME);
+
+        output.writeInt(DELTA_MAGIC);
+        output.writeByte(VERSION);
+        writeString(output, delta.getLatestCommitId());
+
+        authors.write(output);
+        ids.write(output);
+        Map<String, Integer> pathIndex = writePaths(output, paths);
+
+        writeVarInt(output, delta.getCommits().size());
+        int previousTime = 0;
+        for (CommitDiffItem commit : delta.getCommits()) {
+            writeCommit(output, commit, previousTime, authors, ids, pathIndex);
+            previousTime = commit.getTime();
+        }
+    }
+
+    private void addStrings(final CommitDiffItem commit, final StringTable authors, final StringTable ids,
+            final TreeSet<String> paths) {
+        authors.add(commit.getAuthor());
+        ids.add(commit.getId());
+        if (commit.hasOldPath()) {
+            paths.add(commit.getOldPath());
+        }
+        paths.add(commit.getNewPath());
+    }
+
+    private void writeCommit(final DataOutput output, final CommitDiffItem commit, final int previousTime,
+            final StringTable authors, final StringTable ids, final Map<String, Integer> pathIndex)
+            throws IOException {
+        writeVarInt(output, ids.indexOf(commit.getId()));
+        writeVarInt(output, authors.indexOf(commit.getAuthor()));
+        writeSignedVarInt(output, commit.getTime() - previousTime);
+        writeVarInt(output, commit.getTotalAddedLines());
+        writeVarInt(output, commit.getTotalDeletedLines());
+        writeVarInt(output, getPathIndex(pathIndex, commit.getOldPath()));
+        writeVarInt(output, getPathIndex(pathIndex, commit.getNewPath()));
+    }
+
+    private int getPathIndex(final Map<String, Integer> pathIndex, final String path) {
+        if (CommitDiffItem.NO_FILE_NAME.equals(path)) {
+            return NO_PATH;
+        }
+        return pathIndex.get(path) + 1;
+    }
+
+    /**
+     * Reads the statistics from the specified input.
+     *
+     * @param input
+     *         the input to read from
+     *
+     * @return the statistics
+     * @throws IOException
+     *         if the statistics could not be read
+     */
+    RepositoryStatistics read(final DataInputStream input) throws IOException {
+        readHeader(input, MAGIC, "repository statistics");
+
+        var latestCommitId = readString(input);
+        var latestStatistics = readStatistics(input);
+
+        String[] authors = readStrings(input);
+        String[] ids = readStrings(input);
+        TreeString[] paths = readPaths(input);
+
+        int size = readLength(input, "files");
+        List<FileStatistics> files = new ArrayList<>(getInitialCapacity(size));
+        for (int file = 0; file < size; file++) {
+            var fileName = readElement(input, paths, "path");
+            int creationTime = readVarInt(input);
+            int lastModificationTime = readVarInt(input);
+            var statistics = readStatistics(input);
+
+            int commitCount = readLength(input, "commits");
+            List<CommitDiffItem> commits = new ArrayList<>(getInitialCapacity(commitCount));
+            int time = creationTime;
+            for (int commit = 0; commit < commitCount; commit++) {
+                var item = readCommit(input, time, authors, ids, paths);
+                commits.add(item);
+                time = item.getTime();
+            }
+            files.add(FileStatistics.restore(fileName, creationTime, lastModificationTime, statistics, commits));
+        }
+
+        return RepositoryStatistics.restore(latestCommitId, latestStatistics, files);
+    }
+
+    /**
+     * Reads a delta from the specified input.
+     *
+     * @param input
+     *         the input to read from
+     *
+     * @return the delta
+     * @throws IOException
+     *         if the delta could not be read
+     */
+    RepositoryStatisticsDelta readDelta(final DataInputStream input) throws IOException {
+        readHeader(input, DELTA_MAGIC, "repository statistics delta");
+
+        var latestCommitId = readString(input);
+        String[] authors = readStrings(input);
+        String[] ids = readStrings(input);
+        TreeString[] paths = readPaths(input);
+
+        int size = readLength(input, "commits");
+        List<CommitDiffItem> commits = new ArrayList<>(getInitialCapacity(size));
+        int time = 0;
+        for (int commit = 0; commit < size; commit++) {
+            var item = readCommit(input, time, authors, ids, paths);
+            commits.add(item);
+            time = item.getTime();
+        }
+        return new RepositoryStatisticsDelta(latestCommitId, commits);
+    }
+
+    private void readHeader(final DataInput input, final int magic, final String content) throws IOException {
+        if (input.readInt() != magic) {
+            throw new IOException("Input does not contain binary " + content);
+        }
+        int version = input.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version of binary %s: %d".formatted(content, version));
+        }
+    }
+
+    private CommitDiffItem readCommit(final DataInput input, final int previousTime, final String[] authors,
+            final String[] ids, final TreeString[] paths) throws IOException {
+        var id = readElement(input, ids, "commit ID");
+        var author = readElement(input, authors, "author");
+        int time = previousTime + readSignedVarInt(input);
+        var item = new CommitDiffItem(id, author, time)
+                .addLines(readVarInt(input))
+                .deleteLines(readVarInt(input));
+        int oldPath = readVarInt(input);
+        if (oldPath != NO_PATH) {
+            item.setOldPath(getElement(paths, oldPath - 1, "path"));
+        }
+        int newPath = readVarInt(input);
+        if (newPath != NO_PATH) {
+            item.setNewPath(getElement(paths, newPath - 1, "path"));
+        }
+        return item;
+    }
+
+    private <T> T readElement(final DataInput input, final T[] table, final String content) throws IOException {
+        return getElement(table, readVarInt(input), content);
+    }
+
+    private <T> T getElement(final T[] table, final int index, final String content) throws IOException {
+        if (index < 0 || index >= table.length) {
+            throw new IOException("Malformed index of %s: %d (table size %d)".formatted(content, index, table.length));
+        }
+        return table[index];
+    }
+
+    private static int readLength(final DataInput input, final String content) throws IOException {
+        int length = readVarInt(input);
+        if (length < 0) {
+            throw new IOException("Malformed length of %s: %d".formatted(content, length));
+        }
+        return length;
+    }
+
+    /**
+     * Returns the initial capacity of a collection for the specified length that has been read from the input. A
+     * corrupt length must not allocate a huge collection upfront: the input ends before such a collection is filled.
+     */
+    private static int getInitialCapacity(final int length) {
+        return Math.min(length, MAX_INITIAL_CAPACITY);
+    }
+
+    static void writeStatistics(final DataOutput output, final CommitStatistics statistics) throws IOException {
+        writeVarInt(output, statistics.getAddedLines());
+        writeVarInt(output, statistics.getDeletedLines());
+        writeVarInt(output, statistics.getAuthorCount());
+        writeVarInt(output, statistics.getCommitCount());
+        writeVarInt(output, statistics.getFilesCount());
+    }
+
+    static CommitStatistics readStatistics(final DataInput input) throws IOException {
+        return new CommitStatistics(readVarInt(input), readVarInt(input), readVarInt(input), readVarInt(input),
+                readVarInt(input));
+    }
+
+    /**
+     * Writes the sorted paths using front coding: each path is stored as the length of the prefix it shares with the
+     * previous path followed by the remaining suffix.
+     */
+    private Map<String, Integer> writePaths(final DataOutput output, final TreeSet<String> paths) throws IOException {
+        Map<String, Integer> indices = new HashMap<>();
+        writeVarInt(output, paths.size());
+        var previous = "";
+        for (String path : paths) {
+            int prefix = getCommonPrefixLength(previous, path);
+            writeVarInt(output, prefix);
+            writeString(output, path.substring(prefix));
+            indices.put(path, indices.size());
+            previous = path;
+        }
+        return indices;
+    }
+
+    private TreeString[] readPaths(final DataInputStream input) throws IOException {
+        var builder = new TreeStringBuilder();
+        int size = readLength(input, "paths");
+        List<TreeString> paths = new ArrayList<>(getInitialCapacity(size));
+        var previous = "";
+        for (int i = 0; i < size; i++) {
+            int prefix = readVarInt(input);
+            if (prefix < 0 || prefix > previous.length()) {
+                throw new IOException("Malformed prefix length of path: " + prefix);
+            }
+            var path = previous.substring(0, prefix) + readString(input);
+            paths.add(builder.intern(path));
+            previous = path;
+        }
+        return paths.toArray(new TreeString[0]);
+    }
+
+    private int getCommonPrefixLength(final String first, final String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            if (first.charAt(i) != second.charAt(i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private String[] readStrings(final DataInputStream input) throws IOException {
+        int size = readLength(input, "string table");
+        List<String> strings = new ArrayList<>(getInitialCapacity(size));
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(input));
+        }
+        return strings.toArray(new String[0]);
+    }
+
+    static void writeString(final DataOutput output, final String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    static String readString(final DataInputStream input) throws IOException {
+        int length = readLength(input, "string");
+        var bytes = input.readNBytes(length); // does not allocate the whole length upfront for corrupt input
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of binary input");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeSignedVarInt(final DataOutput output, final int value) throws IOException {
+        writeVarInt(output, (value << 1) ^ (value >> 31));
+    }
+
+    static int readSignedVarInt(final DataInput input) throws IOException {
+        int value = readVarInt(input);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarInt(final DataOutput output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    static int readVarInt(final DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+
+    /**
+     * A table of distinct strings that maps each string to its position in the table.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        void add(final String value) {
+            indices.putIfAbsent(value, indices.size());
+        }
+
+        int indexOf(final String value) {
+            return indices.get(value);
+        }
+
+        void write(final DataOutput output) throws IOException {
+            var values = new String[indices.size()];
+            indices.forEach((value, index) -> values[index] = value);
+
+            writeVarInt(output, values.length);
+            for (String value : values) {
+                writeString(output, value);
+            }
+        }
+    }
+}
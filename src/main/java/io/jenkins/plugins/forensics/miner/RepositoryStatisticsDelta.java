@@ -0,0 +1,66 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.util.Generated;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Stores the commits that have been mined in a single build. A delta is persisted instead of the full
+ * {@link RepositoryStatistics} if the statistics of a build can be restored by replaying the delta on top of the
+ * statistics of a previous build.
+ *
+ * @author Ullrich Hafner
+ */
+public class RepositoryStatisticsDelta implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L; // since 4.0.0
+
+    private final String latestCommitId;
+    @SuppressWarnings("PMD.LooseCoupling")
+    private final ArrayList<CommitDiffItem> commits;
+
+    /**
+     * Creates a new instance of {@link RepositoryStatisticsDelta}.
+     *
+     * @param latestCommitId
+     *         the ID of the latest commit mined
+     * @param commits
+     *         the commits that have been mined since the previous build
+     */
+    public RepositoryStatisticsDelta(final String latestCommitId, final List<CommitDiffItem> commits) {
+        this.latestCommitId = latestCommitId;
+        this.commits = new ArrayList<>(commits);
+    }
+
+    public String getLatestCommitId() {
+        return latestCommitId;
+    }
+
+    public List<CommitDiffItem> getCommits() {
+        return Collections.unmodifiableList(commits);
+    }
+
+    @Override
+    @Generated
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        var that = (RepositoryStatisticsDelta) o;
+        return latestCommitId.equals(that.latestCommitId) && commits.equals(that.commits);
+    }
+
+    @Override
+    @Generated
+    public int hashCode() {
+        return Objects.hash(latestCommitId, commits);
+    }
+}
@@ -0,0 +1,55 @@
+package io.jenkins.plugins.forensics.miner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.jenkins.plugins.forensics.util.BinaryFiles;
+
+/**
+ * Reads and writes {@link RepositoryStatisticsDelta} using the compact binary format of {@link
+ * RepositoryStatisticsCodec}.
+ *
+ * @author Ullrich Hafner
+ */
+public class RepositoryStatisticsDeltaBinaryStream {
+    private static final Logger LOGGER = Logger.getLogger(RepositoryStatisticsDeltaBinaryStream.class.getName());
+
+    private final RepositoryStatisticsCodec codec = new RepositoryStatisticsCodec();
+
+    /**
+     * Reads the delta from the specified file. In contrast to the statistics streams, failures are not hidden behind an
+     * empty delta: replaying an empty delta would silently result in wrong statistics of all subsequent builds.
+     *
+     * @param file
+     *         the file to read
+     *
+     * @return the delta
+     * @throws IOException
+     *         if the file could not be read or does not contain a valid delta
+     */
+    public RepositoryStatisticsDelta read(final Path file) throws IOException {
+        try (var input = BinaryFiles.openInput(file)) {
+            return codec.readDelta(input);
+        }
+    }
+
+    /**
+     * Writes the specified delta to the specified file. The delta is written to a temporary file first that replaces
+     * the specified file atomically afterward, so a failed or interrupted write never leaves a truncated file.
+     *
+     * @param file
+     *         the file to write
+     * @param entity
+     *         the delta to write
+     */
+    public void write(final Path file, final RepositoryStatisticsDelta entity) {
+        try {
+            BinaryFiles.write(file, output -> codec.writeDelta(entity, output));
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.SEVERE, "Failed to write " + file, exception);
+        }
+    }
+}
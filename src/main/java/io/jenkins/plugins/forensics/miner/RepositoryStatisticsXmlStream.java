@@ -10,6 +10,10 @@ import io.jenkins.plugins.util.AbstractXmlStream;
  * @author Ullrich Hafner
  */
 public class RepositoryStatisticsXmlStream extends AbstractXmlStream<RepositoryStatistics> {
+    /** Fields that are transferred from agents to the controller, but that are not persisted. */
+    private static final String[] TRANSFERRED_FIELDS = {"journal", "isJournalDiscarded",
+            "minedCommitCount", "minedDiffItemCount", "minedMoveCount", "minedDeleteCount", "aggregationDuration"};
+
     /**
      * Creates a new {@link RepositoryStatisticsXmlStream}.
      */
@@ -27,5 +31,8 @@ public class RepositoryStatisticsXmlStream extends AbstractXmlStream<RepositoryS
         xStream.alias("diff", CommitDiffItem.class);
         xStream.alias("repo", RepositoryStatistics.class);
         xStream.alias("file", FileStatistics.class);
+        for (String field : TRANSFERRED_FIELDS) {
+            xStream.omitField(RepositoryStatistics.class, field);
+        }
     }
 }
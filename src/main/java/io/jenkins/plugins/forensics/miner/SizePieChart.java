@@ -21,6 +21,27 @@ import io.jenkins.plugins.echarts.JenkinsPalette;
  * @author Ullrich Hafner
  */
 class SizePieChart {
+    private static final int[] AUTHORS_BREAKPOINTS = {5, 10, 15, 25, 50};
+    private static final int[] COMMITS_BREAKPOINTS = {5, 10, 25, 50, 100, 250};
+
+    /**
+     * Returns the breakpoints of the pie chart that shows the distribution of the number of authors.
+     *
+     * @return the breakpoints
+     */
+    static int[] getAuthorsBreakpoints() {
+        return AUTHORS_BREAKPOINTS.clone();
+    }
+
+    /**
+     * Returns the breakpoints of the pie chart that shows the distribution of the number of commits.
+     *
+     * @return the breakpoints
+     */
+    static int[] getCommitsBreakpoints() {
+        return COMMITS_BREAKPOINTS.clone();
+    }
+
     /**
      * Creates the chart for the specified result.
      *
@@ -35,20 +56,50 @@ class SizePieChart {
      */
     PieChartModel create(final RepositoryStatistics repositoryStatistics,
             final Function<FileStatistics, Integer> sizeMethod, final int... breakpoints) {
+        return create(computeDistribution(repositoryStatistics, sizeMethod, breakpoints));
+    }
+
+    /**
+     * Creates the chart for the specified distribution.
+     *
+     * @param distribution
+     *         the distribution to render, see {@link #computeDistribution(RepositoryStatistics, Function, int...)}
+     *
+     * @return the chart model
+     */
+    PieChartModel create(final Map<Integer, Integer> distribution) {
         var model = new PieChartModel();
-        Map<Integer, Integer> distribution = new TreeMap<>();
-        for (FileStatistics file : repositoryStatistics.getFileStatistics()) {
-            distribution.merge(determineBreakpoint(sizeMethod.apply(file), breakpoints), 1, Integer::sum);
-        }
         int color = 0;
-        for (Entry<Integer, Integer> entry : distribution.entrySet()) {
+        for (Entry<Integer, Integer> entry : new TreeMap<>(distribution).entrySet()) {
             model.add(new PieData("< " + entry.getKey(), entry.getValue()), JenkinsPalette.chartColor(color).normal());
             color++;
         }
         return model;
     }
 
-    private int determineBreakpoint(final int size, final int... breakpoints) {
+    /**
+     * Computes the distribution of the size property of all files: for each breakpoint the number of files with a size
+     * below this breakpoint (and not below the previous breakpoint) is counted.
+     *
+     * @param repositoryStatistics
+     *         the repository statistics to evaluate
+     * @param sizeMethod
+     *         the method that obtains the size property
+     * @param breakpoints
+     *         the breakpoints to create the pie segments for
+     *
+     * @return the number of files per breakpoint
+     */
+    static Map<Integer, Integer> computeDistribution(final RepositoryStatistics repositoryStatistics,
+            final Function<FileStatistics, Integer> sizeMethod, final int... breakpoints) {
+        Map<Integer, Integer> distribution = new TreeMap<>();
+        for (FileStatistics file : repositoryStatistics.getFileStatistics()) {
+            distribution.merge(determineBreakpoint(sizeMethod.apply(file), breakpoints), 1, Integer::sum);
+        }
+        return distribution;
+    }
+
+    private static int determineBreakpoint(final int size, final int... breakpoints) {
         for (int breakpoint : breakpoints) {
             if (size < breakpoint) {
                 return breakpoint;
@@ -0,0 +1,151 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed sort orders of the file statistics of a repository. The details table of the repository statistics
+ * shows a single page of the files only: this index provides the files of such a page in the requested order without
+ * sorting or copying all files for each request. The sort order of a column is computed on first use and is reused by
+ * all subsequent requests.
+ *
+ * <p>
+ * Ties are broken by the full path of the files, so the order of a column is deterministic.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class SortedFileStatistics {
+    /**
+     * The sort keys of the details table, in the order of the columns of the {@link ForensicsTableModel}.
+     */
+    enum SortKey {
+        FILE_NAME(Comparator.comparing(SortedFileStatistics::getBaseName)),
+        AUTHORS(Comparator.comparingInt(FileStatistics::getNumberOfAuthors)),
+        COMMITS(Comparator.comparingInt(FileStatistics::getNumberOfCommits)),
+        MODIFIED_AT(Comparator.comparingInt(FileStatistics::getLastModificationTime)),
+        ADDED_AT(Comparator.comparingInt(FileStatistics::getCreationTime)),
+        LINES_OF_CODE(Comparator.comparingInt(FileStatistics::getLinesOfCode)),
+        CHURN(Comparator.comparingInt(FileStatistics::getAbsoluteChurn));
+
+        private final Comparator<FileStatistics> comparator;
+
+        SortKey(final Comparator<FileStatistics> comparator) {
+            this.comparator = comparator.thenComparing(FileStatistics::getFileName);
+        }
+
+        /**
+         * Returns the sort key of the specified table column.
+         *
+         * @param column
+         *         the index of the column
+         *
+         * @return the sort key, or {@link #FILE_NAME} if the column does not exist
+         */
+        static SortKey fromColumn(final int column) {
+            var keys = values();
+            if (column < 0 || column >= keys.length) {
+                return FILE_NAME;
+            }
+            return keys[column];
+        }
+    }
+
+    private final FileStatistics[] files;
+    private final Map<SortKey, int[]> orders = new EnumMap<>(SortKey.class);
+
+    SortedFileStatistics(final Collection<FileStatistics> files) {
+        this.files = files.toArray(new FileStatistics[0]);
+    }
+
+    /**
+     * Returns the number of files.
+     *
+     * @return the number of files
+     */
+    int size() {
+        return files.length;
+    }
+
+    /**
+     * Returns the files of the specified page. The files are sorted by the specified key and filtered by the
+     * specified search term: only files that contain the search term in their path (ignoring the case) are part of
+     * the result.
+     *
+     * @param sortKey
+     *         the key to sort the files by
+     * @param ascending
+     *         determines whether to sort in ascending or descending order
+     * @param search
+     *         the search term, an empty term matches all files
+     * @param start
+     *         the position of the first file of the page (in the sorted and filtered files)
+     * @param length
+     *         the maximum number of files of the page, a negative value selects all remaining files
+     * @param pageFiles
+     *         consumes the files of the page
+     *
+     * @return the number of all files that match the search term
+     */
+    int findPage(final SortKey sortKey, final boolean ascending, final String search,
+            final int start, final int length, final Consumer<FileStatistics> pageFiles) {
+        var order = getOrder(sortKey);
+        int first = Math.max(start, 0);
+        long end = length < 0 ? Long.MAX_VALUE : (long) first + length;
+
+        if (StringUtils.isBlank(search)) {
+            for (int i = first; i < Math.min(end, order.length); i++) {
+                pageFiles.accept(get(order, ascending, i));
+            }
+            return order.length;
+        }
+
+        var term = search.strip();
+        int matches = 0;
+        for (int i = 0; i < order.length; i++) {
+            var file = get(order, ascending, i);
+            if (StringUtils.containsIgnoreCase(file.getFileName(), term)) {
+                if (matches >= first && matches < end) {
+                    pageFiles.accept(file);
+                }
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private FileStatistics get(final int[] order, final boolean ascending, final int index) {
+        return files[order[ascending ? index : order.length - 1 - index]];
+    }
+
+    /**
+     * Returns the positions of the files sorted in ascending order by the specified key.
+     *
+     * @param sortKey
+     *         the key to sort the files by
+     *
+     * @return the positions of the sorted files
+     */
+    synchronized int[] getOrder(final SortKey sortKey) {
+        return orders.computeIfAbsent(sortKey, this::sort);
+    }
+
+    private int[] sort(final SortKey sortKey) {
+        return IntStream.range(0, files.length)
+                .boxed()
+                .sorted((left, right) -> sortKey.comparator.compare(files[left], files[right]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static String getBaseName(final FileStatistics file) {
+        return FilenameUtils.getName(file.getFileName());
+    }
+}
@@ -0,0 +1,54 @@
+package io.jenkins.plugins.forensics.miner;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.Serial;
+
+/**
+ * Adapter for miners that provide the commits of a repository as a stream of batches. Each batch is inspected
+ * immediately, so the complete history of a repository is never materialized at once. If there are no previous
+ * statistics (i.e., the whole history needs to be mined), then the mined commits are not recorded in the journal, since
+ * such statistics are always persisted as a full snapshot.
+ *
+ * @author Ullrich Hafner
+ */
+public abstract class StreamingRepositoryMiner extends RepositoryMiner {
+    @Serial
+    private static final long serialVersionUID = -3094758712294436213L;
+
+    @Override
+    public RepositoryStatistics mine(final RepositoryStatistics previousStatistics, final FilteredLog logger)
+            throws InterruptedException {
+        var statistics = new RepositoryStatistics(previousStatistics.getLatestCommitId());
+        if (!previousStatistics.hasLatestCommitId()) {
+            statistics.discardJournal();
+        }
+        statistics.addAll(previousStatistics);
+
+        var latestCommitId = mineCommits(previousStatistics.getLatestCommitId(), statistics.openSink(), logger);
+        statistics.setLatestCommitId(latestCommitId);
+
+        return statistics;
+    }
+
+    /**
+     * Obtains the new commits of a source code repository and pushes them in batches to the specified sink. The
+     * batches must be provided in chronological order, starting with the commit that follows the specified previous
+     * commit. Implementations should use batches of a bounded size so that the complete history of a repository is
+     * never materialized at once.
+     *
+     * @param previousCommitId
+     *         the ID of the latest commit of the previous build, or an empty string if the whole history should be
+     *         mined
+     * @param sink
+     *         the sink that consumes the commits
+     * @param logger
+     *         the logger to use
+     *
+     * @return the ID of the latest commit mined, or the previous commit ID if there are no new commits
+     * @throws InterruptedException
+     *         if the user canceled the processing
+     */
+    protected abstract String mineCommits(String previousCommitId, CommitDiffItemSink sink, FilteredLog logger)
+            throws InterruptedException;
+}
@@ -0,0 +1,262 @@
+package io.jenkins.plugins.forensics.reference;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Indexes the results of the completed builds of jobs so that the latest build with a required result can be found
+ * without loading all intermediate builds from disk. For each job, the index stores the build numbers of the completed
+ * builds grouped by the result threshold they satisfy. The index of a job is created on demand when a reference build
+ * is searched in the job for the first time. It covers all completed builds starting from a given build number: newer
+ * builds are recorded by a {@link RunListener} when they are finalized, older builds are recorded while the history of
+ * the job is searched. So each build of a job is loaded at most once to build up the index.
+ *
+ * @author Ullrich Hafner
+ */
+public final class BuildResultIndex {
+    private static final Map<String, JobResults> JOBS = new ConcurrentHashMap<>();
+
+    private BuildResultIndex() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the latest completed build that is older than the specified build and that has a result that is better
+     * or equal than the required result.
+     *
+     * @param start
+     *         the build to start the search with (this build is not part of the search)
+     * @param requiredResult
+     *         the minimum required result
+     *
+     * @return the build with the required result, or empty if no such build exists
+     */
+    static Optional<Run<?, ?>> findPreviousBuild(final Run<?, ?> start, final Result requiredResult) {
+        var job = start.getParent();
+        return JOBS.computeIfAbsent(job.getFullName(), name -> new JobResults())
+                .findPreviousBuild(job, start, requiredResult);
+    }
+
+    private static Optional<Run<?, ?>> walk(@CheckForNull final Run<?, ?> first, final Result requiredResult) {
+        for (Run<?, ?> reference = first; reference != null; reference = reference.getPreviousCompletedBuild()) {
+            if (hasResult(reference, requiredResult)) {
+                return Optional.of(reference);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean hasResult(final Run<?, ?> build, final Result requiredResult) {
+        var result = build.getResult();
+
+        return result != null && result.isBetterOrEqualTo(requiredResult);
+    }
+
+    static void record(final Run<?, ?> build) {
+        var results = JOBS.get(build.getParent().getFullName());
+        if (results != null) {
+            results.record(build);
+        }
+    }
+
+    static void remove(final Run<?, ?> build) {
+        var name = build.getParent().getFullName();
+        var results = JOBS.get(name);
+        if (results != null && !results.remove(build.getNumber())) {
+            JOBS.remove(name);
+        }
+    }
+
+    static void invalidate(final String jobName) {
+        JOBS.remove(jobName);
+    }
+
+    static void clear() {
+        JOBS.clear();
+    }
+
+    /**
+     * The results of the completed builds of a single job. All completed builds with a number of at least
+     * {@code oldestIndexedBuild} are part of the index. For each result threshold (ordered by {@link Result#ordinal}),
+     * the index contains the numbers of all builds that have a result that is better or equal than the threshold. If
+     * all completed builds of the job are part of the index, then {@code oldestIndexedBuild} is 0. Builds are loaded
+     * without holding the lock of the index: recording a build is idempotent, so concurrent searches might load the
+     * same builds but never corrupt the index.
+     */
+    private static class JobResults {
+        private static final int NOT_INDEXED = Integer.MAX_VALUE;
+
+        private final List<TreeSet<Integer>> buildsByThreshold = new ArrayList<>();
+        private int oldestIndexedBuild = NOT_INDEXED;
+
+        JobResults() {
+            for (int threshold = 0; threshold <= Result.ABORTED.ordinal; threshold++) {
+                buildsByThreshold.add(new TreeSet<>());
+            }
+        }
+
+        Optional<Run<?, ?>> findPreviousBuild(final Job<?, ?> job, final Run<?, ?> start,
+                final Result requiredResult) {
+            initialize(job);
+
+            while (true) {
+                int oldest;
+                Integer number;
+                synchronized (this) {
+                    oldest = oldestIndexedBuild;
+                    number = start.getNumber() < oldest ? null : getBuilds(requiredResult).lower(start.getNumber());
+                }
+                if (number == null || number < oldest) {
+                    return extendIndex(job, start, requiredResult, oldest);
+                }
+                var candidate = getBuildByNumber(job, number);
+                if (candidate.isPresent() && hasResult(candidate.get(), requiredResult)) {
+                    return candidate;
+                }
+                removeFromThresholds(number); // the build has been deleted in the meantime
+            }
+        }
+
+        private void initialize(final Job<?, ?> job) {
+            synchronized (this) {
+                if (oldestIndexedBuild != NOT_INDEXED) {
+                    return;
+                }
+            }
+            var lastCompletedBuild = job.getLastCompletedBuild();
+            synchronized (this) {
+                if (oldestIndexedBuild == NOT_INDEXED) {
+                    if (lastCompletedBuild == null) {
+                        oldestIndexedBuild = 0;
+                    }
+                    else {
+                        record(lastCompletedBuild);
+                        oldestIndexedBuild = lastCompletedBuild.getNumber();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Extends the index with the builds that are older than the oldest indexed build, until a build that is older
+         * than the start build has the required result. If the start build is older than the oldest indexed build,
+         * then all builds in between are added to the index as well, so subsequent searches that start with the same
+         * build do not need to load these builds again.
+         */
+        private Optional<Run<?, ?>> extendIndex(final Job<?, ?> job, final Run<?, ?> start,
+                final Result requiredResult, final int oldest) {
+            if (oldest == 0) {
+                return Optional.empty();
+            }
+            var oldestBuild = getBuildByNumber(job, oldest);
+            if (oldestBuild.isEmpty()) {
+                return walk(start.getPreviousCompletedBuild(), requiredResult);
+            }
+            for (Run<?, ?> reference = oldestBuild.get().getPreviousCompletedBuild(); reference != null;
+                    reference = reference.getPreviousCompletedBuild()) {
+                record(reference);
+                markAsIndexed(reference.getNumber());
+                if (reference.getNumber() < start.getNumber() && hasResult(reference, requiredResult)) {
+                    return Optional.of(reference);
+                }
+            }
+            markAsIndexed(0);
+            return Optional.empty();
+        }
+
+        private synchronized void markAsIndexed(final int number) {
+            oldestIndexedBuild = Math.min(oldestIndexedBuild, number);
+        }
+
+        private Optional<Run<?, ?>> getBuildByNumber(final Job<?, ?> job, final int number) {
+            return Optional.ofNullable(job.getBuildByNumber(number));
+        }
+
+        private TreeSet<Integer> getBuilds(final Result threshold) {
+            return buildsByThreshold.get(Math.min(Math.max(threshold.ordinal, 0), buildsByThreshold.size() - 1));
+        }
+
+        void record(final Run<?, ?> build) {
+            var result = build.getResult();
+            if (result != null) {
+                record(build.getNumber(), result);
+            }
+        }
+
+        private synchronized void record(final int number, final Result result) {
+            for (int threshold = Math.max(result.ordinal, 0); threshold < buildsByThreshold.size(); threshold++) {
+                buildsByThreshold.get(threshold).add(number);
+            }
+        }
+
+        /**
+         * Removes the specified build from the index.
+         *
+         * @param number
+         *         the number of the build to remove
+         *
+         * @return {@code true} if the index is still valid, {@code false} if the index needs to be rebuilt
+         */
+        synchronized boolean remove(final int number) {
+            removeFromThresholds(number);
+            if (number == oldestIndexedBuild) {
+                var next = buildsByThreshold.get(buildsByThreshold.size() - 1).higher(number);
+                if (next == null) {
+                    return false;
+                }
+                oldestIndexedBuild = next;
+            }
+            return true;
+        }
+
+        private synchronized void removeFromThresholds(final int number) {
+            buildsByThreshold.forEach(builds -> builds.remove(number));
+        }
+    }
+
+    /**
+     * Records the results of finalized builds and removes deleted builds from the index.
+     */
+    @Extension
+    public static class BuildResultListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onFinalized(final Run<?, ?> run) {
+            record(run);
+        }
+
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            remove(run);
+        }
+    }
+
+    /**
+     * Removes the index of jobs that have been deleted or renamed.
+     */
+    @Extension
+    public static class JobChangeListener extends ItemListener {
+        @Override
+        public void onDeleted(final Item item) {
+            invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            invalidate(oldFullName);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.jenkins.plugins.forensics.reference;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.listeners.ItemListener;
+import jenkins.branch.MultiBranchProject;
+import jenkins.scm.api.metadata.PrimaryInstanceMetadataAction;
+
+/**
+ * Resolves the job of the primary branch of a {@link MultiBranchProject}, i.e. the job that has been marked by the SCM
+ * with a {@link PrimaryInstanceMetadataAction}. Finding this job requires a traversal of all branch and pull request
+ * jobs of the project, so the result is cached per project. The cache entry of a project is invalidated whenever one
+ * of its items is created, updated, renamed, or deleted. If a project has no primary branch (yet), then this result is
+ * cached for a short time only ({@link #MISSING_BRANCH_EXPIRATION}): it is not guaranteed that marking an existing
+ * branch job as primary branch notifies the item listeners, so a missing primary branch must be searched again
+ * eventually.
+ *
+ * @author Ullrich Hafner
+ */
+public final class PrimaryBranchResolver {
+    /** The time a missing primary branch is cached, in nanoseconds. */
+    static final long MISSING_BRANCH_EXPIRATION = TimeUnit.MINUTES.toNanos(1);
+
+    private static final Map<String, CachedBranch> PRIMARY_BRANCHES = new ConcurrentHashMap<>();
+
+    private PrimaryBranchResolver() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the job of the primary branch of the specified project.
+     *
+     * @param project
+     *         the multi-branch project
+     *
+     * @return the job of the primary branch, or empty if the SCM did not mark a branch as primary branch
+     */
+    static Optional<Job<?, ?>> findPrimaryBranch(final MultiBranchProject<?, ?> project) {
+        return findPrimaryBranch(project, System.nanoTime());
+    }
+
+    /**
+     * Returns the job of the primary branch of the specified project.
+     *
+     * @param project
+     *         the multi-branch project
+     * @param now
+     *         the current time in nanoseconds (see {@link System#nanoTime()})
+     *
+     * @return the job of the primary branch, or empty if the SCM did not mark a branch as primary branch
+     */
+    static Optional<Job<?, ?>> findPrimaryBranch(final MultiBranchProject<?, ?> project, final long now) {
+        var name = project.getFullName();
+
+        var cached = PRIMARY_BRANCHES.get(name);
+        if (cached != null && cached.isValid(now)) {
+            return cached.primaryBranch;
+        }
+        var primaryBranch = searchPrimaryBranch(project);
+        PRIMARY_BRANCHES.put(name, new CachedBranch(primaryBranch, now));
+        return primaryBranch;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Optional<Job<?, ?>> searchPrimaryBranch(final MultiBranchProject<?, ?> project) {
+        return project.getAllItems().stream()
+                .map(Item::getAllJobs)
+                .flatMap(Collection::stream)
+                .filter(PrimaryBranchResolver::isPrimaryBranch)
+                .<Job<?, ?>>map(job -> job)
+                .findAny();
+    }
+
+    private static boolean isPrimaryBranch(final Job<?, ?> job) {
+        return job.getAction(PrimaryInstanceMetadataAction.class) != null;
+    }
+
+    /**
+     * Removes the cached primary branches of all projects that contain the specified item or that are the item itself.
+     *
+     * @param fullName
+     *         the full name of the changed item
+     */
+    static void invalidate(final String fullName) {
+        PRIMARY_BRANCHES.keySet().removeIf(project -> fullName.equals(project) || fullName.startsWith(project + "/"));
+    }
+
+    static void clear() {
+        PRIMARY_BRANCHES.clear();
+    }
+
+    /**
+     * A cached result of the search for the primary branch of a project.
+     */
+    private static final class CachedBranch {
+        private final Optional<Job<?, ?>> primaryBranch;
+        private final long searchTime;
+
+        CachedBranch(final Optional<Job<?, ?>> primaryBranch, final long searchTime) {
+            this.primaryBranch = primaryBranch;
+            this.searchTime = searchTime;
+        }
+
+        /**
+         * Returns whether the cached result is still valid. A found primary branch is valid as long as the job is still
+         * marked as primary branch. A missing primary branch is valid until the expiration time has been reached.
+         */
+        boolean isValid(final long now) {
+            return primaryBranch.map(PrimaryBranchResolver::isPrimaryBranch)
+                    .orElseGet(() -> now - searchTime < MISSING_BRANCH_EXPIRATION);
+        }
+    }
+
+    /**
+     * Invalidates the cached primary branches if branch or pull request jobs are created, updated, renamed, or deleted.
+     */
+    @Extension
+    public static class BranchChangeListener extends ItemListener {
+        @Override
+        public void onCreated(final Item item) {
+            invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onUpdated(final Item item) {
+            invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onDeleted(final Item item) {
+            invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            invalidate(oldFullName);
+            invalidate(newFullName);
+        }
+    }
+}
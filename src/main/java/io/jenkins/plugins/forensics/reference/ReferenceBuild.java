@@ -3,6 +3,7 @@ package io.jenkins.plugins.forensics.reference;
 import org.apache.commons.lang3.Strings;
 
 import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -16,6 +17,7 @@ import hudson.model.Run;
 import jenkins.model.RunAction2;
 
 import io.jenkins.plugins.bootstrap5.MessagesViewModel;
+import io.jenkins.plugins.forensics.reference.ReferenceBuildCache.CachedBuild;
 import io.jenkins.plugins.util.JenkinsFacade;
 
 import static j2html.TagCreator.*;
@@ -51,10 +53,9 @@ public class ReferenceBuild implements RunAction2, Serializable, StaplerProxy {
         if (!isValidBuildId(referenceBuildId)) {
             return NO_REFERENCE_BUILD;
         }
-        var jenkinsFacade = new JenkinsFacade();
-        Optional<Run<?, ?>> possibleReferenceBuild = jenkinsFacade.getBuild(referenceBuildId);
+        Optional<Run<?, ?>> possibleReferenceBuild = ReferenceBuildCache.getBuild(referenceBuildId);
         if (possibleReferenceBuild.isPresent()) {
-            return createLink(possibleReferenceBuild.get(), jenkinsFacade);
+            return createLink(possibleReferenceBuild.get(), new JenkinsFacade());
         }
         return "#%s".formatted(referenceBuildId);
     }
@@ -66,6 +67,8 @@ public class ReferenceBuild implements RunAction2, Serializable, StaplerProxy {
     private final ArrayList<String> messages;
 
     private transient Run<?, ?> owner;
+    @CheckForNull
+    private transient volatile CachedBuild resolvedReferenceBuild;
 
     /**
      * Creates a new instance of {@link ReferenceBuild} that indicates that no reference build has been found.
@@ -214,15 +217,25 @@ public class ReferenceBuild implements RunAction2, Serializable, StaplerProxy {
 
     /**
      * Returns the actual reference build. Note that a reference build might be not available anymore, because it has
-     * been deleted in the meantime.
+     * been deleted in the meantime. The resolved build is cached until the build or its job is deleted or renamed. A
+     * cached build is returned only if the current user is permitted to read the job of the build.
      *
      * @return the reference build, if still available
      */
     public Optional<Run<?, ?>> getReferenceBuild() {
-        if (hasReferenceBuild()) {
-            return jenkinsFacade.getBuild(referenceBuildId);
+        if (!hasReferenceBuild()) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        var cached = resolvedReferenceBuild;
+        if (cached != null) {
+            var run = cached.getReadableBuild();
+            if (run != null) {
+                return Optional.of(run);
+            }
+        }
+        Optional<Run<?, ?>> build = jenkinsFacade.getBuild(referenceBuildId);
+        resolvedReferenceBuild = build.map(run -> ReferenceBuildCache.track(referenceBuildId, run)).orElse(null);
+        return build;
     }
 
     /**
@@ -0,0 +1,181 @@
+package io.jenkins.plugins.forensics.reference;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+
+import io.jenkins.plugins.util.JenkinsFacade;
+
+/**
+ * Caches the resolution of reference build IDs to {@link Run} instances. Resolving a build ID requires finding the job
+ * by its full name and loading the build, so pages that render many builds would resolve the same reference builds
+ * repeatedly. The cached builds are referenced weakly, so the cache does not prevent the builds from being unloaded.
+ * Entries are invalidated if a build is deleted, or if the job (or a parent folder) of the build is deleted or renamed.
+ *
+ * <p>
+ * A cached build has been resolved with the permissions of the user that requested the build first. So each cache hit
+ * verifies that the current user is still permitted to read the job of the build.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ReferenceBuildCache {
+    private static final String BUILD_NUMBER_SEPARATOR = "#";
+    private static final String FOLDER_SEPARATOR = "/";
+    private static final Map<String, CachedBuild> BUILDS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Run<?, ?>> CLEARED_BUILDS = new ReferenceQueue<>();
+
+    private ReferenceBuildCache() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the build with the specified ID. If the build has been resolved before and has not been invalidated in
+     * the meantime, then the cached build is returned.
+     *
+     * @param buildId
+     *         the ID of the build
+     *
+     * @return the build, if still available and readable by the current user
+     */
+    static Optional<Run<?, ?>> getBuild(final String buildId) {
+        removeClearedBuilds();
+
+        var cached = BUILDS.get(buildId);
+        if (cached != null) {
+            var run = cached.getReadableBuild();
+            if (run != null) {
+                return Optional.of(run);
+            }
+        }
+        Optional<Run<?, ?>> build = new JenkinsFacade().getBuild(buildId);
+        build.ifPresent(run -> track(buildId, run));
+        return build;
+    }
+
+    /**
+     * Registers the specified build that has been resolved by the caller. The returned entry is invalidated as soon as
+     * the build or its job is deleted or renamed, so the caller can hold on to the entry to memoize the build.
+     *
+     * @param buildId
+     *         the ID of the build
+     * @param run
+     *         the resolved build
+     *
+     * @return the cache entry of the build
+     */
+    static CachedBuild track(final String buildId, final Run<?, ?> run) {
+        removeClearedBuilds();
+
+        return BUILDS.compute(buildId, (id, existing) -> {
+            if (existing != null) {
+                if (existing.isValid() && existing.get() == run) {
+                    return existing;
+                }
+                existing.invalidate();
+            }
+            return new CachedBuild(id, run);
+        });
+    }
+
+    static void invalidate(final String buildId) {
+        var removed = BUILDS.remove(buildId);
+        if (removed != null) {
+            removed.invalidate();
+        }
+    }
+
+    static void invalidateJob(final String fullName) {
+        var builds = fullName + BUILD_NUMBER_SEPARATOR;
+        var children = fullName + FOLDER_SEPARATOR;
+        BUILDS.keySet().stream()
+                .filter(buildId -> buildId.startsWith(builds) || buildId.startsWith(children))
+                .toList()
+                .forEach(ReferenceBuildCache::invalidate);
+    }
+
+    private static void removeClearedBuilds() {
+        for (var cleared = CLEARED_BUILDS.poll(); cleared != null; cleared = CLEARED_BUILDS.poll()) {
+            var entry = (CachedBuild) cleared;
+            BUILDS.remove(entry.buildId, entry);
+        }
+    }
+
+    /**
+     * A weakly referenced build of the cache.
+     */
+    static final class CachedBuild extends WeakReference<Run<?, ?>> {
+        private final String buildId;
+        private volatile boolean valid = true;
+
+        private CachedBuild(final String buildId, final Run<?, ?> run) {
+            super(run, CLEARED_BUILDS);
+
+            this.buildId = buildId;
+        }
+
+        boolean isValid() {
+            return valid;
+        }
+
+        void invalidate() {
+            valid = false;
+        }
+
+        /**
+         * Returns the cached build if the entry is still valid and if the current user is permitted to read the job
+         * of the build.
+         *
+         * @return the build, or {@code null} if the build needs to be resolved again
+         */
+        @CheckForNull
+        Run<?, ?> getReadableBuild() {
+            if (!valid) {
+                return null;
+            }
+            var run = get();
+            if (run == null || !run.getParent().hasPermission(Item.READ)) {
+                return null;
+            }
+            return run;
+        }
+    }
+
+    /**
+     * Invalidates the cached builds that have been deleted.
+     */
+    @Extension
+    public static class BuildDeletionListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            invalidate(run.getExternalizableId());
+        }
+    }
+
+    /**
+     * Invalidates the cached builds of a job if the job has been deleted or renamed, since the IDs of all builds of
+     * such a job are not valid anymore.
+     */
+    @Extension
+    public static class JobChangeListener extends ItemListener {
+        @Override
+        public void onDeleted(final Item item) {
+            invalidateJob(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            invalidateJob(oldFullName);
+        }
+    }
+}
@@ -5,18 +5,15 @@ import org.apache.commons.lang3.StringUtils;
 import edu.hm.hafner.util.FilteredLog;
 import edu.hm.hafner.util.VisibleForTesting;
 
-import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.kohsuke.stapler.DataBoundSetter;
-import hudson.model.Item;
-import hudson.model.ItemGroup;
 import hudson.model.Job;
 import hudson.model.Run;
 import jenkins.branch.MultiBranchProject;
 import jenkins.scm.api.SCMHead;
 import jenkins.scm.api.SCMHead.HeadByItem;
-import jenkins.scm.api.metadata.PrimaryInstanceMetadataAction;
 import jenkins.scm.api.mixin.ChangeRequestSCMHead;
 
 import io.jenkins.plugins.util.JenkinsFacade;
@@ -199,7 +196,7 @@ public abstract class ReferenceRecorder extends SimpleReferenceRecorder {
                 return findJobForTargetBranch(multiBranchProject, job, target.getName(), logger);
             }
 
-            var possiblePrimaryBranch = findPrimaryBranch(topLevel);
+            var possiblePrimaryBranch = findPrimaryBranch(multiBranchProject, logger);
             if (possiblePrimaryBranch.isPresent()) {
                 Job<?, ?> primaryBranchJob = possiblePrimaryBranch.get();
                 logger.logInfo("-> using configured primary branch '%s' of SCM as target branch",
@@ -226,17 +223,13 @@ public abstract class ReferenceRecorder extends SimpleReferenceRecorder {
         return getScmFacade().findHead(job).map(ChangeRequestSCMHead::getTarget);
     }
 
-    @SuppressWarnings("rawtypes")
-    private Optional<? extends Job> findPrimaryBranch(final ItemGroup<?> topLevel) {
-        return topLevel.getAllItems().stream()
-                .map(Item::getAllJobs)
-                .flatMap(Collection::stream)
-                .filter(this::hasDefaultTargetBranchDefined)
-                .findAny();
-    }
-
-    private boolean hasDefaultTargetBranchDefined(final Job<?, ?> job) {
-        return job.getAction(PrimaryInstanceMetadataAction.class) != null;
+    private Optional<Job<?, ?>> findPrimaryBranch(final MultiBranchProject<?, ?> multiBranchProject,
+            final FilteredLog logger) {
+        long start = System.nanoTime();
+        var primaryBranch = PrimaryBranchResolver.findPrimaryBranch(multiBranchProject);
+        logger.logInfo("-> resolved primary branch of SCM in %d ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return primaryBranch;
     }
 
     private Optional<Job<?, ?>> findJobForTargetBranch(final MultiBranchProject<?, ?> multiBranchProject,
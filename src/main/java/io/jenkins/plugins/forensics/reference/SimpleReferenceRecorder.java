@@ -246,7 +246,8 @@ public class SimpleReferenceRecorder extends Recorder implements SimpleBuildStep
     /**
      * Returns a reference build that satisfied the required status. Starting with the specified {@code start} build,
      * the history of builds is searched for a build that satisfies the required status. If no such build is found, then
-     * a null object is returned.
+     * a null object is returned. The predecessors of the {@code start} build are looked up in the {@link BuildResultIndex},
+     * so only the selected reference build needs to be loaded.
      *
      * @param run
      *         the run that is currently built
@@ -258,14 +259,16 @@ public class SimpleReferenceRecorder extends Recorder implements SimpleBuildStep
      * @return the reference build that satisfies the required status (or empty if no such build is found)
      */
     protected Optional<ReferenceBuild> getReferenceBuildWithRequiredStatus(final Run<?, ?> run, final Run<?, ?> start, final FilteredLog log) {
-        for (Run<?, ?> reference = start; reference != null; reference = reference.getPreviousCompletedBuild()) {
-            if (hasRequiredResult(reference)) {
-                log.logInfo("-> %s '%s' has a result %s",
-                        getBuildName(start, reference),
-                        reference.getDisplayName(), reference.getResult());
-
-                return Optional.of(new ReferenceBuild(run, log.getInfoMessages(), requiredResult, reference));
-            }
+        var possibleReference = hasRequiredResult(start)
+                ? Optional.<Run<?, ?>>of(start)
+                : BuildResultIndex.findPreviousBuild(start, requiredResult);
+        if (possibleReference.isPresent()) {
+            var reference = possibleReference.get();
+            log.logInfo("-> %s '%s' has a result %s",
+                    getBuildName(start, reference),
+                    reference.getDisplayName(), reference.getResult());
+
+            return Optional.of(new ReferenceBuild(run, log.getInfoMessages(), requiredResult, reference));
         }
         log.logInfo("-> ignoring reference build '%s' or one of its predecessors since none have a result of %s or better",
                 start.getDisplayName(), requiredResult);
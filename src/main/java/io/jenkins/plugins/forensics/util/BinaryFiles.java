@@ -0,0 +1,110 @@
+package io.jenkins.plugins.forensics.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Reads and writes the files of the binary formats of this plugin. A file is written to a temporary file first that
+ * replaces the actual file atomically afterward, so a failed or interrupted write never leaves a truncated file.
+ *
+ * @author Ullrich Hafner
+ */
+public final class BinaryFiles {
+    /** The size of the buffers of the streams. */
+    public static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private BinaryFiles() {
+        // prevents instantiation
+    }
+
+    /**
+     * Opens a buffered stream to read the specified file.
+     *
+     * @param file
+     *         the file to read
+     *
+     * @return the stream
+     * @throws IOException
+     *         if the file could not be opened
+     */
+    public static DataInputStream openInput(final Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes the specified file. The content is written to a temporary file first that replaces the specified file
+     * atomically afterward. If the content could not be written, then the specified file is left unchanged and the
+     * temporary file is removed.
+     *
+     * @param file
+     *         the file to write
+     * @param writer
+     *         writes the content of the file
+     *
+     * @throws IOException
+     *         if the file could not be written
+     */
+    public static void write(final Path file, final ContentWriter writer) throws IOException {
+        var temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try {
+            try (var output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+                writer.write(output);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            try {
+                Files.deleteIfExists(temporary);
+            }
+            catch (IOException suppressed) {
+                exception.addSuppressed(suppressed); // the temporary file will be overwritten by the next write
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns whether the specified file starts with the specified magic number.
+     *
+     * @param file
+     *         the file to check
+     * @param magic
+     *         the magic number that identifies the format of the file
+     *
+     * @return {@code true} if the file starts with the magic number, {@code false} if the file has another format, is
+     *         too short, or could not be read
+     */
+    public static boolean startsWith(final Path file, final int magic) {
+        try (var input = new DataInputStream(Files.newInputStream(file))) {
+            return input.readInt() == magic;
+        }
+        catch (IOException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the content of a binary file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the content to the specified stream.
+         *
+         * @param output
+         *         the stream of the file
+         *
+         * @throws IOException
+         *         if the content could not be written
+         */
+        void write(DataOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,120 @@
+package io.jenkins.plugins.forensics.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A dictionary of distinct strings. Each string is mapped to a stable index, so that objects that reference the same
+ * strings many times (e.g. author names or commit IDs) can store the index instead of the string. A dictionary is
+ * typically shared by all objects that are created for the same repository.
+ *
+ * <p>
+ * Strings are added under the lock of the dictionary, while strings are read without locking: the added strings are
+ * published in an array that is only appended to and that is replaced by a larger copy if it is full.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class StringDictionary implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L; // since 4.0.0
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    @SuppressWarnings("PMD.LooseCoupling")
+    private final ArrayList<String> values = new ArrayList<>();
+    @SuppressWarnings("PMD.LooseCoupling")
+    private transient HashMap<String, Integer> indices = new HashMap<>();
+
+    private transient volatile String[] snapshot = new String[INITIAL_CAPACITY];
+    private transient volatile int size;
+
+    /**
+     * Called after deserialization to rebuild the index of the strings.
+     *
+     * @return this
+     */
+    @Serial
+    private Object readResolve() {
+        indices = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            indices.put(values.get(i), i);
+        }
+        snapshot = values.toArray(new String[Math.max(values.size(), INITIAL_CAPACITY)]);
+        size = values.size();
+        return this;
+    }
+
+    /**
+     * Returns the index of the specified string. If the string is not yet part of this dictionary, then it will be
+     * added.
+     *
+     * @param value
+     *         the string to look up
+     *
+     * @return the index of the string
+     */
+    public synchronized int add(final String value) {
+        var index = indices.get(value);
+        if (index != null) {
+            return index;
+        }
+        int added = values.size();
+        values.add(value);
+        indices.put(value, added);
+
+        var strings = snapshot;
+        if (added == strings.length) {
+            strings = Arrays.copyOf(strings, added * 2);
+            snapshot = strings;
+        }
+        strings[added] = value;
+        size = added + 1; // publishes the added string to readers
+
+        return added;
+    }
+
+    /**
+     * Returns the instance of the specified string that is stored in this dictionary. If the string is not yet part of
+     * this dictionary, then it will be added. Objects that store the returned instance rather than their own copy
+     * share the same string instance with all other objects that use this dictionary.
+     *
+     * @param value
+     *         the string to look up
+     *
+     * @return the shared instance of the string
+     */
+    public String intern(final String value) {
+        return get(add(value));
+    }
+
+    /**
+     * Returns the string with the specified index.
+     *
+     * @param index
+     *         the index of the string
+     *
+     * @return the string
+     * @throws IndexOutOfBoundsException
+     *         if the index has not been created by this dictionary
+     */
+    public String get(final int index) {
+        int count = size;
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index %d out of bounds for length %d".formatted(index, count));
+        }
+        return snapshot[index];
+    }
+
+    /**
+     * Returns the number of distinct strings in this dictionary.
+     *
+     * @return the number of strings
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,20 @@
+/* global jQuery3, forensicsProxy */
+jQuery3(document).ready(function () {
+    const table = jQuery3('#forensics-server-side');
+    table.DataTable({
+        serverSide: true,
+        processing: true,
+        pagingType: 'numbers',
+        order: [[0, 'asc']],
+        columns: JSON.parse(table.attr('data-columns-definition')),
+        ajax: function (data, callback) {
+            const order = data.order.length > 0 ? data.order[0] : {column: 0, dir: 'asc'};
+            forensicsProxy.getTablePage(data.start, data.length, order.column, order.dir, data.search.value,
+                function (page) {
+                    const result = JSON.parse(page.responseJSON);
+                    result.draw = data.draw;
+                    callback(result);
+                });
+        }
+    });
+});
@@ -79,6 +79,20 @@ class BlamerFactoryITest extends IntegrationTestWithJenkinsPerSuite {
         assertThat(testBlamerSecondMatch.blame(new FileLocations(), log)).hasFiles(FILE_NAME);
     }
 
+    /** Verifies that the blamer of the SCM is wrapped by a {@link CachingBlamer} if previous blames are provided. */
+    @Test
+    void shouldWrapBlamerIfPreviousBlamesAreProvided() {
+        var log = new FilteredLog("Foo");
+
+        var cachingBlamer = BlamerFactory.findBlamer(mock(Run.class),
+                asSourceDirectories(createWorkspace("/test")), TaskListener.NULL, log, new Blames());
+        assertThat(cachingBlamer).isInstanceOf(CachingBlamer.class);
+
+        var nullBlamer = BlamerFactory.findBlamer(mock(Run.class),
+                asSourceDirectories(createWorkspace("/")), TaskListener.NULL, log, new Blames());
+        assertThat(nullBlamer).isInstanceOf(NullBlamer.class);
+    }
+
     private Blamer createBlamer(final String path, final FilteredLog log) {
         return BlamerFactory.findBlamer(mock(Run.class), asSourceDirectories(createWorkspace(path)),
                 TaskListener.NULL, log);
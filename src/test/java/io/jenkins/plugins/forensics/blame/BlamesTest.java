@@ -107,6 +107,26 @@ class BlamesTest extends SerializableTest<Blames> {
         verifyBlamesOfTwoFiles(blames, fileBlame, other);
     }
 
+    @Test
+    void shouldShareDictionaryOfAddedAndMergedBlames() {
+        var blames = new Blames();
+        var fileBlame = createBlame(FILE_NAME, 1, NAME, EMAIL, COMMIT, TIME);
+        blames.add(fileBlame);
+        var added = createBlame(ANOTHER_FILE, 2, NAME, EMAIL, COMMIT, TIME);
+        blames.add(added);
+
+        var otherBlames = new Blames();
+        var merged = createBlame("merged.txt", 3, "other", EMAIL, COMMIT, TIME);
+        otherBlames.add(merged);
+        blames.addAll(otherBlames);
+
+        assertThat(added.getDictionary()).isSameAs(fileBlame.getDictionary());
+        assertThat(merged.getDictionary()).isSameAs(fileBlame.getDictionary());
+        assertThat(blames.getBlame(ANOTHER_FILE).getName(2)).isEqualTo(NAME);
+        assertThat(blames.getBlame("merged.txt").getName(3)).isEqualTo("other");
+        assertThat(blames.getBlame("merged.txt").getCommit(3)).isEqualTo(COMMIT);
+    }
+
     private void verifyBlamesOfTwoFiles(final Blames blames, final FileBlame fileBlame, final FileBlame other) {
         assertThat(blames.size()).isEqualTo(2);
         assertThat(blames).hasFiles(FILE_NAME, ANOTHER_FILE);
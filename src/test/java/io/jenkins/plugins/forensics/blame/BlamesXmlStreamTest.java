@@ -35,6 +35,15 @@ class BlamesXmlStreamTest extends SerializableTest<Blames> {
         assertThatBlamesAreCorrect(read("fileBlame-0.6.2.xml"));
     }
 
+    @Test
+    void shouldShareDictionaryOfAllFilesAfterReadingOldFormat() {
+        var blames = read("fileBlame-0.7.0.xml");
+
+        assertThat(blames.getBlame(REPORT).getDictionary())
+                .isSameAs(blames.getBlame(FILTERED_LOG).getDictionary());
+        assertThatBlamesAreCorrect(blames);
+    }
+
     @Test
     void shouldReadAndWriteBlames() {
         var blamesReader = new BlamesXmlStream();
@@ -0,0 +1,208 @@
+package io.jenkins.plugins.forensics.blame;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.jenkins.plugins.forensics.blame.FileBlame.FileBlameBuilder;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link CachingBlamer}.
+ *
+ * @author Ullrich Hafner
+ */
+class CachingBlamerTest {
+    private static final String COMMIT = "commit";
+    private static final String NAME = "name";
+    private static final String EMAIL = "email";
+    private static final int TIME = 12_345;
+
+    @TempDir
+    private Path workspace;
+
+    @Test
+    void shouldComputeGitBlobId() throws IOException {
+        var file = workspace.resolve("hello.txt");
+        Files.writeString(file, "hello\n", StandardCharsets.UTF_8);
+
+        assertThat(CachingBlamer.computeHash(file.toString()))
+                .isEqualTo("ce013625030ba8dba906f756967f9e9ca394464a");
+        assertThat(CachingBlamer.computeHash(workspace.resolve("missing.txt").toString())).isNull();
+    }
+
+    @Test
+    void shouldBlameAllFilesWithoutPreviousBlames() throws IOException {
+        var unchanged = createFile("unchanged.txt", "content");
+
+        var delegate = new RecordingBlamer();
+        var locations = new FileLocations();
+        locations.addLines(unchanged, 1, 2);
+
+        var log = new FilteredLog("Errors");
+        var blames = new CachingBlamer(delegate, new Blames()).blame(locations, log);
+
+        assertThat(delegate.requests).containsExactly(locations);
+        assertThat(blames.getBlame(unchanged)).hasLines(1, 2);
+        assertThat(blames.getBlame(unchanged).getContentHash()).isEqualTo(CachingBlamer.computeHash(unchanged));
+        assertThat(log.getInfoMessages()).contains(
+                "-> Blame cache: 0 files reused, 0 files partially reused, 0 lines reused",
+                "-> Blame cache: blaming 1 files that are not cached");
+    }
+
+    @Test
+    void shouldReuseBlamesOfUnchangedFiles() throws IOException {
+        var unchanged = createFile("unchanged.txt", "content");
+        var changed = createFile("changed.txt", "old content");
+        var partial = createFile("partial.txt", "partial content");
+
+        var previousLocations = new FileLocations();
+        previousLocations.addLines(unchanged, 1, 2);
+        previousLocations.addLines(changed, 1);
+        previousLocations.addLines(partial, 1);
+        var previous = new CachingBlamer(new RecordingBlamer(), new Blames())
+                .blame(previousLocations, new FilteredLog("Errors"));
+
+        Files.writeString(Path.of(changed), "new content", StandardCharsets.UTF_8);
+
+        var delegate = new RecordingBlamer();
+        var locations = new FileLocations();
+        locations.addLines(unchanged, 1, 2);
+        locations.addLines(changed, 1);
+        locations.addLines(partial, 1, 3);
+
+        var log = new FilteredLog("Errors");
+        var blames = new CachingBlamer(delegate, previous).blame(locations, log);
+
+        var expectedMisses = new FileLocations();
+        expectedMisses.addLines(changed, 1);
+        expectedMisses.addLines(partial, 3);
+        assertThat(delegate.requests).containsExactly(expectedMisses);
+
+        assertThat(blames).hasFiles(unchanged, changed, partial);
+        assertThat(blames.getBlame(unchanged)).isEqualTo(previous.getBlame(unchanged));
+        assertThat(blames.getBlame(partial)).hasLines(1, 3);
+        assertThat(blames.getBlame(partial).getCommit(3)).isEqualTo(COMMIT);
+        assertThat(blames.getBlame(changed).getContentHash()).isEqualTo(CachingBlamer.computeHash(changed));
+        assertThat(log.getInfoMessages()).contains(
+                "-> Blame cache: 1 files reused, 1 files partially reused, 3 lines reused",
+                "-> Blame cache: blaming 2 files that are not cached");
+    }
+
+    @Test
+    void shouldStoreBlamesOfRelativeFileNamesUsingRequestedFileNames() throws IOException {
+        var file = createFile("relative.txt", "content");
+        var locations = new FileLocations();
+        locations.addLines(workspace.resolve(".").resolve("relative.txt").toString(), 1, 2);
+
+        var blames = new CachingBlamer(new RelativeBlamer(workspace), new Blames())
+                .blame(locations, new FilteredLog("Errors"));
+
+        assertThat(blames).hasFiles(file);
+        assertThat(blames.getBlame(file)).hasLines(1, 2);
+        assertThat(blames.getBlame(file).getCommit(2)).isEqualTo(COMMIT);
+        assertThat(blames.getBlame(file).getContentHash()).isEqualTo(CachingBlamer.computeHash(file));
+
+        var delegate = new RecordingBlamer();
+        var log = new FilteredLog("Errors");
+        var reused = new CachingBlamer(delegate, blames).blame(locations, log);
+
+        assertThat(delegate.requests).isEmpty();
+        assertThat(reused.getBlame(file)).isEqualTo(blames.getBlame(file));
+        assertThat(log.getInfoMessages()).contains(
+                "-> Blame cache: 1 files reused, 0 files partially reused, 2 lines reused");
+    }
+
+    @Test
+    void shouldNotResolveAmbiguousRelativeFileNamesToOtherFiles() throws IOException {
+        Files.createDirectories(workspace.resolve("a"));
+        Files.createDirectories(workspace.resolve("b"));
+        var first = createFile("a/pom.xml", "first");
+        var second = createFile("b/pom.xml", "second");
+        var locations = new FileLocations();
+        locations.addLines(first, 1, 2);
+        locations.addLines(second, 5);
+
+        var blames = new CachingBlamer(new RelativeBlamer(workspace.resolve("b")), new Blames())
+                .blame(locations, new FilteredLog("Errors"));
+
+        assertThat(blames.getBlame(first).getLines()).containsExactlyInAnyOrder(1, 2);
+        assertThat(blames.getBlame(first).getContentHash()).isEqualTo(CachingBlamer.computeHash(first));
+        assertThat(blames.contains(second)).as("Ambiguous name without work tree must not be resolved").isFalse();
+    }
+
+    private String createFile(final String fileName, final String content) throws IOException {
+        var file = workspace.resolve(fileName);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return new FileBlameBuilder().build(file.toString()).getFileName();
+    }
+
+    private static class RecordingBlamer extends Blamer {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<FileLocations> requests = new ArrayList<>();
+
+        @Override
+        public Blames blame(final FileLocations fileLocations, final FilteredLog logger) {
+            requests.add(fileLocations);
+
+            var builder = new FileBlameBuilder();
+            var blames = new Blames();
+            for (String fileName : fileLocations.getFiles()) {
+                var blame = builder.build(fileName);
+                for (int line : fileLocations.getLineNumbers(fileName)) {
+                    blame.setCommit(line, COMMIT);
+                    blame.setName(line, NAME);
+                    blame.setEmail(line, EMAIL);
+                    blame.setTime(line, TIME);
+                }
+                blames.add(blame);
+            }
+            return blames;
+        }
+    }
+
+    /**
+     * A blamer that reports the blames using file names that are relative to the working tree.
+     */
+    private static class RelativeBlamer extends Blamer {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String workTree;
+
+        RelativeBlamer(final Path workTree) {
+            this.workTree = new FileBlameBuilder().build(workTree.toString()).getFileName() + "/";
+        }
+
+        @Override
+        public Blames blame(final FileLocations fileLocations, final FilteredLog logger) {
+            var builder = new FileBlameBuilder();
+            var blames = new Blames();
+            for (String fileName : fileLocations.getFiles()) {
+                var absoluteName = builder.build(fileName).getFileName();
+                var blame = builder.build(StringUtils.removeStart(absoluteName, workTree));
+                for (int line : fileLocations.getLineNumbers(fileName)) {
+                    blame.setCommit(line, COMMIT);
+                    blame.setName(line, NAME);
+                    blame.setEmail(line, EMAIL);
+                    blame.setTime(line, TIME);
+                }
+                blames.add(blame);
+            }
+            return blames;
+        }
+    }
+}
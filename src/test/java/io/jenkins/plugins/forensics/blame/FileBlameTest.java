@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.util.SerializableTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.jenkins.plugins.forensics.blame.FileBlame.FileBlameBuilder;
 
 import static io.jenkins.plugins.forensics.assertions.Assertions.*;
@@ -81,6 +84,65 @@ class FileBlameTest extends SerializableTest<FileBlame> {
         assertThat(request.getEmail(2)).isEqualTo(FileBlame.EMPTY);
         assertThat(request.getName(2)).isEqualTo(FileBlame.EMPTY);
         assertThat(request.getTime(2)).isEqualTo(FileBlame.EMPTY_INTEGER);
+
+        assertThat(request).hasNoLines();
+        assertThat(request.hasLine(2)).isFalse();
+        assertThat(request).isEqualTo(createFileBlame("file"));
+    }
+
+    @Test
+    void shouldQueryBlamesOfSeveralLines() {
+        var request = createSerializable();
+        addDetails(request, 3);
+
+        List<String> blames = new ArrayList<>();
+        request.forEachBlame(new int[] {3, 2, 1},
+                (line, name, email, commit, time) -> blames.add(
+                        "%d:%s:%s:%s:%d".formatted(line, name, email, commit, time)));
+
+        assertThat(blames).containsExactly(
+                "3:name:email:commit:12345",
+                "2:-:-:-:0",
+                "1:name:email:commit:12345");
+        assertThat(request).hasLines(1, 3);
+        assertThat(request.hasLine(3)).isTrue();
+
+        List<Integer> lines = new ArrayList<>();
+        request.forEachBlame((line, name, email, commit, time) -> lines.add(line));
+        assertThat(lines).containsExactly(1, 3);
+    }
+
+    @Test
+    void shouldStoreLinesInAscendingOrder() {
+        var builder = new FileBlameBuilder();
+        var request = builder.build("file");
+        int[] lines = {50, 3, 1_000, 7, 1, 999, 2, 20, 11, 5, 4};
+        for (int line : lines) {
+            request.setCommit(line, COMMIT + line);
+            request.setTime(line, line);
+        }
+
+        assertThat(request.iterator()).toIterable()
+                .containsExactly(1, 2, 3, 4, 5, 7, 11, 20, 50, 999, 1_000);
+        assertThat(request.getLines()).hasSize(lines.length).contains(999).doesNotContain(6);
+        for (int line : lines) {
+            assertThat(request.getCommit(line)).isEqualTo(COMMIT + line);
+            assertThat(request.getTime(line)).isEqualTo(line);
+            assertThat(request.getName(line)).isEqualTo(FileBlame.EMPTY);
+        }
+
+        var sameDictionary = builder.build("file");
+        var otherDictionary = createFileBlame("file");
+        for (int line : lines) {
+            sameDictionary.setCommit(line, COMMIT + line);
+            sameDictionary.setTime(line, line);
+            otherDictionary.setCommit(line, COMMIT + line);
+            otherDictionary.setTime(line, line);
+        }
+        assertThat(request).isEqualTo(sameDictionary).isEqualTo(otherDictionary);
+        assertThat(request.hashCode()).isEqualTo(otherDictionary.hashCode());
+
+        assertThat(restore(toByteArray(request))).isEqualTo(request);
     }
 
     @Test
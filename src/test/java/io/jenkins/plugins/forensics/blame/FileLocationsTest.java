@@ -4,7 +4,13 @@ import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.util.SerializableTest;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import static io.jenkins.plugins.forensics.assertions.Assertions.*;
 
@@ -73,6 +79,61 @@ class FileLocationsTest extends SerializableTest<FileLocations> {
                 .hasMessageContaining(wrongFile);
     }
 
+    @Test
+    void shouldAddLinesInBulk() {
+        var locations = new FileLocations();
+
+        locations.addLines(ABSOLUTE_PATH, 7, 3, 4, 5, 3, 100, 6, 1);
+        locations.addLine(ABSOLUTE_PATH, 2);
+        locations.addLines(ANOTHER_FILE);
+
+        assertThat(locations).hasFiles(ABSOLUTE_PATH, ANOTHER_FILE);
+        assertThat(locations.getLines(ABSOLUTE_PATH)).containsExactly(1, 2, 3, 4, 5, 6, 7, 100)
+                .contains(100).doesNotContain(8);
+        assertThat(locations.getLineNumbers(ABSOLUTE_PATH)).containsExactly(1, 2, 3, 4, 5, 6, 7, 100);
+        assertThat(locations.getLines(ANOTHER_FILE)).isEmpty();
+
+        var other = new FileLocations();
+        for (int line = 100; line > 0; line--) {
+            if (line < 8 || line == 100) {
+                other.addLine(ABSOLUTE_PATH, line);
+            }
+        }
+        other.addLines(ANOTHER_FILE);
+        assertThat(locations).isEqualTo(other);
+        assertThat(locations.hashCode()).isEqualTo(other.hashCode());
+
+        var restored = restore(toByteArray(locations));
+        assertThat(restored).isEqualTo(locations);
+        assertThat(restored.getLines(ABSOLUTE_PATH)).containsExactly(1, 2, 3, 4, 5, 6, 7, 100);
+    }
+
+    @Test
+    void shouldReadLinesConcurrently() throws InterruptedException, ExecutionException {
+        var locations = new FileLocations();
+        for (int line = 1_000; line > 0; line--) {
+            locations.addLine(ABSOLUTE_PATH, line);
+            locations.addLines(ANOTHER_FILE, line, line);
+        }
+        int[] expected = IntStream.rangeClosed(1, 1_000).toArray();
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> readers = new ArrayList<>();
+            for (int reader = 0; reader < 8; reader++) {
+                readers.add(executor.submit(() -> locations.getLines(ABSOLUTE_PATH).stream()
+                        .mapToInt(Integer::intValue).toArray()));
+                readers.add(executor.submit(() -> locations.getLineNumbers(ANOTHER_FILE)));
+            }
+            for (Future<int[]> reader : readers) {
+                assertThat(reader.get()).containsExactly(expected);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Override
     protected FileLocations createSerializable() {
         var locations = new FileLocations();
@@ -0,0 +1,250 @@
+package io.jenkins.plugins.forensics.delta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import hudson.model.Run;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link DeltaCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class DeltaCacheTest {
+    private static final String SCM = "scm";
+    private static final String CONTENT = "content";
+    private static final FileContentReference CONTENT_REFERENCE = FileContentReference.of("file", "blob", CONTENT);
+    private static final FileContentProvider PROVIDER = reference -> Optional.of(CONTENT);
+    private static final DeltaCalculator CALCULATOR = new CountingDeltaCalculator("repository");
+
+    @TempDir
+    private Path buildFolder;
+
+    @Test
+    void shouldStoreAndRestoreDelta() {
+        var build = createBuild();
+        var reference = createReferenceBuild("reference#1");
+        var other = createReferenceBuild("reference#2");
+
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        assertThat(cache.get(CALCULATOR, SCM, reference)).isEmpty();
+
+        var delta = createDelta();
+        cache.put(CALCULATOR, SCM, reference, delta);
+
+        assertThat(cache.get(CALCULATOR, SCM, reference)).containsSame(delta);
+        assertThat(cache.get(CALCULATOR, SCM, other)).isEmpty();
+        assertThat(cache.get(CALCULATOR, "other", reference)).isEmpty();
+        assertThat(buildFolder.resolve("delta-0.bin")).exists();
+
+        cache.readResolve(); // simulates a reload of the build
+        assertThat(cache.get(CALCULATOR, SCM, reference)).contains(delta);
+    }
+
+    @Test
+    void shouldTreatCorruptFileAsCacheMiss() throws IOException {
+        var build = createBuild();
+        var reference = createReferenceBuild("reference#1");
+
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        cache.put(CALCULATOR, SCM, reference, createDelta());
+
+        var file = buildFolder.resolve("delta-0.bin");
+        var content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length / 2));
+
+        cache.readResolve(); // simulates a reload of the build
+        assertThat(cache.get(CALCULATOR, SCM, reference)).isEmpty();
+        assertThat(file).doesNotExist();
+
+        cache.put(CALCULATOR, SCM, reference, createDelta());
+        cache.readResolve();
+        assertThat(cache.get(CALCULATOR, SCM, reference)).contains(createDelta());
+    }
+
+    @Test
+    void shouldReuseDeltaOfPreviousCalculation() {
+        var build = createBuild();
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        when(build.getAction(DeltaCache.class)).thenReturn(cache);
+        var reference = createReferenceBuild("reference#1");
+
+        var calculator = new CountingDeltaCalculator("repository");
+        var log = new FilteredLog("Errors");
+        assertThat(calculator.calculateDelta(build, reference, log)).contains(createDelta());
+        assertThat(calculator.calculateDelta(build, reference, log)).contains(createDelta());
+
+        assertThat(calculator.count).isEqualTo(1);
+        assertThat(log.getInfoMessages()).containsExactly("-> Reusing the delta to reference build 'Reference'");
+    }
+
+    @Test
+    void shouldNotReuseDeltaOfOtherCalculatorOrRevision() {
+        var build = createBuild();
+        var reference = createReferenceBuild("reference#1");
+
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        cache.put(CALCULATOR, SCM, reference, createDelta());
+
+        assertThat(cache.get(CALCULATOR, SCM, reference)).contains(createDelta());
+        assertThat(cache.get(new DeltaCalculator.NullDeltaCalculator(), SCM, reference)).isEmpty();
+
+        var revisions = new CountingDeltaCalculator("repository");
+        cache.put(revisions, SCM, reference, createDelta());
+        assertThat(cache.get(revisions, SCM, reference)).contains(createDelta());
+
+        revisions.repository = "changed";
+        assertThat(cache.get(revisions, SCM, reference)).isEmpty();
+    }
+
+    @Test
+    void shouldNotReuseDeltaOfOtherRepositoryInSameBuild() {
+        var build = createBuild();
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        when(build.getAction(DeltaCache.class)).thenReturn(cache);
+        var reference = createReferenceBuild("reference#1");
+
+        var first = new CountingDeltaCalculator("first");
+        var second = new CountingDeltaCalculator("second");
+        var log = new FilteredLog("Errors");
+        assertThat(first.calculateDelta(build, reference, log)).isPresent();
+        assertThat(second.calculateDelta(build, reference, log)).isPresent();
+
+        assertThat(first.count).isEqualTo(1);
+        assertThat(second.count).isEqualTo(1);
+        assertThat(log.getInfoMessages()).isEmpty();
+
+        assertThat(first.calculateDelta(build, reference, log)).isPresent();
+        assertThat(second.calculateDelta(build, reference, log)).isPresent();
+        assertThat(first.count).isEqualTo(1);
+        assertThat(second.count).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheDeltaWithoutRevisions() {
+        var build = createBuild();
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        when(build.getAction(DeltaCache.class)).thenReturn(cache);
+        var reference = createReferenceBuild("reference#1");
+
+        var calculator = new NoRevisionDeltaCalculator();
+        var log = new FilteredLog("Errors");
+        assertThat(calculator.calculateDelta(build, reference, log)).isPresent();
+        assertThat(calculator.calculateDelta(build, reference, log)).isPresent();
+
+        assertThat(calculator.count).isEqualTo(2);
+        assertThat(cache.get(calculator, SCM, reference)).isEmpty();
+        assertThat(buildFolder.resolve("delta-0.bin")).doesNotExist();
+    }
+
+    @Test
+    void shouldAttachContentProviderToRestoredDelta() {
+        var build = createBuild();
+        var cache = new DeltaCache();
+        cache.onAttached(build);
+        when(build.getAction(DeltaCache.class)).thenReturn(cache);
+        var reference = createReferenceBuild("reference#1");
+
+        var calculator = new CountingDeltaCalculator("repository");
+        var log = new FilteredLog("Errors");
+        assertThat(calculator.calculateDelta(build, reference, log)).isPresent();
+
+        cache.readResolve(); // simulates a reload of the build
+        var restored = calculator.calculateDelta(build, reference, log);
+
+        assertThat(calculator.count).isEqualTo(1);
+        assertThat(restored).isPresent();
+        var lazy = restored.get().getFileChangesMap().get("lazy");
+        assertThat(lazy.getContentReference()).contains(CONTENT_REFERENCE);
+        assertThat(lazy.getFileContent()).isEqualTo(CONTENT);
+        assertThat(restored.get().getFileChangesMap().get("id").getFileContent()).isEqualTo(CONTENT);
+    }
+
+    private Run<?, ?> createBuild() {
+        Run<?, ?> build = mock(Run.class);
+        when(build.getExternalizableId()).thenReturn("job#2");
+        when(build.getRootDir()).thenReturn(buildFolder.toFile());
+        when(build.isBuilding()).thenReturn(true);
+        return build;
+    }
+
+    private Run<?, ?> createReferenceBuild(final String id) {
+        Run<?, ?> reference = mock(Run.class);
+        when(reference.getExternalizableId()).thenReturn(id);
+        when(reference.getFullDisplayName()).thenReturn("Reference");
+        return reference;
+    }
+
+    private static Delta createDelta() {
+        var fileChanges = new FileChanges("file", "old", CONTENT, FileEditType.MODIFY, Map.of());
+        fileChanges.addChange(new Change(ChangeEditType.INSERT, 1, 1, 2, 5));
+        var lazy = new FileChanges("lazy", "lazy", CONTENT_REFERENCE, PROVIDER, FileEditType.MODIFY, Map.of());
+        return new Delta("current", "reference", Map.of("id", fileChanges, "lazy", lazy));
+    }
+
+    private static class CountingDeltaCalculator extends DeltaCalculator {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String repository;
+        private int count;
+
+        CountingDeltaCalculator(final String repository) {
+            super();
+
+            this.repository = repository;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Optional<Delta> calculateDelta(final Run<?, ?> build, final Run<?, ?> referenceBuild,
+                final String scmKeyFilter, final FilteredLog logger) {
+            count++;
+            return Optional.of(createDelta());
+        }
+
+        @Override
+        protected Optional<String> getRevision(final Run<?, ?> build, final String scmKeyFilter) {
+            return Optional.of(repository + "@" + build.getExternalizableId());
+        }
+
+        @Override
+        protected FileContentProvider getContentProvider(final Run<?, ?> build) {
+            return PROVIDER;
+        }
+    }
+
+    private static class NoRevisionDeltaCalculator extends DeltaCalculator {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private int count;
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public Optional<Delta> calculateDelta(final Run<?, ?> build, final Run<?, ?> referenceBuild,
+                final String scmKeyFilter, final FilteredLog logger) {
+            count++;
+            return Optional.of(createDelta());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.jenkins.plugins.forensics.delta;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link DeltaCodec}.
+ *
+ * @author Ullrich Hafner
+ */
+class DeltaCodecTest {
+    @Test
+    void shouldWriteAndReadDelta() throws IOException {
+        var delta = createDelta();
+
+        assertThat(read(write(delta))).isEqualTo(delta);
+    }
+
+    @Test
+    void shouldWriteAndReadEmptyDelta() throws IOException {
+        var delta = new Delta("current", "reference", Map.of());
+
+        assertThat(read(write(delta))).isEqualTo(delta);
+    }
+
+    @Test
+    void shouldRejectTruncatedInput() throws IOException {
+        var content = write(createDelta());
+
+        for (int length = 0; length < content.length; length++) {
+            var truncated = Arrays.copyOf(content, length);
+            assertThatIOException().as("Length %d", length).isThrownBy(() -> read(truncated));
+        }
+    }
+
+    @Test
+    void shouldRejectOtherFormats() {
+        assertThatIOException().isThrownBy(() -> read("<delta/>".getBytes(StandardCharsets.UTF_8)))
+                .withMessageContaining("binary delta");
+    }
+
+    private Delta createDelta() {
+        var modified = new FileChanges("file", "old", "content", FileEditType.MODIFY, Map.of());
+        modified.addChange(new Change(ChangeEditType.INSERT, 1, 1, 2, 5));
+        modified.addChange(new Change(ChangeEditType.REPLACE, 3, 4, 7, 9));
+        modified.addChange(new Change(ChangeEditType.DELETE, 10, 12, 11, 11));
+
+        var reference = FileContentReference.of("added", "blob", "added content");
+        var added = new FileChanges("added", "", reference, null, FileEditType.ADD, Map.of());
+        added.addChange(new Change(ChangeEditType.INSERT, 0, 0, 1, 1));
+
+        return new Delta("current", "reference", Map.of("modified", modified, "added", added));
+    }
+
+    private byte[] write(final Delta delta) throws IOException {
+        var output = new ByteArrayOutputStream();
+        new DeltaCodec().write(delta, output);
+        return output.toByteArray();
+    }
+
+    private Delta read(final byte[] content) throws IOException {
+        return new DeltaCodec().read(new ByteArrayInputStream(content));
+    }
+}
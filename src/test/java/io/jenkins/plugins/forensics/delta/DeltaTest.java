@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import nl.jqno.equalsverifier.EqualsVerifier;
@@ -63,6 +64,23 @@ class DeltaTest {
         assertThat(delta.getFileChangesById(fileIdOne)).isEqualTo(fileChangesTwo);
     }
 
+    @Test
+    void shouldProvideReadOnlyViewOfFileChanges() {
+        var delta = createDelta();
+        var view = delta.getFileChangesMap();
+
+        FileChanges fileChanges = Mockito.mock(FileChanges.class);
+        delta.addFileChanges("id", fileChanges);
+
+        assertThat(view).containsOnly(entry("id", fileChanges));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> view.put("other", fileChanges));
+
+        Map<String, FileChanges> visited = new HashMap<>();
+        delta.forEachFileChange(visited::put);
+        assertThat(visited).containsOnly(entry("id", fileChanges));
+    }
+
     @Test
     void shouldObeyEqualsContract() {
         EqualsVerifier.simple().forClass(Delta.class).verify();
@@ -2,8 +2,11 @@ package io.jenkins.plugins.forensics.delta;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import nl.jqno.equalsverifier.EqualsVerifier;
 
@@ -58,6 +61,93 @@ class FileChangesTest {
                 entry(ChangeEditType.DELETE, Set.of(unrelated)));
         assertThat(fileChanges.getChangesByType(changeEditType)).containsExactlyInAnyOrder(first, second);
         assertThat(fileChanges).hasModifiedLines(10, 11, 12, 13, 14, 100);
+
+        List<Change> visited = new ArrayList<>();
+        fileChanges.forEachChange(visited::add);
+        assertThat(visited).containsExactlyInAnyOrder(first, second, unrelated);
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> fileChanges.getChanges().remove(ChangeEditType.DELETE));
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> fileChanges.getChanges().get(ChangeEditType.DELETE).clear());
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> fileChanges.getChangesByType(changeEditType).remove(first));
+        assertThat(fileChanges.getChangesByType(ChangeEditType.INSERT)).isEmpty();
+
+        var view = fileChanges.getChanges();
+        assertThat(fileChanges.getChanges()).isSameAs(view);
+        var insert = createChange(ChangeEditType.INSERT, 3000, 3000);
+        fileChanges.addChange(insert);
+        var another = createChange(changeEditType, 200, 200);
+        fileChanges.addChange(another);
+        assertThat(view).containsEntry(ChangeEditType.INSERT, Set.of(insert));
+        assertThat(view.get(changeEditType)).containsExactlyInAnyOrder(first, second, another);
+    }
+
+    @Test
+    void shouldQueryModifiedLineRanges() {
+        var fileChanges = createFileChanges();
+
+        assertThat(fileChanges.countModifiedLines()).isZero();
+        assertThat(fileChanges.isLineModified(1)).isFalse();
+        assertThat(fileChanges.isRangeModified(1, 100)).isFalse();
+
+        fileChanges.addChange(createChange(ChangeEditType.INSERT, 20, 30));
+        fileChanges.addChange(createChange(ChangeEditType.REPLACE, 25, 35));
+        fileChanges.addChange(createChange(ChangeEditType.REPLACE, 36, 40));
+        fileChanges.addChange(createChange(ChangeEditType.INSERT, 1, 2));
+        fileChanges.addChange(createChange(ChangeEditType.DELETE, 50, 60));
+
+        assertThat(fileChanges.countModifiedLines()).isEqualTo(23);
+        assertThat(fileChanges.getModifiedLines()).hasSize(23)
+                .startsWith(1, 2, 20, 21)
+                .endsWith(39, 40)
+                .contains(35)
+                .doesNotContain(3, 19, 41, 50);
+        assertThat(fileChanges.isLineModified(1)).isTrue();
+        assertThat(fileChanges.isLineModified(3)).isFalse();
+        assertThat(fileChanges.isLineModified(40)).isTrue();
+        assertThat(fileChanges.isLineModified(55)).isFalse();
+        assertThat(fileChanges.isRangeModified(3, 19)).isFalse();
+        assertThat(fileChanges.isRangeModified(3, 20)).isTrue();
+        assertThat(fileChanges.isRangeModified(40, 100)).isTrue();
+        assertThat(fileChanges.isRangeModified(41, 100)).isFalse();
+        assertThat(fileChanges.isRangeModified(0, 0)).isFalse();
+
+        fileChanges.addChange(createChange(ChangeEditType.INSERT, 41, 41));
+        assertThat(fileChanges.countModifiedLines()).isEqualTo(24);
+        assertThat(fileChanges.isRangeModified(41, 100)).isTrue();
+    }
+
+    @Test
+    void shouldLoadContentOnDemand() {
+        var reference = FileContentReference.of(FILE_NAME, "blob", FILE_CONTENT);
+        List<FileContentReference> requests = new ArrayList<>();
+        var lazy = new FileChanges(FILE_NAME, OLD_FILE_NAME, reference,
+                loaded -> {
+                    requests.add(loaded);
+                    return Optional.of(FILE_CONTENT);
+                }, FILE_EDIT_TYPE, Collections.emptyMap());
+
+        assertThat(requests).isEmpty();
+        assertThat(lazy).hasFileContent(FILE_CONTENT);
+        assertThat(lazy.getContentReference()).contains(reference);
+        assertThat(requests).containsExactly(reference);
+        assertThat(reference.matches(FILE_CONTENT)).isTrue();
+        assertThat(reference.matches(FILE_CONTENT + "changed")).isFalse();
+
+        assertThat(createFileChanges().getContentReference()).isEmpty();
+
+        lazy.setContentProvider(loaded -> Optional.empty());
+        assertThat(lazy.getFileContent()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEmptyContentWithoutProvider() {
+        var lazy = new FileChanges(FILE_NAME, OLD_FILE_NAME, FileContentReference.of(FILE_NAME, "blob", FILE_CONTENT),
+                null, FILE_EDIT_TYPE, Collections.emptyMap());
+
+        assertThat(lazy.getFileContent()).isEmpty();
     }
 
     private Change createChange(final ChangeEditType changeEditType, final int start, final int end) {
@@ -0,0 +1,107 @@
+package io.jenkins.plugins.forensics.delta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link FileContentCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class FileContentCacheTest {
+    private static final FileContentReference FIRST = FileContentReference.of("first", "1", "12345");
+    private static final FileContentReference SECOND = FileContentReference.of("second", "2", "67890");
+    private static final FileContentReference THIRD = FileContentReference.of("third", "3", "abcde");
+    private static final FileContentReference TOO_LARGE = FileContentReference.of("large", "4", "12345678901");
+
+    @Test
+    void shouldEvictLeastRecentlyUsedContent() {
+        List<FileContentReference> requests = new ArrayList<>();
+        var cache = new FileContentCache(reference -> {
+            requests.add(reference);
+            return Optional.of("x".repeat(reference.getLength()));
+        }, 10);
+
+        assertThat(cache.getContent(FIRST)).contains("xxxxx");
+        assertThat(cache.getContent(SECOND)).contains("xxxxx");
+        assertThat(cache.getContent(FIRST)).contains("xxxxx");
+        assertThat(cache.getCachedCharacters()).isEqualTo(10);
+
+        assertThat(cache.getContent(THIRD)).contains("xxxxx"); // evicts SECOND
+        assertThat(cache.getContent(FIRST)).contains("xxxxx");
+        assertThat(cache.getContent(SECOND)).contains("xxxxx");
+
+        assertThat(requests).containsExactly(FIRST, SECOND, THIRD, SECOND);
+        assertThat(cache.getHits()).isEqualTo(2);
+        assertThat(cache.getMisses()).isEqualTo(4);
+        assertThat(cache.getCachedCharacters()).isEqualTo(10);
+
+        assertThat(cache.getContent(TOO_LARGE)).contains("x".repeat(11));
+        assertThat(cache.getCachedCharacters()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotCacheMissingContent() {
+        var cache = new FileContentCache(reference -> Optional.empty(), 10);
+
+        assertThat(cache.getContent(FIRST)).isEmpty();
+        assertThat(cache.getContent(FIRST)).isEmpty();
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getCachedCharacters()).isZero();
+    }
+
+    @Test
+    void shouldRejectContentThatDoesNotMatchReference() {
+        var reference = FileContentReference.of("file", "1", "content");
+        var cache = new FileContentCache(loaded -> Optional.of("changed"), 100);
+
+        assertThat(cache.getContent(reference)).isEmpty();
+        assertThat(cache.getCachedCharacters()).isZero();
+
+        var matching = new FileContentCache(loaded -> Optional.of("content"), 100);
+        assertThat(matching.getContent(reference)).contains("content");
+        assertThat(matching.getContent(reference)).contains("content");
+        assertThat(matching.getHits()).isOne();
+    }
+
+    @Test
+    void shouldLoadContentWithoutHoldingLock() {
+        var reference = FileContentReference.of("file", "1", "content");
+        var locked = new AtomicReference<Boolean>();
+        var cache = new AtomicReference<FileContentCache>();
+        cache.set(new FileContentCache(loaded -> {
+            locked.set(Thread.holdsLock(cache.get()));
+            return Optional.of("content");
+        }, 100));
+
+        assertThat(cache.get().getContent(reference)).contains("content");
+        assertThat(locked.get()).isFalse();
+    }
+
+    @Test
+    void shouldCountContentThatHasBeenLoadedConcurrentlyOnlyOnce() {
+        var reference = FileContentReference.of("file", "1", "content");
+        var cache = new AtomicReference<FileContentCache>();
+        var nested = new AtomicReference<Optional<String>>(Optional.empty());
+        cache.set(new FileContentCache(loaded -> {
+            if (nested.get().isEmpty()) {
+                nested.set(Optional.of("loading"));
+                nested.set(cache.get().getContent(reference)); // simulates a concurrent request for the same file
+            }
+            return Optional.of("content");
+        }, 100));
+
+        assertThat(cache.get().getContent(reference)).contains("content");
+        assertThat(nested.get()).contains("content");
+        assertThat(cache.get().getMisses()).isEqualTo(2);
+        assertThat(cache.get().getCachedCharacters()).isEqualTo("content".length());
+        assertThat(cache.get().getContent(reference)).contains("content");
+        assertThat(cache.get().getHits()).isOne();
+    }
+}
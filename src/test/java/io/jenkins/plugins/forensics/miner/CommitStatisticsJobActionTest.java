@@ -1,12 +1,14 @@
 package io.jenkins.plugins.forensics.miner;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -75,6 +77,36 @@ class CommitStatisticsJobActionTest {
                 .isArray().containsExactly(1, 2, 3);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"delta", "count"})
+    void shouldCreateSameBuildTrendModelFromSummaries(final String chartType, @TempDir final Path folder) {
+        Map<String, Object> configurationMap = new HashMap<>();
+        configurationMap.put("buildAsDomain", true);
+        configurationMap.put("numberOfBuilds", 50);
+        configurationMap.put("numberOfDays", 0);
+        configurationMap.put("chartType", chartType);
+
+        var configuration = toJson(configurationMap);
+
+        Job<?, ?> job = mock(Job.class);
+        Run<?, ?> run1 = createRun(1, "run1");
+        Run<?, ?> run2 = createRun(2, "run2");
+        Run<?, ?> run3 = createRun(3, "run3");
+
+        when(job.getLastCompletedBuild()).thenAnswer(i -> run1);
+        when(run1.getPreviousBuild()).thenAnswer(i -> run2);
+        when(run2.getPreviousBuild()).thenAnswer(i -> run3);
+
+        var commitStatisticsJobAction = new CommitStatisticsJobAction(job, SCM_KEY);
+        var expected = commitStatisticsJobAction.getConfigurableBuildTrendModel(configuration);
+
+        when(job.getRootDir()).thenReturn(folder.toFile());
+        ForensicsSummaryStore.getStore(job).orElseThrow().rebuild(run1);
+        when(job.getLastCompletedBuild()).thenReturn(null);
+
+        assertThat(commitStatisticsJobAction.getConfigurableBuildTrendModel(configuration)).isEqualTo(expected);
+    }
+
     private Run<?, ?> createRun(final int runNumber, final String displayName) {
         Run<?, ?> run = mock(Run.class);
         when(run.getNumber()).thenReturn(runNumber);
@@ -0,0 +1,56 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link FilePathIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class FilePathIndexTest {
+    private static final String FIRST = "/src/Aa";
+    private static final String SECOND = "/src/BB"; // same hash code as FIRST
+    private static final String OTHER = "/src/Other.java";
+
+    @Test
+    void shouldUseHashCodeAsIdentifier() {
+        var index = new FilePathIndex(List.of(OTHER));
+
+        var id = index.getId(OTHER);
+        assertThat(id).isEqualTo(String.valueOf(OTHER.hashCode()));
+        assertThat(index.find(id)).contains(OTHER);
+    }
+
+    @Test
+    void shouldResolveCollisionsDeterministically() {
+        assertThat(FIRST.hashCode()).isEqualTo(SECOND.hashCode());
+
+        var index = new FilePathIndex(List.of(SECOND, OTHER, FIRST));
+        var reversed = new FilePathIndex(List.of(FIRST, OTHER, SECOND));
+
+        assertThat(index.getId(FIRST)).isEqualTo(String.valueOf(FIRST.hashCode()));
+        assertThat(index.getId(SECOND)).isEqualTo(SECOND.hashCode() + "_1");
+        assertThat(reversed.getId(FIRST)).isEqualTo(index.getId(FIRST));
+        assertThat(reversed.getId(SECOND)).isEqualTo(index.getId(SECOND));
+
+        assertThat(index.find(index.getId(FIRST))).contains(FIRST);
+        assertThat(index.find(index.getId(SECOND))).contains(SECOND);
+        assertThat(index.find(index.getId(OTHER))).contains(OTHER);
+    }
+
+    @Test
+    void shouldHandleUnknownIdentifiers() {
+        var index = new FilePathIndex(List.of(FIRST, SECOND));
+
+        assertThat(index.find("1")).isEmpty();
+        assertThat(index.find("wrong")).isEmpty();
+        assertThat(index.find(FIRST.hashCode() + "_2")).isEmpty();
+        assertThat(index.find(FIRST.hashCode() + "_-1")).isEmpty();
+        assertThat(index.find(FIRST.hashCode() + "_x")).isEmpty();
+        assertThat(index.find("")).isEmpty();
+    }
+}
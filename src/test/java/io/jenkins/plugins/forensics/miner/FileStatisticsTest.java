@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import edu.hm.hafner.util.SerializableTest;
 import edu.hm.hafner.util.TreeStringBuilder;
 
+import java.util.List;
 import java.util.Set;
 
 import io.jenkins.plugins.forensics.miner.FileStatistics.FileStatisticsBuilder;
@@ -71,6 +72,68 @@ class FileStatisticsTest extends SerializableTest<FileStatistics> {
                 .hasLinesOfCode(0).hasAbsoluteChurn(6);
     }
 
+    @Test
+    void shouldAggregateStatisticsIncrementally() {
+        var builder = new TreeStringBuilder();
+        var statistics = createStatistics(FILE);
+        for (int i = 0; i < 100; i++) {
+            var commit = new CommitDiffItem("ID-" + i / 3, i % 2 == 0 ? "Author-" + i % 7 : "author-" + i % 7, i)
+                    .addLines(i)
+                    .deleteLines(i % 5)
+                    .setNewPath(builder.intern(FILE + i % 4));
+            statistics.inspectCommit(commit);
+
+            assertThat(statistics.getStatistics()).isEqualTo(statistics.recomputeStatistics());
+        }
+        assertThat(statistics).hasNumberOfCommits(34)
+                .hasNumberOfAuthors(7)
+                .hasCreationTime(0)
+                .hasLastModificationTime(99)
+                .hasFileName(FILE + 3);
+
+        var restored = restore(toByteArray(statistics));
+        restored.inspectCommits(Set.of(new CommitDiffItem("id-0", "AUTHOR-0", 100).addLines(1)));
+
+        assertThat(restored.getStatistics()).isEqualTo(restored.recomputeStatistics());
+        assertThat(restored).hasNumberOfCommits(34).hasNumberOfAuthors(7);
+    }
+
+    @Test
+    void shouldKeepRunningAggregatesOfSingleCommitsAndBatches() {
+        var builder = new TreeStringBuilder();
+        var statistics = createStatistics(FILE);
+        for (int i = 0; i < 10; i++) {
+            statistics.inspectCommit(new CommitDiffItem("ID-" + i / 2, "author-" + i % 3, i).addLines(i)
+                    .setNewPath(builder.intern(FILE)));
+            statistics.inspectCommits(List.of(
+                    new CommitDiffItem("ID-" + i / 2, "author-" + i % 4, i).deleteLines(i % 2)
+                            .setNewPath(builder.intern(FILE)),
+                    new CommitDiffItem("ID-X" + i, "author-" + i % 5, i).addLines(1)
+                            .setNewPath(builder.intern(FILE))));
+
+            assertThat(statistics.getStatistics()).isEqualTo(statistics.recomputeStatistics());
+        }
+        assertThat(statistics).hasNumberOfCommits(15).hasNumberOfAuthors(5).hasLinesOfCode(50);
+
+        var restored = FileStatistics.restore(builder.intern(FILE), statistics.getCreationTime(),
+                statistics.getLastModificationTime(), statistics.getStatistics(), statistics.getCommits());
+        restored.inspectCommit(new CommitDiffItem("ID-Y", "author-5", 10).addLines(1)
+                .setNewPath(builder.intern(FILE)));
+
+        assertThat(restored.getStatistics()).isEqualTo(restored.recomputeStatistics());
+        assertThat(restored).hasNumberOfCommits(16).hasNumberOfAuthors(6).hasLinesOfCode(51);
+    }
+
+    @Test
+    void shouldNotExposeModifiableCommits() {
+        var statistics = createStatistics(FILE);
+        statistics.inspectCommit(new CommitDiffItem("ID-0", "author-0", 0).addLines(1));
+
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> statistics.getCommits().remove(0));
+        assertThat(statistics).hasNumberOfCommits(1).hasLinesOfCode(1);
+    }
+
     @Test
     void shouldConvertWindowsName() {
         assertThat(createStatistics("C:\\path\\to\\file.txt")).hasFileName("C:/path/to/file.txt");
@@ -0,0 +1,315 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.forensics.miner.ForensicsBuildAction.BaseDeletionListener;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ForensicsBuildAction}.
+ *
+ * @author Ullrich Hafner
+ */
+class ForensicsBuildActionTest {
+    private static final String SCM_KEY = "scm";
+    private static final String FILE = "file.txt";
+    private static final String MOVED_FILE = "moved.txt";
+    private static final int INTERVAL = 3;
+
+    @TempDir
+    private Path folder;
+
+    private final Map<Integer, Run<?, ?>> builds = new HashMap<>();
+    private final Map<Run<?, ?>, List<ForensicsBuildAction>> actions = new HashMap<>();
+    private final TreeStringBuilder builder = new TreeStringBuilder();
+    private Job<?, ?> job;
+
+    @BeforeEach
+    void createJob() {
+        job = mock(Job.class);
+        when(job.getBuildByNumber(anyInt())).thenAnswer(i -> builds.get(i.<Integer>getArgument(0)));
+    }
+
+    @Test
+    void shouldUseFileNamesOfSnapshotsAndDeltas() throws IOException {
+        var first = createBuild(1);
+        var snapshot = createAction(first, 0, null, commit("1", FILE, FILE));
+        var otherSnapshot = createAction(first, 1, null, commit("1", FILE, FILE));
+
+        var second = createBuild(2);
+        var delta = createAction(second, 0, snapshot, commit("2", FILE, FILE));
+        var otherDelta = createAction(second, 1, otherSnapshot, commit("2", FILE, FILE));
+
+        assertThat(snapshot.isDelta()).isFalse();
+        assertThat(snapshot.getDeltaChainLength()).isZero();
+        assertThat(getFileName(snapshot)).isEqualTo("repository-statistics.bin");
+        assertThat(getFileName(otherSnapshot)).isEqualTo("repository-statistics-1.bin");
+
+        assertThat(delta.isDelta()).isTrue();
+        assertThat(delta.getDeltaChainLength()).isOne();
+        assertThat(getFileName(delta)).isEqualTo("repository-statistics-delta.bin");
+        assertThat(getFileName(otherDelta)).isEqualTo("repository-statistics-delta-1.bin");
+
+        assertThat(getRootDir(first))
+                .isDirectoryContaining(path -> path.endsWith("repository-statistics.bin"))
+                .isDirectoryContaining(path -> path.endsWith("repository-statistics-1.bin"));
+        assertThat(getRootDir(second))
+                .isDirectoryContaining(path -> path.endsWith("repository-statistics-delta.bin"))
+                .isDirectoryContaining(path -> path.endsWith("repository-statistics-delta-1.bin"));
+    }
+
+    @Test
+    void shouldCreateSnapshotIfIntervalIsReached() throws IOException {
+        List<ForensicsBuildAction> chain = new ArrayList<>();
+        ForensicsBuildAction previous = null;
+        for (int number = 1; number <= 2 * INTERVAL; number++) {
+            previous = createAction(createBuild(number), 0, previous, commit(String.valueOf(number), FILE, FILE));
+            chain.add(previous);
+        }
+
+        assertThat(chain).extracting(ForensicsBuildAction::getDeltaChainLength)
+                .containsExactly(0, 1, 2, 0, 1, 2);
+        assertThat(chain).extracting(ForensicsBuildAction::isDelta)
+                .containsExactly(false, true, true, false, true, true);
+    }
+
+    @Test
+    void shouldCreateSnapshotIfJournalHasBeenDiscarded() throws IOException {
+        var snapshot = createAction(createBuild(1), 0, null, commit("1", FILE, FILE));
+
+        var statistics = read(snapshot);
+        statistics.discardJournal();
+        statistics.addAll(List.of(commit("2", FILE, FILE)));
+        var action = new ForensicsBuildAction(createBuild(2), statistics, true, 1, SCM_KEY, 0, snapshot, INTERVAL,
+                new MiningMetrics());
+
+        assertThat(action.isDelta()).isFalse();
+        assertThat(read(action).get(FILE).getNumberOfCommits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCreateDeltaOfStatisticsThatHaveBeenMinedOnAgent() throws IOException {
+        var snapshot = createAction(createBuild(1), 0, null, commit("1", FILE, FILE));
+
+        var statistics = new RepositoryStatistics();
+        statistics.addAll(read(snapshot));
+        statistics.addAll(List.of(commit("2", FILE, FILE)));
+        statistics.setLatestCommitId("2");
+        var delta = new ForensicsBuildAction(createBuild(2), SerializationUtils.roundtrip(statistics), true, 1,
+                SCM_KEY, 0, snapshot, INTERVAL, new MiningMetrics());
+
+        assertThat(delta.isDelta()).isTrue();
+        assertThat(read(delta).getLatestCommitId()).isEqualTo("2");
+        assertThat(read(delta).get(FILE).getNumberOfCommits()).isEqualTo(2);
+
+        var partitioned = new RepositoryStatistics();
+        partitioned.discardJournal();
+        partitioned.addAll(read(delta));
+        partitioned.addAll(List.of(commit("3", FILE, FILE)));
+        var full = new ForensicsBuildAction(createBuild(3), SerializationUtils.roundtrip(partitioned), true, 1,
+                SCM_KEY, 0, delta, INTERVAL, new MiningMetrics());
+
+        assertThat(full.isDelta()).isFalse();
+        assertThat(read(full).get(FILE).getNumberOfCommits()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReplayDeltasInOrderOfBuilds() throws IOException {
+        var snapshot = createAction(createBuild(1), 0, null, commit("1", FILE, FILE));
+        var move = createAction(createBuild(2), 0, snapshot, commit("2", FILE, MOVED_FILE));
+        var change = createAction(createBuild(3), 0, move, commit("3", MOVED_FILE, MOVED_FILE));
+
+        var statistics = read(change);
+
+        assertThat(statistics.getLatestCommitId()).isEqualTo("3");
+        assertThat(statistics.getFiles()).containsExactly(MOVED_FILE);
+        assertThat(statistics.get(MOVED_FILE).getNumberOfCommits()).isEqualTo(3);
+        assertThat(read(move).getFiles()).containsExactly(MOVED_FILE);
+        assertThat(read(move).get(MOVED_FILE).getNumberOfCommits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnEmptyStatisticsIfBaseIsMissing() throws IOException {
+        var snapshot = createAction(createBuild(1), 0, null, commit("1", FILE, FILE));
+        var delta = createAction(createBuild(2), 0, snapshot, commit("2", FILE, FILE));
+
+        assertThat(delta.isAvailable()).isTrue();
+
+        builds.remove(1);
+
+        assertThat(snapshot.isAvailable()).isTrue();
+        assertThat(delta.isAvailable()).isFalse();
+        assertThat(read(delta).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldMarkStatisticsWithUnreadableDeltaAsUnavailable() throws IOException {
+        var snapshot = createAction(createBuild(1), 0, null, commit("1", FILE, FILE));
+        var delta = createAction(createBuild(2), 0, snapshot, commit("2", FILE, FILE));
+        var next = createAction(createBuild(3), 0, delta, commit("3", FILE, FILE));
+
+        Files.write(getRootDir(delta.getOwner()).resolve(getFileName(delta)), new byte[] {0x46, 0x52, 0x4E, 0x44});
+
+        assertThat(next.isAvailable()).as("Corrupt files are detected while reading").isTrue();
+        assertThat(next.isReadable()).isFalse();
+        assertThat(next.isAvailable()).isFalse();
+        assertThat(read(next).isEmpty()).isTrue();
+        assertThat(snapshot.isReadable()).isTrue();
+    }
+
+    @Test
+    void shouldPromoteDeltaToSnapshotIfBaseIsDeleted() throws IOException {
+        var first = createBuild(1);
+        var snapshot = createAction(first, 0, null, commit("1", FILE, FILE));
+        var second = createBuild(2);
+        var delta = createAction(second, 0, snapshot, commit("2", FILE, FILE));
+        var third = createBuild(3);
+        var next = createAction(third, 0, delta, commit("3", FILE, FILE));
+        when(first.getNextBuild()).thenAnswer(i -> second);
+        when(second.getNextBuild()).thenAnswer(i -> third);
+
+        new BaseDeletionListener().onDeleted(first);
+        builds.remove(1);
+
+        assertThat(delta.isDelta()).isFalse();
+        assertThat(delta.getDeltaChainLength()).isZero();
+        assertThat(getFileName(delta)).isEqualTo("repository-statistics.bin");
+        assertThat(getRootDir(second))
+                .isDirectoryContaining(path -> path.endsWith("repository-statistics.bin"))
+                .isDirectoryNotContaining(path -> path.endsWith("repository-statistics-delta.bin"));
+        verify(second).save();
+        verify(third).save();
+
+        assertThat(read(delta).get(FILE).getNumberOfCommits()).isEqualTo(2);
+        assertThat(next.isDelta()).isTrue();
+        assertThat(read(next).getLatestCommitId()).isEqualTo("3");
+        assertThat(read(next).get(FILE).getNumberOfCommits()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPromoteOnlyDeltasOfDeletedBuild() throws IOException {
+        var first = createBuild(1);
+        var snapshot = createAction(first, 0, null, commit("1", FILE, FILE));
+        var second = createBuild(2);
+        var otherSnapshot = createAction(second, 0, null, commit("1", FILE, FILE));
+        var third = createBuild(3);
+        var delta = createAction(third, 0, otherSnapshot, commit("2", FILE, FILE));
+        when(first.getNextBuild()).thenAnswer(i -> second);
+        when(second.getNextBuild()).thenAnswer(i -> third);
+
+        new BaseDeletionListener().onDeleted(first);
+
+        assertThat(snapshot.isDelta()).isFalse();
+        assertThat(delta.isDelta()).isTrue();
+        verify(second, never()).save();
+        verify(third, never()).save();
+    }
+
+    @Test
+    void shouldPromoteDeltaThatSkippedUnavailableAction() throws IOException {
+        var first = createBuild(1);
+        var other = createAction(first, 0, null, commit("1", FILE, FILE));
+        var second = createBuild(2);
+        var snapshot = createAction(second, 0, null, commit("1", FILE, FILE));
+        var third = createBuild(3);
+        var unavailable = createAction(third, 0, other, commit("2", FILE, FILE));
+        var fourth = createBuild(4);
+        var delta = createAction(fourth, 0, snapshot, commit("2", FILE, FILE));
+        when(second.getNextBuild()).thenAnswer(i -> third);
+        when(third.getNextBuild()).thenAnswer(i -> fourth);
+
+        builds.remove(1);
+        assertThat(unavailable.isAvailable()).isFalse();
+
+        new BaseDeletionListener().onDeleted(second);
+        builds.remove(2);
+
+        assertThat(delta.isDelta()).isFalse();
+        assertThat(delta.isAvailable()).isTrue();
+        assertThat(read(delta).get(FILE).getNumberOfCommits()).isEqualTo(2);
+        verify(third, never()).save();
+        verify(fourth).save();
+    }
+
+    @Test
+    void shouldStopSearchingDependentsAtAvailableAction() throws IOException {
+        var first = createBuild(1);
+        var snapshot = createAction(first, 0, null, commit("1", FILE, FILE));
+        var second = createBuild(2);
+        var otherSnapshot = createAction(second, 0, null, commit("1", FILE, FILE));
+        var third = createBuild(3);
+        createAction(third, 0, otherSnapshot, commit("2", FILE, FILE));
+        when(first.getNextBuild()).thenAnswer(i -> second);
+
+        new BaseDeletionListener().onDeleted(first);
+
+        assertThat(snapshot.isDelta()).isFalse();
+        verify(second, never()).getNextBuild();
+        verify(third, never()).save();
+    }
+
+    private RepositoryStatistics read(final ForensicsBuildAction action) {
+        return action.createXmlStream().read(getRootDir(action.getOwner()).resolve(getFileName(action)));
+    }
+
+    private String getFileName(final ForensicsBuildAction action) {
+        return action.getBuildResultBaseName();
+    }
+
+    private Path getRootDir(final Run<?, ?> run) {
+        return run.getRootDir().toPath();
+    }
+
+    private Run<?, ?> createBuild(final int number) throws IOException {
+        var rootDir = Files.createDirectories(folder.resolve(String.valueOf(number)));
+
+        Run<?, ?> run = mock(Run.class);
+        when(run.getNumber()).thenReturn(number);
+        when(run.getRootDir()).thenReturn(rootDir.toFile());
+        when(run.getParent()).thenAnswer(i -> job);
+        when(run.getActions(ForensicsBuildAction.class)).thenAnswer(i -> actions.getOrDefault(run, List.of()));
+        builds.put(number, run);
+        return run;
+    }
+
+    private ForensicsBuildAction createAction(final Run<?, ?> run, final int number,
+            final ForensicsBuildAction base, final CommitDiffItem commit) {
+        var statistics = new RepositoryStatistics();
+        if (base != null) {
+            statistics.addAll(read(base));
+        }
+        statistics.addAll(List.of(commit));
+        statistics.setLatestCommitId(commit.getId());
+
+        var action = new ForensicsBuildAction(run, statistics, true, 1, SCM_KEY, number, base, INTERVAL,
+                new MiningMetrics());
+        actions.computeIfAbsent(run, key -> new ArrayList<>()).add(action);
+        return action;
+    }
+
+    private CommitDiffItem commit(final String id, final String oldPath, final String newPath) {
+        var commit = new CommitDiffItem(id, "author", Integer.parseInt(id)).addLines(1);
+        if (!oldPath.equals(newPath)) {
+            commit.setOldPath(builder.intern(oldPath));
+        }
+        return commit.setNewPath(builder.intern(newPath));
+    }
+}
@@ -0,0 +1,374 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.forensics.miner.ForensicsSummary.Kind;
+import io.jenkins.plugins.forensics.miner.MiningMetrics.MiningMetricsBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ForensicsSummaryStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class ForensicsSummaryStoreTest {
+    private static final String SCM_KEY = "scm";
+    private static final String OTHER_SCM_KEY = "other";
+    private static final int FIRST_PAYLOAD_OFFSET = 5 + 8; // file header, frame header
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldNotFindStoreOfJobWithoutFolder() {
+        Job<?, ?> job = mock(Job.class);
+
+        assertThat(ForensicsSummaryStore.findStore(job)).isEmpty();
+        assertThat(ForensicsSummaryStore.getStore(job)).isEmpty();
+    }
+
+    @Test
+    void shouldFindStoreOnlyIfCreated() {
+        Job<?, ?> job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(folder.toFile());
+
+        assertThat(ForensicsSummaryStore.findStore(job)).isEmpty();
+        assertThat(ForensicsSummaryStore.getStore(job)).hasValueSatisfying(
+                store -> assertThat(store.exists()).isFalse());
+
+        ForensicsSummaryStore.getStore(job).orElseThrow().append(List.of());
+
+        assertThat(ForensicsSummaryStore.findStore(job)).isPresent();
+    }
+
+    @Test
+    void shouldAppendAndReadSummaries() {
+        var store = createStore();
+        assertThat(store.read()).isEmpty();
+
+        var first = summarize(createRun(1, 10));
+        var second = summarize(createRun(2, 20));
+        store.append(first);
+        store.append(second);
+
+        assertThat(store.read()).containsExactlyElementsOf(concat(first, second));
+
+        var history = store.getHistory(Kind.REPOSITORY, SCM_KEY);
+        assertThat(history).hasSize(2);
+        assertThat(history.get(0).getBuild().getNumber()).isEqualTo(2);
+        assertThat(history.get(0).getResult().getNumberOfFiles()).isEqualTo(20);
+        assertThat(history.get(0).getResult().getMiningMetrics().getMiningDuration()).isEqualTo(200);
+        assertThat(history.get(1).getBuild().getNumber()).isEqualTo(1);
+        assertThat(history.get(1).getResult().getTotalLinesOfCode()).isEqualTo(100);
+
+        var commits = store.getHistory(Kind.COMMITS, SCM_KEY);
+        assertThat(commits).hasSize(2);
+        assertThat(commits.get(0).getResult().getCommitStatistics().getCommitCount()).isEqualTo(2);
+
+        assertThat(store.getHistory(Kind.REPOSITORY, OTHER_SCM_KEY)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceSummariesOfTheSameBuild() {
+        var store = createStore();
+
+        store.append(summarize(createRun(1, 10)));
+        store.append(summarize(createRun(1, 15)));
+
+        assertThat(store.getHistory(Kind.REPOSITORY, SCM_KEY)).singleElement()
+                .satisfies(result -> assertThat(result.getResult().getNumberOfFiles()).isEqualTo(15));
+    }
+
+    @Test
+    void shouldRemoveSummariesOfDeletedBuild() {
+        var store = createStore();
+        store.append(summarize(createRun(1, 10)));
+        store.append(summarize(createRun(2, 20)));
+
+        store.remove(1);
+
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsOnly(2);
+    }
+
+    @Test
+    void shouldRebuildFromHistory() {
+        var store = createStore();
+        var first = createRun(1, 10);
+        var second = createRun(2, 20);
+        var third = createRun(3, 30);
+        when(third.getPreviousBuild()).thenAnswer(i -> second);
+        when(second.getPreviousBuild()).thenAnswer(i -> first);
+        when(second.isBuilding()).thenReturn(true);
+
+        store.append(summarize(createRun(4, 40)));
+        assertThat(store.rebuild(third)).isEqualTo(4);
+
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(1, 1, 3, 3);
+        assertThat(store.rebuild(null)).isZero();
+        assertThat(store.read()).isEmpty();
+    }
+
+    @Test
+    void shouldCreateStoreOnFirstRecord() {
+        var store = createStore();
+        var first = createRun(1, 10);
+        var second = createRun(2, 20);
+        when(second.getPreviousBuild()).thenAnswer(i -> first);
+
+        store.record(second);
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(1, 1, 2, 2);
+
+        var third = createRun(3, 30);
+        when(third.getPreviousBuild()).thenAnswer(i -> second);
+        store.record(third);
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(1, 1, 2, 2, 3, 3);
+    }
+
+    @Test
+    void shouldRebuildInBackgroundAndAddRunsRecordedInTheMeantime() {
+        List<Runnable> tasks = new ArrayList<>();
+        var store = createStore(tasks::add);
+        var first = createRun(1, 10);
+        var second = createRun(2, 20);
+        when(second.getPreviousBuild()).thenAnswer(i -> first);
+
+        store.record(second);
+        assertThat(tasks).hasSize(1);
+        assertThat(store.exists()).isFalse();
+
+        var third = createRun(3, 30);
+        when(third.getPreviousBuild()).thenAnswer(i -> second);
+        store.record(third);
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(1, 1, 2, 2, 3, 3);
+
+        var fourth = createRun(4, 40);
+        store.record(fourth);
+        assertThat(tasks).hasSize(1);
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber)
+                .containsExactly(1, 1, 2, 2, 3, 3, 4, 4);
+    }
+
+    @Test
+    void shouldSkipIncompleteAndBrokenFiles() throws IOException {
+        var store = createStore();
+        var first = summarize(createRun(1, 10));
+        store.append(first);
+
+        var file = getFile();
+        Files.write(file, new byte[] {0, 3}, StandardOpenOption.APPEND);
+        assertThat(store.read()).containsExactlyElementsOf(first);
+
+        Files.write(file, new byte[] {1, 2, 3, 4, 5});
+        assertThat(store.read()).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveIncompleteFrameBeforeAppending() throws IOException {
+        var store = createStore();
+        var first = summarize(createRun(1, 10));
+        store.append(first);
+        Files.write(getFile(), new byte[] {0, 0, 0, 100, 1, 2}, StandardOpenOption.APPEND);
+
+        var second = summarize(createRun(2, 20));
+        store.append(second);
+
+        assertThat(store.read()).containsExactlyElementsOf(concat(first, second));
+    }
+
+    @Test
+    void shouldSkipDamagedFramesAndNotRewriteDamagedStore() throws IOException {
+        var store = createStore();
+        var first = summarize(createRun(1, 10));
+        var second = summarize(createRun(2, 20));
+        store.append(first);
+        store.append(second);
+
+        var file = getFile();
+        var content = Files.readAllBytes(file);
+        content[FIRST_PAYLOAD_OFFSET + 1]++;
+        Files.write(file, content);
+
+        assertThat(store.read()).containsExactlyElementsOf(concat(first.subList(1, 2), second));
+
+        store.remove(2);
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(content);
+    }
+
+    @Test
+    void shouldRebuildDamagedStoreOnRecord() throws IOException {
+        var store = createStore();
+        Files.write(getFile(), new byte[] {1, 2, 3, 4, 5});
+
+        var first = createRun(1, 10);
+        var second = createRun(2, 20);
+        when(second.getPreviousBuild()).thenAnswer(i -> first);
+        store.record(second);
+
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(1, 1, 2, 2);
+    }
+
+    @Test
+    void shouldLoadLatestStatisticsOfLegacyActionsOnlyWhenRebuilding() {
+        var run = createRun(1, 0);
+        var statistics = new RepositoryStatistics();
+        statistics.addAll(List.of(new CommitDiffItem("1", "author", 1)
+                .addLines(5)
+                .setNewPath(new TreeStringBuilder().intern("file"))));
+        var action = run.getActions(ForensicsBuildAction.class).get(0);
+        when(action.hasCommitStatistics()).thenReturn(false);
+        when(action.getCommitStatistics()).thenReturn(new CommitStatistics());
+        when(action.getResult()).thenReturn(statistics);
+
+        assertThat(summarize(run)).filteredOn(summary -> summary.getKind() == Kind.REPOSITORY)
+                .singleElement()
+                .satisfies(summary -> assertThat(summary.getCommitStatistics()).isEqualTo(new CommitStatistics()));
+        verify(action, never()).getResult();
+
+        var store = createStore();
+        store.rebuild(run);
+
+        assertThat(store.getHistory(Kind.REPOSITORY, SCM_KEY)).singleElement()
+                .satisfies(result -> assertThat(result.getResult().getCommitStatistics())
+                        .isEqualTo(statistics.getLatestStatistics()));
+    }
+
+    @Test
+    void shouldNotLoadStatisticsOfActionsWithoutLinesOfCode() {
+        var run = createRun(1, 0);
+        var action = run.getActions(ForensicsBuildAction.class).get(0);
+
+        var store = createStore();
+        store.rebuild(run);
+
+        assertThat(store.getHistory(Kind.REPOSITORY, SCM_KEY)).singleElement()
+                .satisfies(result -> assertThat(result.getResult().getCommitStatistics())
+                        .isEqualTo(new CommitStatistics(1, 2, 3, 4, 5)));
+        verify(action, never()).getResult();
+    }
+
+    @Test
+    void shouldAppendMarkerWhenRemovingBuild() throws IOException {
+        var store = createStore();
+        store.append(summarize(createRun(1, 10)));
+        store.append(summarize(createRun(2, 20)));
+        store.append(summarize(createRun(3, 30)));
+
+        var file = getFile();
+        var content = Files.readAllBytes(file);
+
+        store.remove(1);
+
+        var appended = Files.readAllBytes(file);
+        assertThat(appended).hasSizeGreaterThan(content.length).startsWith(content);
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(2, 2, 3, 3);
+
+        store.append(summarize(createRun(1, 15)));
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(2, 2, 3, 3, 1, 1);
+    }
+
+    @Test
+    void shouldCompactStoreAfterManyRemovals() throws IOException {
+        var store = createStore();
+        int builds = ForensicsSummaryStore.COMPACTION_INTERVAL + 2;
+        for (int build = 1; build <= builds; build++) {
+            store.append(summarize(createRun(build, build)));
+        }
+        var file = getFile();
+        long size = Files.size(file);
+
+        for (int build = 1; build <= ForensicsSummaryStore.COMPACTION_INTERVAL; build++) {
+            store.remove(build);
+        }
+        assertThat(Files.size(file)).isGreaterThan(size);
+
+        store.remove(builds - 1);
+
+        assertThat(Files.size(file)).isLessThan(size);
+        assertThat(store.read()).extracting(ForensicsSummary::getBuildNumber).containsExactly(builds, builds);
+    }
+
+    @Test
+    void shouldRemoveStatesOfDeletedAndMovedJobs() throws IOException {
+        var deleted = Files.createDirectory(folder.resolve("deleted")).resolve(ForensicsSummaryStore.FILE_NAME);
+        var moved = Files.createDirectory(folder.resolve("moved")).resolve(ForensicsSummaryStore.FILE_NAME);
+        new ForensicsSummaryStore(deleted, Runnable::run);
+        new ForensicsSummaryStore(moved, Runnable::run);
+
+        assertThat(ForensicsSummaryStore.hasState(deleted)).isTrue();
+        assertThat(ForensicsSummaryStore.hasState(moved)).isTrue();
+
+        ForensicsSummaryStore.removeStates(deleted.getParent());
+
+        assertThat(ForensicsSummaryStore.hasState(deleted)).isFalse();
+        assertThat(ForensicsSummaryStore.hasState(moved)).isTrue();
+
+        Files.delete(moved.getParent());
+        ForensicsSummaryStore.removeObsoleteStates();
+
+        assertThat(ForensicsSummaryStore.hasState(moved)).isFalse();
+    }
+
+    private Path getFile() {
+        return folder.resolve(ForensicsSummaryStore.FILE_NAME);
+    }
+
+    private ForensicsSummaryStore createStore() {
+        return createStore(Runnable::run);
+    }
+
+    private ForensicsSummaryStore createStore(final Executor executor) {
+        return new ForensicsSummaryStore(getFile(), executor);
+    }
+
+    private List<ForensicsSummary> summarize(final Run<?, ?> run) {
+        return ForensicsSummaryStore.summarize(run);
+    }
+
+    private List<ForensicsSummary> concat(final List<ForensicsSummary> first, final List<ForensicsSummary> second) {
+        List<ForensicsSummary> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    private Run<?, ?> createRun(final int number, final int files) {
+        Run<?, ?> run = mock(Run.class);
+        when(run.getNumber()).thenReturn(number);
+        when(run.getDisplayName()).thenReturn("#" + number);
+        when(run.getTimeInMillis()).thenReturn(number * 1000L);
+
+        ForensicsBuildAction action = mock(ForensicsBuildAction.class);
+        when(action.getScmKey()).thenReturn(SCM_KEY);
+        when(action.hasCommitStatistics()).thenReturn(true);
+        when(action.getNumberOfFiles()).thenReturn(files);
+        when(action.getTotalLinesOfCode()).thenReturn(files * 10);
+        when(action.getTotalChurn()).thenReturn(files * 5);
+        when(action.getCommitStatistics()).thenReturn(new CommitStatistics(1, 2, 3, 4, 5));
+        when(action.getMiningMetrics()).thenReturn(new MiningMetricsBuilder()
+                .setMiningDuration(files * 10_000_000L)
+                .build());
+        when(run.getActions(ForensicsBuildAction.class)).thenReturn(List.of(action));
+        when(run.getActions(CommitStatisticsBuildAction.class)).thenReturn(List.of(
+                new CommitStatisticsBuildAction(run, SCM_KEY, new CommitStatistics(number, 1))));
+        return run;
+    }
+}
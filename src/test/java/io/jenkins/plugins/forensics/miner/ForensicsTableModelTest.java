@@ -2,8 +2,11 @@ package io.jenkins.plugins.forensics.miner;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.function.Supplier;
+
 import io.jenkins.plugins.datatables.DetailedCell;
 import io.jenkins.plugins.datatables.TableColumn;
+import io.jenkins.plugins.forensics.miner.FileStatistics.FileStatisticsBuilder;
 import io.jenkins.plugins.forensics.miner.ForensicsTableModel.ForensicsRow;
 
 import static io.jenkins.plugins.forensics.assertions.Assertions.*;
@@ -40,6 +43,23 @@ class ForensicsTableModelTest {
         assertThatJson(tableModel.getColumns().get(1).getDefinition()).node("render").isAbsent();
     }
 
+    @Test
+    void shouldLoadStatisticsOnlyIfRowsAreRequested() {
+        var statistics = new RepositoryStatistics();
+        statistics.add(createFileStatistics());
+        @SuppressWarnings("unchecked")
+        Supplier<RepositoryStatistics> supplier = mock(Supplier.class);
+        when(supplier.get()).thenReturn(statistics);
+
+        var tableModel = new ForensicsTableModel(supplier);
+        assertThat(tableModel.getColumns()).hasSize(7);
+        assertThat(tableModel.getColumnsDefinition()).isNotEmpty();
+        verifyNoInteractions(supplier);
+
+        assertThat(tableModel.getRows()).hasSize(1);
+        verify(supplier).get();
+    }
+
     @Test
     void shouldReturnRows() {
         var statistics = new RepositoryStatistics();
@@ -53,6 +73,66 @@ class ForensicsTableModelTest {
         assertThat((ForensicsRow) actual).hasAuthorsSize(0);
     }
 
+    @Test
+    void shouldReturnSortedAndFilteredPages() {
+        var statistics = new RepositoryStatistics();
+        var builder = new FileStatisticsBuilder();
+        statistics.add(createFileStatistics(builder, "/src/b/Beta.java", 3));
+        statistics.add(createFileStatistics(builder, "/src/a/Alpha.java", 1));
+        statistics.add(createFileStatistics(builder, "/test/c/Gamma.java", 2));
+        statistics.add(createFileStatistics(builder, "/test/d/Delta.java", 2));
+        var tableModel = new ForensicsTableModel(statistics);
+
+        var firstPage = tableModel.getPage(0, 2, 0, true, "");
+        assertThat(firstPage.getRecordsTotal()).isEqualTo(4);
+        assertThat(firstPage.getRecordsFiltered()).isEqualTo(4);
+        assertThat(firstPage.getData()).extracting(row -> row.getFileName().getSort())
+                .containsExactly("Alpha.java", "Beta.java");
+
+        var secondPage = tableModel.getPage(2, 2, 0, true, "");
+        assertThat(secondPage.getData()).extracting(row -> row.getFileName().getSort())
+                .containsExactly("Delta.java", "Gamma.java");
+
+        var byCommits = tableModel.getPage(0, -1, 2, false, "");
+        assertThat(byCommits.getData()).extracting(ForensicsRow::getCommitsSize)
+                .containsExactly(3, 2, 2, 1);
+        assertThat(byCommits.getData()).extracting(row -> row.getFileName().getSort())
+                .containsExactly("Beta.java", "Delta.java", "Gamma.java", "Alpha.java");
+
+        var filtered = tableModel.getPage(1, 10, 2, true, "TEST/");
+        assertThat(filtered.getRecordsTotal()).isEqualTo(4);
+        assertThat(filtered.getRecordsFiltered()).isEqualTo(2);
+        assertThat(filtered.getData()).extracting(row -> row.getFileName().getSort())
+                .containsExactly("Delta.java");
+
+        assertThat(tableModel.getPage(10, 10, 0, true, "").getData()).isEmpty();
+    }
+
+    @Test
+    void shouldRefreshPagesAfterModification() {
+        var statistics = new RepositoryStatistics();
+        var builder = new FileStatisticsBuilder();
+        statistics.add(createFileStatistics(builder, "/src/Beta.java", 1));
+        var tableModel = new ForensicsTableModel(statistics);
+
+        assertThat(tableModel.getPage(0, 10, 0, true, "").getData()).hasSize(1);
+
+        statistics.add(createFileStatistics(builder, "/src/Alpha.java", 1));
+
+        assertThat(tableModel.getPage(0, 10, 0, true, "").getData())
+                .extracting(row -> row.getFileName().getSort())
+                .containsExactly("Alpha.java", "Beta.java");
+    }
+
+    private FileStatistics createFileStatistics(final FileStatisticsBuilder builder, final String fileName,
+            final int numberOfCommits) {
+        var file = builder.build(fileName);
+        for (int commit = 0; commit < numberOfCommits; commit++) {
+            file.inspectCommit(new CommitDiffItem(String.valueOf(commit), "author", commit).addLines(1));
+        }
+        return file;
+    }
+
     private FileStatistics createFileStatistics() {
         FileStatistics fileStatistics = mock(FileStatistics.class);
         CommitDiffItem commitDiffItem = mock(CommitDiffItem.class);
@@ -7,7 +7,9 @@ import edu.hm.hafner.echarts.PieChartModel;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import tools.jackson.databind.ObjectMapper;
 
 import org.kohsuke.stapler.StaplerRequest2;
@@ -49,6 +51,21 @@ class ForensicsViewModelTest {
                 .hasNoRows();
     }
 
+    @Test
+    void shouldUsePrecomputedDistributionsWithoutLoadingStatistics() {
+        @SuppressWarnings("unchecked")
+        Supplier<RepositoryStatistics> statistics = mock(Supplier.class);
+        var authors = Map.of(5, 3, 10, 1);
+        var commits = Map.of(25, 4);
+
+        var model = new ForensicsViewModel(mock(Run.class), statistics, SCM_KEY, authors, commits);
+
+        assertThat(model)
+                .hasAuthorsModel(new ObjectMapper().writeValueAsString(new SizePieChart().create(authors)))
+                .hasCommitsModel(new ObjectMapper().writeValueAsString(new SizePieChart().create(commits)));
+        verifyNoInteractions(statistics);
+    }
+
     private String createEmptyAuthorsModel() {
         return new ObjectMapper().writeValueAsString(new PieChartModel());
     }
@@ -71,6 +88,27 @@ class ForensicsViewModelTest {
         );
     }
 
+    @Test
+    void shouldResolveFilesWithSameHashCode() {
+        var repositoryStatistics = new RepositoryStatistics();
+        var builder = new FileStatisticsBuilder();
+        repositoryStatistics.add(builder.build("/BB"));
+        repositoryStatistics.add(builder.build("/Aa"));
+
+        var model = new ForensicsViewModel(mock(Run.class), repositoryStatistics, SCM_KEY);
+
+        runWithNullDecorator(model, m -> {
+            assertThat(m.getDynamic("fileName." + "/Aa".hashCode(),
+                    mock(StaplerRequest2.class), mock(StaplerResponse2.class)))
+                    .isInstanceOfSatisfying(FileDetailsView.class,
+                            view -> assertThat(view.getFullPath()).isEqualTo("/Aa"));
+            assertThat(m.getDynamic("fileName." + "/BB".hashCode() + "_1",
+                    mock(StaplerRequest2.class), mock(StaplerResponse2.class)))
+                    .isInstanceOfSatisfying(FileDetailsView.class,
+                            view -> assertThat(view.getFullPath()).isEqualTo("/BB"));
+        });
+    }
+
     @Test
     void shouldThrowNoSuchElementExceptionInGetDynamic() throws IOException {
         var model = new ForensicsViewModel(mock(Run.class), new RepositoryStatistics(), SCM_KEY);
@@ -0,0 +1,33 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import hudson.model.Run;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link MiningMetricsListener}.
+ *
+ * @author Ullrich Hafner
+ */
+class MiningMetricsListenerTest {
+    private static final String SCM_KEY = "scm";
+
+    @Test
+    void shouldNotifyAllListenersEvenIfListenerFails() {
+        Run<?, ?> run = mock(Run.class);
+        var metrics = new MiningMetrics();
+
+        MiningMetricsListener failing = mock(MiningMetricsListener.class);
+        doThrow(new IllegalStateException("Failure")).when(failing).onMined(run, SCM_KEY, metrics);
+        MiningMetricsListener other = mock(MiningMetricsListener.class);
+
+        MiningMetricsListener.fireOnMined(List.of(failing, other), run, SCM_KEY, metrics);
+
+        verify(failing).onMined(run, SCM_KEY, metrics);
+        verify(other).onMined(run, SCM_KEY, metrics);
+    }
+}
@@ -0,0 +1,85 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+import io.jenkins.plugins.forensics.miner.MiningMetrics.MiningMetricsBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link MiningMetrics}.
+ *
+ * @author Ullrich Hafner
+ */
+class MiningMetricsTest {
+    @Test
+    void shouldCreateEmptyMetrics() {
+        var metrics = new MiningMetrics();
+
+        assertThat(metrics.getMiningDuration()).isZero();
+        assertThat(metrics.getDiffItemCount()).isZero();
+        assertThat(metrics.getAllocatedBytes()).isEqualTo(MiningMetrics.NOT_AVAILABLE);
+    }
+
+    @Test
+    void shouldCountCommits() {
+        var builder = new TreeStringBuilder();
+        var file = builder.intern("/file.txt");
+        var moved = builder.intern("/moved.txt");
+        var statistics = new RepositoryStatistics();
+        statistics.addAll(List.of(
+                new CommitDiffItem("1", "author", 1).addLines(5).setNewPath(file),
+                new CommitDiffItem("2", "author", 2).addLines(1).setNewPath(file),
+                new CommitDiffItem("2", "author", 2).setOldPath(file).setNewPath(moved),
+                new CommitDiffItem("3", "author", 3).setOldPath(moved)));
+
+        var metrics = new MiningMetricsBuilder()
+                .setLoadDuration(TimeUnit.MILLISECONDS.toNanos(1))
+                .setMiningDuration(TimeUnit.MILLISECONDS.toNanos(20))
+                .setAggregationDuration(TimeUnit.MILLISECONDS.toNanos(3))
+                .setCommits(statistics)
+                .setAllocatedBytes(1024)
+                .build()
+                .withSerialization(TimeUnit.MILLISECONDS.toNanos(4), 512);
+
+        assertThat(metrics.getLoadDuration()).isEqualTo(1);
+        assertThat(metrics.getMiningDuration()).isEqualTo(20);
+        assertThat(metrics.getAggregationDuration()).isEqualTo(3);
+        assertThat(metrics.getSerializationDuration()).isEqualTo(4);
+        assertThat(metrics.getSerializedSize()).isEqualTo(512);
+        assertThat(metrics.getCommitCount()).isEqualTo(3);
+        assertThat(metrics.getDiffItemCount()).isEqualTo(4);
+        assertThat(metrics.getRenameCount()).isEqualTo(1);
+        assertThat(metrics.getDeleteCount()).isEqualTo(1);
+        assertThat(metrics.getAllocatedBytes()).isEqualTo(1024);
+
+        assertThat(metrics.toMap())
+                .containsEntry("mining.duration.ms", 20L)
+                .containsEntry("serialization.size.bytes", 512L)
+                .containsEntry("diff.items", 4L)
+                .hasSize(10);
+    }
+
+    @Test
+    void shouldMeasureAllocatedBytes() {
+        long before = MiningMetrics.getAllocatedBytesOfCurrentThread();
+        var allocated = new byte[1024 * 1024];
+        long after = MiningMetrics.getAllocatedBytesOfCurrentThread();
+
+        assertThat(allocated).hasSize(1024 * 1024);
+        if (before != MiningMetrics.NOT_AVAILABLE) {
+            assertThat(after - before).isGreaterThanOrEqualTo(1024 * 1024);
+        }
+    }
+
+    @Test
+    void shouldAdhereToEquals() {
+        EqualsVerifier.simple().forClass(MiningMetrics.class).verify();
+    }
+}
@@ -0,0 +1,66 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.echarts.Build;
+import edu.hm.hafner.echarts.BuildResult;
+import edu.hm.hafner.echarts.ChartModelConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.jenkins.plugins.forensics.miner.MiningMetrics.MiningMetricsBuilder;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link MiningMetricsTrendChart}.
+ *
+ * @author Ullrich Hafner
+ */
+class MiningMetricsTrendChartTest {
+    @Test
+    void shouldCreateLinesChartModel() {
+        var chart = new MiningMetricsTrendChart();
+
+        List<BuildResult<ForensicsBuildAction>> results = new ArrayList<>();
+        results.add(createResult(2, 5, 200, 20, 8));
+        results.add(createResult(1, 1, 100, 10, 4));
+
+        var model = chart.create(results, new ChartModelConfiguration());
+
+        assertThatJson(model).node("domainAxisLabels")
+                .isArray().hasSize(2)
+                .contains("#1")
+                .contains("#2");
+
+        assertThatJson(model).node("series")
+                .isArray().hasSize(4);
+        assertThatJson(model.getSeries().get(0)).node("name").isEqualTo(Messages.TrendChart_Load_Legend_Label());
+        assertThatJson(model).node("series[0].data")
+                .isArray().containsExactly(1, 5);
+        assertThatJson(model).node("series[1].data")
+                .isArray().containsExactly(100, 200);
+        assertThatJson(model).node("series[2].data")
+                .isArray().containsExactly(10, 20);
+        assertThatJson(model).node("series[3].data")
+                .isArray().containsExactly(4, 8);
+    }
+
+    private BuildResult<ForensicsBuildAction> createResult(final int buildNumber, final long load,
+            final long mining, final long aggregation, final long serialization) {
+        var metrics = new MiningMetricsBuilder()
+                .setLoadDuration(TimeUnit.MILLISECONDS.toNanos(load))
+                .setMiningDuration(TimeUnit.MILLISECONDS.toNanos(mining))
+                .setAggregationDuration(TimeUnit.MILLISECONDS.toNanos(aggregation))
+                .build()
+                .withSerialization(TimeUnit.MILLISECONDS.toNanos(serialization), 1024);
+
+        ForensicsBuildAction action = mock(ForensicsBuildAction.class);
+        when(action.getMiningMetrics()).thenReturn(metrics);
+
+        return new BuildResult<>(new Build(buildNumber), action);
+    }
+}
@@ -0,0 +1,48 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link MiningTasks}.
+ *
+ * @author Ullrich Hafner
+ */
+class MiningTasksTest {
+    @Test
+    void shouldReturnResultOfTask() throws InterruptedException {
+        assertThat(MiningTasks.getResult(CompletableFuture.completedFuture("result"), "task")).isEqualTo("result");
+    }
+
+    @Test
+    void shouldRethrowUncheckedExceptionsAndInterruptions() {
+        var runtimeException = new IllegalArgumentException("runtime");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> MiningTasks.getResult(CompletableFuture.failedFuture(runtimeException), "task"))
+                .isSameAs(runtimeException);
+
+        var error = new AssertionError("error");
+        assertThatExceptionOfType(AssertionError.class)
+                .isThrownBy(() -> MiningTasks.getResult(CompletableFuture.failedFuture(error), "task"))
+                .isSameAs(error);
+
+        var interruptedException = new InterruptedException("interrupted");
+        assertThatExceptionOfType(InterruptedException.class)
+                .isThrownBy(() -> MiningTasks.getResult(CompletableFuture.failedFuture(interruptedException), "task"))
+                .isSameAs(interruptedException);
+    }
+
+    @Test
+    void shouldWrapCheckedExceptions() {
+        var checkedException = new IOException("checked");
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> MiningTasks.getResult(CompletableFuture.failedFuture(checkedException), "partition"))
+                .withMessage("Mining of partition failed")
+                .withCause(checkedException);
+    }
+}
@@ -0,0 +1,130 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.TestExtension;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.Serial;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.ArgumentCaptor;
+import hudson.FilePath;
+import hudson.model.Action;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.User;
+import hudson.scm.SCM;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+
+import io.jenkins.plugins.forensics.miner.FileStatistics.FileStatisticsBuilder;
+import io.jenkins.plugins.util.IntegrationTestWithJenkinsPerSuite;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link RepositoryMinerStep}.
+ *
+ * @author Ullrich Hafner
+ */
+class RepositoryMinerStepITest extends IntegrationTestWithJenkinsPerSuite {
+    private static final String PREFIX = "parallel-";
+    private static final String USER = "alice";
+    private static final Map<String, String> THREADS = new ConcurrentHashMap<>();
+    private static final Map<String, String> USERS = new ConcurrentHashMap<>();
+    private static final CountDownLatch STARTED = new CountDownLatch(2);
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldMineRepositoriesInParallelWithAuthenticationOfBuild() throws InterruptedException {
+        Run<?, ?> run = mock(Run.class);
+        when(run.getRootDir()).thenReturn(folder.toFile());
+
+        var step = new RepositoryMinerStep();
+        step.setParallelism(2);
+
+        try (ACLContext ignored = ACL.as2(User.getById(USER, true).impersonate2())) {
+            step.mineRepositories(List.of(createScm(PREFIX + 1), createScm(PREFIX + 2)),
+                    run, new FilePath(folder.toFile()), TaskListener.NULL);
+        }
+
+        var actions = ArgumentCaptor.forClass(Action.class);
+        verify(run, times(2)).addAction(actions.capture());
+        assertThat(actions.getAllValues()).hasSize(2)
+                .allSatisfy(action -> assertThat(action).isInstanceOf(ForensicsBuildAction.class))
+                .extracting(action -> ((ForensicsBuildAction) action).getScmKey())
+                .containsExactly(PREFIX + 1, PREFIX + 2);
+        assertThat(actions.getAllValues()).extracting(Action::getUrlName)
+                .containsExactly(ForensicsJobAction.FORENSICS_ID, ForensicsJobAction.FORENSICS_ID + "-1");
+
+        assertThat(USERS).containsOnly(entry(PREFIX + 1, USER), entry(PREFIX + 2, USER));
+        assertThat(THREADS).hasSize(2).allSatisfy(
+                (scm, thread) -> assertThat(thread).startsWith("RepositoryMiner"));
+        assertThat(THREADS.get(PREFIX + 1)).isNotEqualTo(THREADS.get(PREFIX + 2));
+    }
+
+    private SCM createScm(final String key) {
+        var scm = mock(SCM.class);
+        when(scm.getKey()).thenReturn(key);
+        return scm;
+    }
+
+    /**
+     * Factory that creates miners for the repositories of this test.
+     */
+    @TestExtension
+    @SuppressWarnings({"unused", "PMD.PublicMemberInNonPublicType"})
+    public static class ParallelFactory extends MinerFactory {
+        @Override
+        public Optional<RepositoryMiner> createMiner(final SCM scm, final Run<?, ?> run,
+                final FilePath workspace, final TaskListener listener, final FilteredLog logger) {
+            if (scm.getKey().startsWith(PREFIX)) {
+                return Optional.of(new RecordingMiner(scm.getKey()));
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A miner that records the thread and the user that mined the repository. Waits until all repositories are
+     * mined concurrently.
+     */
+    private static class RecordingMiner extends RepositoryMiner {
+        @Serial
+        private static final long serialVersionUID = 4109541730744366826L;
+
+        private final String scmKey;
+
+        RecordingMiner(final String scmKey) {
+            super();
+
+            this.scmKey = scmKey;
+        }
+
+        @Override
+        public RepositoryStatistics mine(final RepositoryStatistics previousStatistics, final FilteredLog logger)
+                throws InterruptedException {
+            THREADS.put(scmKey, Thread.currentThread().getName());
+            USERS.put(scmKey, Jenkins.getAuthentication2().getName());
+
+            STARTED.countDown();
+            assertThat(STARTED.await(10, TimeUnit.SECONDS)).as("repositories are mined concurrently").isTrue();
+
+            var statistics = new RepositoryStatistics();
+            statistics.add(new FileStatisticsBuilder().build("/file.txt"));
+            return statistics;
+        }
+    }
+}
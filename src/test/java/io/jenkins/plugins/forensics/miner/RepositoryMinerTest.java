@@ -0,0 +1,198 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+
+/**
+ * Tests the classes {@link RepositoryMiner}, {@link StreamingRepositoryMiner}, and {@link PartitionedRepositoryMiner}.
+ *
+ * @author Ullrich Hafner
+ */
+class RepositoryMinerTest {
+    private static final String FILE = "/file.txt";
+    private static final String PREVIOUS_FILE = "/previous.txt";
+
+    @Test
+    void shouldAdaptStreamingMiner() throws InterruptedException {
+        var builder = new TreeStringBuilder();
+        var previous = new RepositoryStatistics("1");
+        previous.addAll(List.of(new CommitDiffItem("1", "author", 1)
+                .addLines(10)
+                .setNewPath(builder.intern(PREVIOUS_FILE))));
+
+        var statistics = new StreamingMiner().mine(previous, new FilteredLog("Errors"));
+
+        assertThat(statistics).hasLatestCommitId("3")
+                .hasOnlyFiles(FILE, PREVIOUS_FILE)
+                .hasTotalLinesOfCode(15);
+        assertThat(statistics.getLatestStatistics())
+                .hasCommitCount(2)
+                .hasAddedLines(5)
+                .hasFilesCount(1);
+        assertThat(statistics.getJournal()).hasSize(2);
+        assertThat(statistics.hasJournal()).isTrue();
+    }
+
+    @Test
+    void shouldNotRecordJournalIfWholeHistoryIsMined() throws InterruptedException {
+        var statistics = new PartitionedMiner(createHistory()).mine(new RepositoryStatistics(),
+                new FilteredLog("Errors"));
+
+        assertThat(statistics.hasJournal()).isFalse();
+        assertThat(statistics.getJournal()).isEmpty();
+        assertThat(statistics.getMinedDiffItemCount()).isEqualTo(100);
+        assertThat(statistics.getMinedCommitCount()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldCreateSameStatisticsWithPartitionedHistory() throws InterruptedException {
+        var miner = new PartitionedMiner(createHistory());
+
+        var sequential = miner.mine(new RepositoryStatistics(), new FilteredLog("Errors"));
+        var log = new FilteredLog("Errors");
+        var partitioned = miner.mine(new RepositoryStatistics(), 4, log);
+
+        assertThat(log.getInfoMessages()).contains("-> mining 4 partitions of the history concurrently");
+        assertThat(partitioned.hasJournal()).isFalse();
+        assertThat(partitioned.getMinedDiffItemCount()).isEqualTo(sequential.getMinedDiffItemCount());
+        assertThat(partitioned).isEqualTo(sequential)
+                .hasLatestCommitId(sequential.getLatestCommitId())
+                .hasTotalLinesOfCode(sequential.getTotalLinesOfCode())
+                .hasTotalChurn(sequential.getTotalChurn())
+                .hasLatestStatistics(sequential.getLatestStatistics());
+        assertThat(partitioned.getMapping()).isEqualTo(sequential.getMapping());
+    }
+
+    @Test
+    void shouldMineSequentiallyIfMinerDoesNotSupportPartitions() throws InterruptedException {
+        var previous = new RepositoryStatistics("1");
+        var miner = new StreamingMiner();
+
+        var log = new FilteredLog("Errors");
+        var statistics = miner.mine(previous, 4, log);
+
+        assertThat(miner.supportsPartitions()).isFalse();
+        assertThat(new PartitionedMiner(createHistory()).supportsPartitions()).isTrue();
+        assertThat(log.getInfoMessages()).isEmpty();
+        assertThat(statistics).hasLatestCommitId("3").hasOnlyFiles(FILE);
+    }
+
+    @Test
+    void shouldMineSequentiallyIfPreviousStatisticsExist() throws InterruptedException {
+        var history = createHistory();
+        var previous = new RepositoryStatistics(history.get(9).getId());
+        previous.addAll(history.subList(0, 10));
+        var miner = new PartitionedMiner(history);
+
+        var log = new FilteredLog("Errors");
+        var statistics = miner.mine(previous, 4, log);
+
+        assertThat(log.getInfoMessages()).doesNotContain("-> mining 4 partitions of the history concurrently");
+        assertThat(statistics).hasLatestCommitId(history.get(history.size() - 1).getId());
+        assertThat(statistics.getJournal()).isEqualTo(history.subList(10, history.size()));
+    }
+
+    /**
+     * Creates a history that adds, modifies, moves, and deletes files, so that the commits of later partitions
+     * depend on the commits of the previous partitions.
+     */
+    private List<CommitDiffItem> createHistory() {
+        var builder = new TreeStringBuilder();
+        List<CommitDiffItem> commits = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            var commit = new CommitDiffItem("ID-" + i, "author-" + i % 5, i * 10)
+                    .addLines(i % 17)
+                    .deleteLines(i % 3);
+            if (i % 13 == 12) {
+                commit.setOldPath(builder.intern("/file-" + i % 7));
+            }
+            else if (i % 11 == 10) {
+                commit.setOldPath(builder.intern("/file-" + i % 7)).setNewPath(builder.intern("/file-" + i % 9));
+            }
+            else {
+                commit.setNewPath(builder.intern("/file-" + i % 8));
+            }
+            commits.add(commit);
+        }
+        return commits;
+    }
+
+    private static class PartitionedMiner extends PartitionedRepositoryMiner {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final List<CommitDiffItem> history;
+
+        PartitionedMiner(final List<CommitDiffItem> history) {
+            this.history = history;
+        }
+
+        @Override
+        protected List<CommitRange> partitionHistory(final int partitions, final FilteredLog logger) {
+            List<CommitRange> ranges = new ArrayList<>();
+            int size = history.size() / partitions;
+            var previous = "";
+            for (int partition = 1; partition <= partitions; partition++) {
+                var last = history.get(partition == partitions ? history.size() - 1 : partition * size - 1).getId();
+                ranges.add(new CommitRange(previous, last));
+                previous = last;
+            }
+            return ranges;
+        }
+
+        @Override
+        protected String mineCommits(final String previousCommitId, final CommitDiffItemSink sink,
+                final FilteredLog logger) {
+            var last = history.get(history.size() - 1).getId();
+            return mineCommits(new CommitRange(previousCommitId, last), sink, logger);
+        }
+
+        @Override
+        protected String mineCommits(final CommitRange range, final CommitDiffItemSink sink,
+                final FilteredLog logger) {
+            int start = range.startsWithInitialCommit() ? 0 : indexOf(range.getPreviousCommitId()) + 1;
+            int end = indexOf(range.getLastCommitId()) + 1;
+            for (int batch = start; batch < end; batch += 7) {
+                sink.accept(history.subList(batch, Math.min(batch + 7, end)));
+            }
+            return range.getLastCommitId();
+        }
+
+        private int indexOf(final String id) {
+            for (int i = 0; i < history.size(); i++) {
+                if (history.get(i).getId().equals(id)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("No such commit: " + id);
+        }
+    }
+
+    private static class StreamingMiner extends StreamingRepositoryMiner {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected String mineCommits(final String previousCommitId, final CommitDiffItemSink sink,
+                final FilteredLog logger) {
+            assertThat(previousCommitId).isEqualTo("1");
+
+            var builder = new TreeStringBuilder();
+            sink.accept(List.of(new CommitDiffItem("2", "author", 2)
+                    .addLines(2)
+                    .setNewPath(builder.intern(FILE))));
+            sink.accept(List.of(new CommitDiffItem("3", "author", 3)
+                    .addLines(3)
+                    .setNewPath(builder.intern(FILE))));
+            return "3";
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.SerializableTest;
+import edu.hm.hafner.util.TreeString;
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link RepositoryStatisticsBinaryStream}.
+ *
+ * @author Ullrich Hafner
+ */
+class RepositoryStatisticsBinaryStreamTest extends SerializableTest<RepositoryStatistics> {
+    private static final String FILE = "/path/to/file.txt";
+    private static final String MOVED = "/path/to/moved.txt";
+    private static final TreeString FILE_TREE_STRING = new TreeStringBuilder().intern(FILE);
+    private static final TreeString MOVED_TREE_STRING = new TreeStringBuilder().intern(MOVED);
+    private static final int ONE_DAY = 60 * 60 * 24;
+    private static final String ISSUE_BUILDER = "/analysis/IssueBuilder.java";
+
+    @Test
+    void shouldReadXmlOfForensics062() {
+        assertThatForensicsAreCorrect(read("forensics-0.6.2.xml"));
+    }
+
+    @Test
+    void shouldReadXmlOfForensics070() {
+        assertThatForensicsAreCorrect(read("forensics-0.7.0.xml"));
+    }
+
+    @Test
+    void shouldConvertXmlToBinaryFormat() {
+        var statistics = read("forensics-0.7.0.xml");
+
+        var stream = new RepositoryStatisticsBinaryStream();
+        var path = createTempFile();
+        stream.write(path, statistics);
+
+        var restored = stream.read(path);
+
+        assertThatForensicsAreCorrect(restored);
+        assertThat(restored).isEqualTo(statistics);
+    }
+
+    @Test
+    void shouldWriteAndReadBinaryFormat() throws IOException {
+        var statistics = createStatistics();
+
+        var stream = new RepositoryStatisticsBinaryStream();
+        var path = createTempFile();
+        stream.write(path, statistics);
+
+        assertThat(Files.readAllBytes(path)).startsWith((byte) 0x46, (byte) 0x52, (byte) 0x4E, (byte) 0x53);
+        assertThat(path.resolveSibling(path.getFileName() + ".tmp")).doesNotExist();
+
+        var restored = stream.read(path);
+
+        assertThat(restored).isEqualTo(statistics)
+                .hasOnlyFiles(MOVED)
+                .hasLatestCommitId("latest")
+                .hasTotalLinesOfCode(3)
+                .hasTotalChurn(13)
+                .hasLatestStatistics(statistics.getLatestStatistics());
+        assertThat(restored.get(MOVED))
+                .hasNumberOfAuthors(2)
+                .hasNumberOfCommits(3)
+                .hasCreationTime(ONE_DAY * 2)
+                .hasLastModificationTime(ONE_DAY);
+        assertThat(restored.get(MOVED).getCommits()).isEqualTo(statistics.get(MOVED).getCommits());
+    }
+
+    @Test
+    void shouldReturnEmptyStatisticsForBrokenFile() throws IOException {
+        var path = createTempFile();
+        Files.write(path, new byte[] {0x46, 0x52, 0x4E, 0x53, 0x7F});
+
+        assertThat(new RepositoryStatisticsBinaryStream().read(path)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEmptyStatisticsForTruncatedFile() throws IOException {
+        var path = createTempFile();
+        new RepositoryStatisticsBinaryStream().write(path, createStatistics());
+        var content = Files.readAllBytes(path);
+
+        for (int length = 4; length < content.length; length++) {
+            Files.write(path, Arrays.copyOf(content, length));
+
+            assertThat(new RepositoryStatisticsBinaryStream().read(path)).as("Length %d", length).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldNotThrowRuntimeExceptionsForCorruptFile() throws IOException {
+        var path = createTempFile();
+        new RepositoryStatisticsBinaryStream().write(path, createStatistics());
+        var content = Files.readAllBytes(path);
+
+        for (byte value : new byte[] {(byte) 0xFF, (byte) 0x7F, 0x0F, 0x00}) {
+            for (int position = 5; position < content.length; position++) {
+                var corrupt = content.clone();
+                corrupt[position] = value;
+                Files.write(path, corrupt);
+
+                assertThatNoException().as("Byte %d at %d", value, position)
+                        .isThrownBy(() -> new RepositoryStatisticsBinaryStream().read(path));
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnEmptyStatisticsForHugeLength() throws IOException {
+        var path = createTempFile();
+        Files.write(path, new byte[] {0x46, 0x52, 0x4E, 0x53, 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                0x07, 'a'});
+
+        assertThat(new RepositoryStatisticsBinaryStream().read(path)).isEmpty();
+    }
+
+    private RepositoryStatistics createStatistics() {
+        var statistics = new RepositoryStatistics("latest");
+        statistics.addAll(List.of(
+                new CommitDiffItem("1", "name", ONE_DAY * 2)
+                        .addLines(4)
+                        .setNewPath(FILE_TREE_STRING),
+                new CommitDiffItem("2", "another", ONE_DAY * 3)
+                        .addLines(4)
+                        .deleteLines(3)
+                        .setNewPath(FILE_TREE_STRING),
+                new CommitDiffItem("3", "another", ONE_DAY)
+                        .deleteLines(2)
+                        .setOldPath(FILE_TREE_STRING)
+                        .setNewPath(MOVED_TREE_STRING)));
+        return statistics;
+    }
+
+    private RepositoryStatistics read(final String fileName) {
+        return new RepositoryStatisticsBinaryStream().read(getResourceAsFile(fileName));
+    }
+
+    private void assertThatForensicsAreCorrect(final RepositoryStatistics statistics) {
+        assertThat(statistics)
+                .hasOnlyFiles(ISSUE_BUILDER, "/analysis/Report.java", "/analysis/FilteredLog.java");
+
+        var fileStatistics = statistics.get(ISSUE_BUILDER);
+        assertThat(fileStatistics).hasFileName(ISSUE_BUILDER)
+                .hasCreationTime(1_506_775_701)
+                .hasLastModificationTime(1_546_429_687)
+                .hasNumberOfAuthors(1)
+                .hasNumberOfCommits(32);
+    }
+
+    @Override
+    protected RepositoryStatistics createSerializable() {
+        return read("forensics-0.7.0.xml");
+    }
+}
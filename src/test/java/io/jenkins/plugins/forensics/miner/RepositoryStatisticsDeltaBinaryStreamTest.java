@@ -0,0 +1,100 @@
+package io.jenkins.plugins.forensics.miner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.TreeStringBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link RepositoryStatisticsDeltaBinaryStream}.
+ *
+ * @author Ullrich Hafner
+ */
+class RepositoryStatisticsDeltaBinaryStreamTest {
+    private static final String FILE = "/path/to/file.txt";
+    private static final String MOVED = "/path/to/moved.txt";
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldWriteAndReadBinaryFormat() throws IOException {
+        var delta = createDelta();
+
+        var path = folder.resolve("repository-statistics-delta.bin");
+        var stream = new RepositoryStatisticsDeltaBinaryStream();
+        stream.write(path, delta);
+
+        assertThat(Files.readAllBytes(path)).startsWith((byte) 0x46, (byte) 0x52, (byte) 0x4E, (byte) 0x44);
+        assertThat(path.resolveSibling(path.getFileName() + ".tmp")).doesNotExist();
+
+        var restored = stream.read(path);
+
+        assertThat(restored.getLatestCommitId()).isEqualTo("3");
+        assertThat(restored.getCommits()).isEqualTo(delta.getCommits());
+    }
+
+    @Test
+    void shouldThrowExceptionForTruncatedFile() throws IOException {
+        var path = folder.resolve("repository-statistics-delta.bin");
+        new RepositoryStatisticsDeltaBinaryStream().write(path, createDelta());
+        var content = Files.readAllBytes(path);
+
+        for (int length = 0; length < content.length; length++) {
+            Files.write(path, Arrays.copyOf(content, length));
+
+            assertThatExceptionOfType(IOException.class).as("Length %d", length)
+                    .isThrownBy(() -> new RepositoryStatisticsDeltaBinaryStream().read(path));
+        }
+    }
+
+    @Test
+    void shouldThrowExceptionForMissingFile() {
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> new RepositoryStatisticsDeltaBinaryStream().read(folder.resolve("missing.bin")));
+    }
+
+    @Test
+    void shouldReportCorruptFileAsIOExceptionOnly() throws IOException {
+        var path = folder.resolve("repository-statistics-delta.bin");
+        new RepositoryStatisticsDeltaBinaryStream().write(path, createDelta());
+        var content = Files.readAllBytes(path);
+
+        for (byte value : new byte[] {(byte) 0xFF, (byte) 0x7F, 0x0F, 0x00}) {
+            for (int position = 5; position < content.length; position++) {
+                var corrupt = content.clone();
+                corrupt[position] = value;
+                Files.write(path, corrupt);
+
+                assertThatCode(() -> new RepositoryStatisticsDeltaBinaryStream().read(path))
+                        .as("Byte %d at %d", value, position)
+                        .satisfiesAnyOf(thrown -> assertThat(thrown).isNull(),
+                                thrown -> assertThat(thrown).isInstanceOf(IOException.class));
+            }
+        }
+    }
+
+    private RepositoryStatisticsDelta createDelta() {
+        var builder = new TreeStringBuilder();
+        return new RepositoryStatisticsDelta("3", List.of(
+                new CommitDiffItem("1", "name", 200)
+                        .addLines(4)
+                        .setNewPath(builder.intern(FILE)),
+                new CommitDiffItem("2", "another", 100)
+                        .addLines(4)
+                        .deleteLines(3)
+                        .setNewPath(builder.intern(FILE)),
+                new CommitDiffItem("3", "another", 300)
+                        .deleteLines(2)
+                        .setOldPath(builder.intern(FILE))
+                        .setNewPath(builder.intern(MOVED))));
+    }
+}
@@ -1,12 +1,15 @@
 package io.jenkins.plugins.forensics.miner;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.util.TreeString;
 import edu.hm.hafner.util.TreeStringBuilder;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -84,6 +87,205 @@ class RepositoryStatisticsTest {
                 .hasTotalChurn(5);
     }
 
+    @Test
+    void shouldRecordAddedCommitsInJournal() {
+        var previous = new RepositoryStatistics("1");
+        var first = createCommit();
+        previous.addAll(List.of(first));
+
+        assertThat(previous.getJournal()).containsExactly(first);
+
+        var current = new RepositoryStatistics("2");
+        current.addAll(previous);
+        var second = new CommitDiffItem("2", "another", 2)
+                .addLines(5)
+                .setNewPath(FILE_TREE_STRING);
+        current.addAll(List.of(second));
+
+        assertThat(current.getJournal()).containsExactly(second);
+    }
+
+    @Test
+    void shouldTransferJournalAndCountersOfMinedCommits() {
+        var statistics = new RepositoryStatistics("1");
+        var move = new CommitDiffItem("2", "another", 2)
+                .setOldPath(FILE_TREE_STRING)
+                .setNewPath(new TreeStringBuilder().intern(NOTHING));
+        statistics.addAll(List.of(createCommit(), move));
+
+        var transferred = SerializationUtils.roundtrip(statistics);
+
+        assertThat(transferred).isEqualTo(statistics);
+        assertThat(transferred.hasJournal()).isTrue();
+        assertThat(transferred.getJournal()).isEqualTo(statistics.getJournal()).hasSize(2);
+        assertThat(transferred.getMinedCommitCount()).isEqualTo(2);
+        assertThat(transferred.getMinedDiffItemCount()).isEqualTo(2);
+        assertThat(transferred.getMinedMoveCount()).isOne();
+        assertThat(transferred.getMinedDeleteCount()).isZero();
+        assertThat(transferred.getAggregationDuration()).isEqualTo(statistics.getAggregationDuration());
+    }
+
+    @Test
+    void shouldRestoreStatisticsByReplayingDelta() {
+        var base = new RepositoryStatistics("1");
+        base.addAll(List.of(createCommit()));
+
+        var move = new CommitDiffItem("2", "another", 2)
+                .addLines(5)
+                .setOldPath(FILE_TREE_STRING)
+                .setNewPath(new TreeStringBuilder().intern(NOTHING));
+        var added = new CommitDiffItem("2", "another", 2)
+                .addLines(3)
+                .setNewPath(FILE_TREE_STRING);
+        var current = new RepositoryStatistics("2");
+        current.addAll(List.of(createCommit()));
+        current.addAll(List.of(move, added));
+
+        base.replay(new RepositoryStatisticsDelta("2", List.of(move, added)));
+
+        assertThat(base).isEqualTo(current)
+                .hasLatestCommitId("2")
+                .hasOnlyFiles(FILE, NOTHING)
+                .hasTotalLinesOfCode(current.getTotalLinesOfCode())
+                .hasTotalChurn(current.getTotalChurn());
+        assertThat(base.getJournal()).containsExactly(createCommit());
+    }
+
+    @Test
+    void shouldMergePartitionsThatReferenceFilesOfPreviousPartitions() {
+        var builder = new TreeStringBuilder();
+        var other = builder.intern("other");
+        List<CommitDiffItem> first = List.of(createCommit(),
+                new CommitDiffItem("2", "author", 2).addLines(4).setNewPath(other));
+        List<CommitDiffItem> second = List.of(
+                new CommitDiffItem("3", "another", 3).addLines(5).setNewPath(FILE_TREE_STRING),
+                new CommitDiffItem("4", "another", 4).setOldPath(FILE_TREE_STRING)
+                        .setNewPath(builder.intern(NOTHING)),
+                new CommitDiffItem("5", "another", 5).deleteLines(4).setOldPath(other),
+                new CommitDiffItem("6", "author", 6).addLines(7).setNewPath(FILE_TREE_STRING));
+
+        var sequential = new RepositoryStatistics();
+        var sink = sequential.openSink();
+        sink.accept(first);
+        sink.accept(second);
+
+        var firstPartition = RepositoryStatistics.createPartition();
+        firstPartition.openSink().accept(first);
+        var secondPartition = RepositoryStatistics.createPartition();
+        secondPartition.openSink().accept(second);
+        secondPartition.setLatestCommitId("6");
+
+        var merged = RepositoryStatistics.merge(new RepositoryStatistics(),
+                List.of(firstPartition, secondPartition));
+
+        assertThat(merged).hasLatestCommitId("6")
+                .hasOnlyFiles(FILE, NOTHING)
+                .hasTotalLinesOfCode(sequential.getTotalLinesOfCode())
+                .hasTotalChurn(sequential.getTotalChurn())
+                .hasLatestStatistics(sequential.getLatestStatistics());
+        assertThat(merged.getMapping()).isEqualTo(sequential.getMapping());
+        assertThat(merged.get(NOTHING).getCommits()).hasSize(3);
+        assertThat(merged.get(FILE).getCommits()).hasSize(1);
+        assertThat(merged.getMinedCommitCount()).isEqualTo(sequential.getMinedCommitCount());
+        assertThat(merged.hasJournal()).isFalse();
+    }
+
+    @Test
+    void shouldMaintainTotalsIncrementally() {
+        var builder = new TreeStringBuilder();
+        var statistics = new RepositoryStatistics();
+        for (int i = 0; i < 50; i++) {
+            var commit = new CommitDiffItem("ID-" + i, "author", i)
+                    .addLines(i * 2)
+                    .deleteLines(i % 3);
+            if (i % 10 == 9) {
+                commit.setOldPath(builder.intern("file-" + i % 4));
+            }
+            else if (i % 7 == 6) {
+                commit.setOldPath(builder.intern("file-" + i % 4)).setNewPath(builder.intern("file-" + i % 5));
+            }
+            else {
+                commit.setNewPath(builder.intern("file-" + i % 6));
+            }
+            statistics.addAll(List.of(commit));
+
+            assertThatTotalsAreConsistent(statistics);
+        }
+
+        var additional = new RepositoryStatistics();
+        additional.add(createFileStatistics());
+        statistics.add(createFileStatistics());
+        assertThatTotalsAreConsistent(statistics);
+
+        statistics.addAll(additional);
+        assertThatTotalsAreConsistent(statistics);
+        assertThat(statistics.get(FILE)).hasNumberOfCommits(1).hasLinesOfCode(2).hasAbsoluteChurn(6);
+    }
+
+    @Test
+    void shouldConsumeCommitsInBatches() {
+        var builder = new TreeStringBuilder();
+        List<CommitDiffItem> commits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            commits.add(new CommitDiffItem("ID-" + i, "author-" + i % 3, i)
+                    .addLines(i)
+                    .deleteLines(i % 2)
+                    .setNewPath(builder.intern("file-" + i % 4)));
+        }
+
+        var expected = new RepositoryStatistics();
+        expected.addAll(commits);
+
+        var actual = new RepositoryStatistics();
+        var sink = actual.openSink();
+        for (int i = 0; i < commits.size(); i += 3) {
+            sink.accept(commits.subList(i, Math.min(i + 3, commits.size())));
+        }
+
+        assertThat(actual).isEqualTo(expected)
+                .hasTotalLinesOfCode(expected.getTotalLinesOfCode())
+                .hasTotalChurn(expected.getTotalChurn())
+                .hasLatestStatistics(expected.getLatestStatistics());
+        assertThat(actual.getJournal()).isEqualTo(commits);
+    }
+
+    @Test
+    void shouldShareCommitIdsAndAuthorsOfAllCommits() {
+        var builder = new TreeStringBuilder();
+        var first = new CommitDiffItem(String.join("-", "ID", "1"), String.join("-", "author", "1"), ONE_DAY)
+                .setNewPath(builder.intern(FILE));
+        var second = new CommitDiffItem(String.join("-", "ID", "1"), String.join("-", "author", "1"), ONE_DAY)
+                .setNewPath(builder.intern(NOTHING));
+        assertThat(first.getId()).isNotSameAs(second.getId());
+
+        var statistics = new RepositoryStatistics();
+        statistics.addAll(List.of(first, second));
+
+        assertThat(first.getId()).isSameAs(second.getId());
+        assertThat(first.getAuthor()).isSameAs(second.getAuthor());
+
+        var restored = new RepositoryStatistics();
+        var file = new FileStatisticsBuilder().build(FILE);
+        file.inspectCommit(new CommitDiffItem(String.join("-", "ID", "1"), String.join("-", "author", "1"), ONE_DAY));
+        restored.add(file);
+        restored.add(new FileStatisticsBuilder().build(NOTHING));
+        var additional = new FileStatisticsBuilder().build(NOTHING);
+        additional.inspectCommit(
+                new CommitDiffItem(String.join("-", "ID", "1"), String.join("-", "author", "1"), ONE_DAY));
+        restored.addAll(List.of(additional));
+
+        assertThat(restored.get(FILE).getCommits().get(0).getId())
+                .isSameAs(restored.get(NOTHING).getCommits().get(0).getId());
+    }
+
+    private void assertThatTotalsAreConsistent(final RepositoryStatistics statistics) {
+        assertThat(statistics)
+                .hasTotalLinesOfCode(statistics.getFileStatistics().stream()
+                        .mapToInt(FileStatistics::getLinesOfCode).sum())
+                .hasTotalChurn(statistics.getFileStatistics().stream()
+                        .mapToInt(FileStatistics::getAbsoluteChurn).sum());
+    }
+
     private CommitDiffItem createCommit() {
         return new CommitDiffItem("SHA", "author", 1)
                 .deleteLines(2)
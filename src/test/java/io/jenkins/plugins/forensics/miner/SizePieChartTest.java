@@ -82,4 +82,17 @@ class SizePieChartTest {
                 .hasSize(list.size())
                 .isEqualTo(list);
     }
+
+    @Test
+    void shouldCreateSameModelFromDistribution() {
+        var chart = new SizePieChart();
+        var repositoryStatisticsStub = getRepositoryStatisticsStub(3);
+
+        var distribution = SizePieChart.computeDistribution(repositoryStatisticsStub,
+                FileStatistics::getNumberOfCommits, 1, 2);
+
+        assertThat(distribution).containsExactly(entry(1, 1), entry(2, 2));
+        assertThat(chart.create(distribution).getData())
+                .isEqualTo(chart.create(repositoryStatisticsStub, FileStatistics::getNumberOfCommits, 1, 2).getData());
+    }
 }
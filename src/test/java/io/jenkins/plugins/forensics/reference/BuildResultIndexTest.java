@@ -0,0 +1,122 @@
+package io.jenkins.plugins.forensics.reference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link BuildResultIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class BuildResultIndexTest {
+    private static final String JOB_NAME = "folder/job";
+
+    @AfterEach
+    void clearIndex() {
+        BuildResultIndex.clear();
+    }
+
+    @Test
+    void shouldFindFirstBuildOfHistory() {
+        Job<?, ?> job = createJob();
+        List<Run<?, ?>> builds = createBuilds(job, Result.SUCCESS, Result.FAILURE, Result.FAILURE);
+
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(2), Result.UNSTABLE)).contains(builds.get(0));
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(2), Result.SUCCESS)).contains(builds.get(0));
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(0), Result.FAILURE)).isEmpty();
+    }
+
+    @Test
+    void shouldFindPreviousBuildWithRequiredResult() {
+        Job<?, ?> job = createJob();
+        List<Run<?, ?>> builds = createBuilds(job,
+                Result.SUCCESS, Result.UNSTABLE, Result.FAILURE, Result.FAILURE, Result.FAILURE);
+        var last = builds.get(4);
+
+        assertThat(BuildResultIndex.findPreviousBuild(last, Result.UNSTABLE)).contains(builds.get(1));
+        assertThat(BuildResultIndex.findPreviousBuild(last, Result.SUCCESS)).contains(builds.get(0));
+        assertThat(BuildResultIndex.findPreviousBuild(last, Result.FAILURE)).contains(builds.get(3));
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(0), Result.FAILURE)).isEmpty();
+
+        verify(builds.get(3), times(1)).getPreviousCompletedBuild();
+        verify(builds.get(2), times(1)).getPreviousCompletedBuild();
+    }
+
+    @Test
+    void shouldExtendIndexIfStartIsOlderThanIndexedBuilds() {
+        Job<?, ?> job = createJob();
+        List<Run<?, ?>> builds = createBuilds(job,
+                Result.SUCCESS, Result.UNSTABLE, Result.FAILURE, Result.FAILURE, Result.FAILURE);
+
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(4), Result.FAILURE)).contains(builds.get(3));
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(2), Result.UNSTABLE)).contains(builds.get(1));
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(2), Result.UNSTABLE)).contains(builds.get(1));
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(1), Result.FAILURE)).contains(builds.get(0));
+
+        verify(builds.get(4), times(1)).getPreviousCompletedBuild();
+        verify(builds.get(3), times(1)).getPreviousCompletedBuild();
+        verify(builds.get(2), times(1)).getPreviousCompletedBuild();
+        verify(builds.get(1), times(1)).getPreviousCompletedBuild();
+        verify(builds.get(0), never()).getPreviousCompletedBuild();
+    }
+
+    @Test
+    void shouldRecordFinalizedAndDeletedBuilds() {
+        Job<?, ?> job = createJob();
+        List<Run<?, ?>> builds = createBuilds(job, Result.SUCCESS, Result.FAILURE);
+
+        assertThat(BuildResultIndex.findPreviousBuild(builds.get(1), Result.SUCCESS)).contains(builds.get(0));
+
+        var unstable = createBuild(job, 3, Result.UNSTABLE, builds.get(1));
+        var failure = createBuild(job, 4, Result.FAILURE, unstable);
+        BuildResultIndex.record(unstable);
+        BuildResultIndex.record(failure);
+
+        assertThat(BuildResultIndex.findPreviousBuild(failure, Result.UNSTABLE)).contains(unstable);
+        verify(failure, never()).getPreviousCompletedBuild();
+
+        BuildResultIndex.remove(unstable);
+        when(job.getBuildByNumber(3)).thenReturn(null);
+
+        assertThat(BuildResultIndex.findPreviousBuild(failure, Result.UNSTABLE)).contains(builds.get(0));
+    }
+
+    private Job<?, ?> createJob() {
+        Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn(JOB_NAME);
+        return job;
+    }
+
+    private List<Run<?, ?>> createBuilds(final Job<?, ?> job, final Result... results) {
+        List<Run<?, ?>> builds = new ArrayList<>();
+        Run<?, ?> previous = null;
+        for (Result result : results) {
+            previous = createBuild(job, builds.size() + 1, result, previous);
+            builds.add(previous);
+        }
+        Run<?, ?> last = previous;
+        when(job.getLastCompletedBuild()).thenAnswer(i -> last);
+        return builds;
+    }
+
+    private Run<?, ?> createBuild(final Job<?, ?> job, final int number, final Result result,
+            final Run<?, ?> previous) {
+        Run<?, ?> build = mock(Run.class);
+        when(build.getNumber()).thenReturn(number);
+        when(build.getResult()).thenReturn(result);
+        when(build.getParent()).thenAnswer(i -> job);
+        when(build.getPreviousCompletedBuild()).thenAnswer(i -> previous);
+        when(job.getBuildByNumber(number)).thenAnswer(i -> build);
+        return build;
+    }
+}
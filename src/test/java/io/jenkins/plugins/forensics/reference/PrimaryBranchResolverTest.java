@@ -0,0 +1,118 @@
+package io.jenkins.plugins.forensics.reference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import hudson.model.Item;
+import hudson.model.Job;
+import jenkins.scm.api.metadata.PrimaryInstanceMetadataAction;
+
+import static io.jenkins.plugins.forensics.assertions.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link PrimaryBranchResolver}.
+ *
+ * @author Ullrich Hafner
+ */
+class PrimaryBranchResolverTest {
+    private static final String PROJECT = "organization/project";
+
+    @AfterEach
+    void clearCache() {
+        PrimaryBranchResolver.clear();
+    }
+
+    @Test
+    void shouldCachePrimaryBranch() {
+        Job<?, ?> feature = createJob(false);
+        Job<?, ?> main = createJob(true);
+        var project = createProject(feature, main);
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(main);
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(main);
+        verify(project, times(1)).getAllItems();
+
+        PrimaryBranchResolver.invalidate(PROJECT + "/feature");
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(main);
+        verify(project, times(2)).getAllItems();
+    }
+
+    @Test
+    void shouldSearchAgainIfPrimaryBranchHasChanged() {
+        Job<?, ?> feature = createJob(false);
+        Job<?, ?> main = createJob(true);
+        var project = createProject(feature, main);
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(main);
+
+        when(main.getAction(PrimaryInstanceMetadataAction.class)).thenReturn(null);
+        when(feature.getAction(PrimaryInstanceMetadataAction.class))
+                .thenReturn(mock(PrimaryInstanceMetadataAction.class));
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(feature);
+    }
+
+    @Test
+    void shouldCacheMissingPrimaryBranchUntilBranchIsUpdated() {
+        Job<?, ?> main = createJob(false);
+        var project = createProject(main);
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).isEmpty();
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).isEmpty();
+        verify(project, times(1)).getAllItems();
+
+        when(main.getAction(PrimaryInstanceMetadataAction.class))
+                .thenReturn(mock(PrimaryInstanceMetadataAction.class));
+        PrimaryBranchResolver.invalidate(PROJECT + "/main");
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(main);
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project)).contains(main);
+        verify(project, times(2)).getAllItems();
+    }
+
+    @Test
+    void shouldSearchMissingPrimaryBranchAgainAfterExpiration() {
+        Job<?, ?> main = createJob(false);
+        var project = createProject(main);
+
+        long start = 1000;
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project, start)).isEmpty();
+
+        when(main.getAction(PrimaryInstanceMetadataAction.class))
+                .thenReturn(mock(PrimaryInstanceMetadataAction.class));
+
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project,
+                start + PrimaryBranchResolver.MISSING_BRANCH_EXPIRATION - 1)).isEmpty();
+        verify(project, times(1)).getAllItems();
+
+        long expired = start + PrimaryBranchResolver.MISSING_BRANCH_EXPIRATION;
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project, expired)).contains(main);
+        assertThat(PrimaryBranchResolver.findPrimaryBranch(project, expired * 2)).contains(main);
+        verify(project, times(2)).getAllItems();
+    }
+
+    private WorkflowMultiBranchProject createProject(final Job<?, ?>... jobs) {
+        Item item = mock(Item.class);
+        when(item.getAllJobs()).thenAnswer(i -> Arrays.asList(jobs));
+
+        WorkflowMultiBranchProject project = mock(WorkflowMultiBranchProject.class);
+        when(project.getFullName()).thenReturn(PROJECT);
+        when(project.getAllItems()).thenReturn(List.of(item));
+        return project;
+    }
+
+    private Job<?, ?> createJob(final boolean isPrimary) {
+        Job<?, ?> job = mock(Job.class);
+        if (isPrimary) {
+            when(job.getAction(PrimaryInstanceMetadataAction.class))
+                    .thenReturn(mock(PrimaryInstanceMetadataAction.class));
+        }
+        return job;
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import hudson.model.Item;
+import hudson.model.Job;
 import hudson.model.Result;
 import hudson.model.Run;
 
@@ -107,4 +109,78 @@ class ReferenceBuildTest {
         assertThat(referenceBuild.getDisplayName()).isNull();
         assertThat(referenceBuild.getUrlName()).isEqualTo(ReferenceBuild.REFERENCE_DETAILS_URL);
     }
+
+    @Test
+    void shouldResolveReferenceBuildOnlyOnce() {
+        Run<?, ?> currentBuild = mock(Run.class);
+        Run<?, ?> targetBuild = createBuild(true);
+
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getBuild(ID)).thenReturn(Optional.of(targetBuild));
+
+        var referenceBuild = new ReferenceBuild(currentBuild, MESSAGES, ID, Result.UNSTABLE, jenkinsFacade);
+
+        assertThat(referenceBuild.getReferenceBuild()).contains(targetBuild);
+        assertThat(referenceBuild.getReferenceBuild()).contains(targetBuild);
+        verify(jenkinsFacade, times(1)).getBuild(ID);
+
+        ReferenceBuildCache.invalidate(ID);
+
+        assertThat(referenceBuild.getReferenceBuild()).contains(targetBuild);
+        verify(jenkinsFacade, times(2)).getBuild(ID);
+    }
+
+    @Test
+    void shouldNotServeCachedReferenceBuildToUsersWithoutReadPermission() {
+        Run<?, ?> targetBuild = createBuild(true);
+
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getBuild(ID)).thenReturn(Optional.of(targetBuild));
+
+        var referenceBuild = new ReferenceBuild(mock(Run.class), MESSAGES, ID, Result.UNSTABLE, jenkinsFacade);
+        assertThat(referenceBuild.getReferenceBuild()).contains(targetBuild);
+
+        Job<?, ?> job = targetBuild.getParent();
+        when(job.hasPermission(Item.READ)).thenReturn(false);
+        when(jenkinsFacade.getBuild(ID)).thenReturn(Optional.empty());
+
+        assertThat(referenceBuild.getReferenceBuild()).isEmpty();
+        verify(jenkinsFacade, times(2)).getBuild(ID);
+    }
+
+    @Test
+    void shouldKeepCachedReferenceBuildIfOtherBuildIsDeleted() {
+        Run<?, ?> targetBuild = createBuild(true);
+
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getBuild(ID)).thenReturn(Optional.of(targetBuild));
+
+        var referenceBuild = new ReferenceBuild(mock(Run.class), MESSAGES, ID, Result.UNSTABLE, jenkinsFacade);
+        assertThat(referenceBuild.getReferenceBuild()).contains(targetBuild);
+
+        ReferenceBuildCache.invalidate("other#1");
+
+        assertThat(referenceBuild.getReferenceBuild()).contains(targetBuild);
+        verify(jenkinsFacade, times(1)).getBuild(ID);
+    }
+
+    private Run<?, ?> createBuild(final boolean isReadable) {
+        Job<?, ?> job = mock(Job.class);
+        when(job.hasPermission(Item.READ)).thenReturn(isReadable);
+        Run<?, ?> build = mock(Run.class);
+        when(build.getParent()).thenAnswer(i -> job);
+        return build;
+    }
+
+    @Test
+    void shouldNotCacheMissingReferenceBuild() {
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getBuild(ID)).thenReturn(Optional.empty());
+
+        var referenceBuild = new ReferenceBuild(mock(Run.class), MESSAGES, ID, Result.UNSTABLE, jenkinsFacade);
+
+        assertThat(referenceBuild.getReferenceBuild()).isEmpty();
+        assertThat(referenceBuild.getReferenceBuild()).isEmpty();
+        verify(jenkinsFacade, times(2)).getBuild(ID);
+    }
 }
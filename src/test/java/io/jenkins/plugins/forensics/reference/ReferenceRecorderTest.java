@@ -1,6 +1,7 @@
 package io.jenkins.plugins.forensics.reference;
 
 import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.util.FilteredLog;
@@ -32,6 +33,14 @@ import static org.mockito.Mockito.*;
  * @author Ullrich Hafner
  */
 class ReferenceRecorderTest {
+    private static final String MULTI_BRANCH_PROJECT = "multi-branch";
+
+    @AfterEach
+    void clearCaches() {
+        PrimaryBranchResolver.clear();
+        BuildResultIndex.clear();
+    }
+
     /**
      * Verifies that the reference recorder has no initial value for the default branch.
      */
@@ -324,6 +333,7 @@ class ReferenceRecorderTest {
 
     private WorkflowMultiBranchProject createMultiBranch(final Job<?, ?> job) {
         WorkflowMultiBranchProject parent = mock(WorkflowMultiBranchProject.class);
+        when(parent.getFullName()).thenReturn(MULTI_BRANCH_PROJECT);
         when(job.getParent()).thenAnswer(i -> parent);
         return parent;
     }
@@ -356,8 +366,11 @@ class ReferenceRecorderTest {
             final WorkflowMultiBranchProject parent, final Job<?, ?> job) {
         Job<?, ?> prJob = mock(Job.class);
         when(prJob.getDisplayName()).thenReturn("pr-target");
+        when(prJob.getFullName()).thenReturn(MULTI_BRANCH_PROJECT + "/pr-target");
         when(parent.getItemByBranchName("pr-target")).thenAnswer(i -> prJob);
         Run<?, ?> prBuild = createBuild("pr-id", Result.SUCCESS);
+        when(prBuild.getNumber()).thenReturn(2);
+        when(prBuild.getParent()).thenAnswer(i -> prJob);
         when(prJob.getLastCompletedBuild()).thenAnswer(i -> prBuild);
 
         ChangeRequestSCMHead pr = mock(ChangeRequestSCMHead.class);
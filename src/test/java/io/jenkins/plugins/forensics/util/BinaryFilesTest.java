@@ -0,0 +1,67 @@
+package io.jenkins.plugins.forensics.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link BinaryFiles}.
+ *
+ * @author Ullrich Hafner
+ */
+class BinaryFilesTest {
+    private static final int MAGIC = 0x46524E53;
+
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldWriteAndReadFile() throws IOException {
+        var file = folder.resolve("file.bin");
+
+        BinaryFiles.write(file, output -> {
+            output.writeInt(MAGIC);
+            output.writeUTF("content");
+        });
+
+        assertThat(getTemporaryFile(file)).doesNotExist();
+        assertThat(BinaryFiles.startsWith(file, MAGIC)).isTrue();
+        assertThat(BinaryFiles.startsWith(file, MAGIC + 1)).isFalse();
+        try (var input = BinaryFiles.openInput(file)) {
+            assertThat(input.readInt()).isEqualTo(MAGIC);
+            assertThat(input.readUTF()).isEqualTo("content");
+        }
+    }
+
+    @Test
+    void shouldKeepExistingFileIfWriteFails() throws IOException {
+        var file = folder.resolve("file.bin");
+        BinaryFiles.write(file, output -> output.writeInt(MAGIC));
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> BinaryFiles.write(file, output -> {
+            output.writeInt(0);
+            throw new IOException("Failure");
+        })).withMessage("Failure");
+
+        assertThat(getTemporaryFile(file)).doesNotExist();
+        assertThat(BinaryFiles.startsWith(file, MAGIC)).isTrue();
+    }
+
+    @Test
+    void shouldNotDetectMagicNumberOfShortOrMissingFiles() throws IOException {
+        var file = folder.resolve("short.bin");
+        Files.write(file, new byte[] {0x46, 0x52, 0x4E});
+
+        assertThat(BinaryFiles.startsWith(file, MAGIC)).isFalse();
+        assertThat(BinaryFiles.startsWith(folder.resolve("missing.bin"), MAGIC)).isFalse();
+    }
+
+    private Path getTemporaryFile(final Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+}
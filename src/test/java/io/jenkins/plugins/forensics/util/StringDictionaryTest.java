@@ -0,0 +1,73 @@
+package io.jenkins.plugins.forensics.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link StringDictionary}.
+ *
+ * @author Ullrich Hafner
+ */
+class StringDictionaryTest {
+    private static final int COUNT = 1_000;
+
+    @Test
+    void shouldMapStringsToStableIndices() {
+        var dictionary = new StringDictionary();
+
+        assertThat(dictionary.size()).isZero();
+        assertThat(dictionary.add("author")).isZero();
+        assertThat(dictionary.add("commit")).isOne();
+        assertThat(dictionary.add("author")).isZero();
+
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.get(0)).isEqualTo("author");
+        assertThat(dictionary.get(1)).isEqualTo("commit");
+
+        var copy = new StringBuilder("commit").toString();
+        assertThat(dictionary.intern(copy)).isSameAs(dictionary.get(1));
+        assertThat(dictionary.intern("email")).isEqualTo("email");
+        assertThat(dictionary.size()).isEqualTo(3);
+
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> dictionary.get(3));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> dictionary.get(-1));
+    }
+
+    @Test
+    void shouldReadStringsWhileOtherThreadAddsStrings() throws InterruptedException, ExecutionException {
+        var dictionary = new StringDictionary();
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < COUNT; i++) {
+                    assertThat(dictionary.add(String.valueOf(i))).isEqualTo(i);
+                }
+            });
+            Future<List<String>> reader = executor.submit(() -> {
+                List<String> read = new ArrayList<>();
+                while (read.size() < COUNT) {
+                    if (read.size() < dictionary.size()) {
+                        read.add(dictionary.get(read.size()));
+                    }
+                }
+                return read;
+            });
+
+            writer.get();
+            assertThat(reader.get()).hasSize(COUNT).allSatisfy(value -> assertThat(value).isNotNull());
+            for (int i = 0; i < COUNT; i++) {
+                assertThat(dictionary.get(i)).isEqualTo(String.valueOf(i));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}